@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The schema and deterministic test data shared by the benchmarks.
+ */
+public final class BenchmarkData {
+    public static final String ENTITY = "BasicEntity";
+    public static final String EDGE = "BasicEdge";
+    public static final String COUNT = "count";
+    public static final String PROPERTY1 = "property1";
+
+    private static final String VERTEX_PREFIX = "vertex";
+    private static final long SEED = 1234L;
+
+    private BenchmarkData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Schema getSchema() {
+        return new Schema.Builder()
+                .entity(ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex("vertex.string")
+                        .property(PROPERTY1, "string")
+                        .property(COUNT, "long")
+                        .groupBy(PROPERTY1)
+                        .build())
+                .edge(EDGE, new SchemaEdgeDefinition.Builder()
+                        .source("vertex.string")
+                        .destination("vertex.string")
+                        .directed("directed.either")
+                        .property(PROPERTY1, "string")
+                        .property(COUNT, "long")
+                        .groupBy(PROPERTY1)
+                        .build())
+                .type("vertex.string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .type("directed.either", new TypeDefinition.Builder()
+                        .clazz(Boolean.class)
+                        .serialiser(new BooleanSerialiser())
+                        .build())
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .aggregateFunction(new StringConcat())
+                        .build())
+                .type("long", new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    public static String getVertex(final int vertex) {
+        return VERTEX_PREFIX + vertex;
+    }
+
+    /**
+     * Generates a random graph with an entity for every vertex and the
+     * requested number of edges.
+     *
+     * @param numVertices the number of distinct vertices
+     * @param numEdges    the number of edges
+     * @param numGroupBys the number of distinct group-by values
+     * @return the generated elements
+     */
+    public static List<Element> getElements(final int numVertices, final int numEdges, final int numGroupBys) {
+        final Random random = new Random(SEED);
+        final List<Element> elements = new ArrayList<>(numVertices + numEdges);
+        for (int i = 0; i < numVertices; i++) {
+            elements.add(new Entity.Builder()
+                    .group(ENTITY)
+                    .vertex(getVertex(i))
+                    .property(PROPERTY1, "p" + random.nextInt(numGroupBys))
+                    .property(COUNT, 1L)
+                    .build());
+        }
+        for (int i = 0; i < numEdges; i++) {
+            elements.add(getEdge(random, numVertices, numGroupBys));
+        }
+        return elements;
+    }
+
+    public static Edge getEdge(final Random random, final int numVertices, final int numGroupBys) {
+        return new Edge.Builder()
+                .group(EDGE)
+                .source(getVertex(random.nextInt(numVertices)))
+                .dest(getVertex(random.nextInt(numVertices)))
+                .directed(random.nextBoolean())
+                .property(PROPERTY1, "q" + random.nextInt(numGroupBys))
+                .property(COUNT, (long) random.nextInt(100))
+                .build();
+    }
+}
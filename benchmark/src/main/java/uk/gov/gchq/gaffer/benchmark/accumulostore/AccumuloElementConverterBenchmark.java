@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.accumulostore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting {@link Element}s into Accumulo keys and values, as
+ * done for every element added to an Accumulo store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumuloElementConverterBenchmark {
+    private static final int NUM_VERTICES = 100;
+    private static final int NUM_EDGES = 900;
+    private static final int NUM_GROUP_BYS = 10;
+
+    @Param({"byteEntity", "classic"})
+    private String keyPackage;
+
+    private AccumuloElementConverter converter;
+    private List<Element> elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Schema schema = BenchmarkData.getSchema();
+        converter = "classic".equals(keyPackage)
+                ? new ClassicAccumuloElementConverter(schema)
+                : new ByteEntityAccumuloElementConverter(schema);
+        elements = BenchmarkData.getElements(NUM_VERTICES, NUM_EDGES, NUM_GROUP_BYS);
+    }
+
+    @Benchmark
+    public void getKeysAndValues(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(converter.getKeysFromElement(element));
+            blackhole.consume(converter.getValueFromElement(element));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.mapstore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks cloning {@link Element}s with the {@link ElementCloner}, which
+ * the {@link uk.gov.gchq.gaffer.mapstore.MapStore} does for every element it
+ * adds and returns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementClonerBenchmark {
+    private static final int NUM_GROUP_BYS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    private int numEdges;
+
+    private ElementCloner cloner;
+    private Schema schema;
+    private List<Element> elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cloner = new ElementCloner();
+        schema = BenchmarkData.getSchema();
+        elements = BenchmarkData.getElements(Math.max(1, numEdges / 10), numEdges, NUM_GROUP_BYS);
+    }
+
+    @Benchmark
+    public void cloneElements(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(cloner.cloneElement(element, schema));
+        }
+    }
+}
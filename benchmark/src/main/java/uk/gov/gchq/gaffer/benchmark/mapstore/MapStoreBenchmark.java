@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.mapstore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding and retrieving {@link Element}s from the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} with each of its map factories.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapStoreBenchmark {
+    private static final int NUM_SEEDS = 100;
+    private static final int NUM_GROUP_BYS = 10;
+    private static final User USER = new User();
+
+    @Param({"1000", "10000", "100000"})
+    private int numEdges;
+
+    @Param({"uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory",
+            "uk.gov.gchq.gaffer.mapstore.factory.CompactIndexMapFactory"})
+    private String mapFactory;
+
+    private List<Element> elements;
+    private List<EntitySeed> seeds;
+    private Graph populatedGraph;
+    private Graph emptyGraph;
+
+    @Setup(Level.Trial)
+    public void setup() throws OperationException {
+        final int numVertices = Math.max(1, numEdges / 10);
+        elements = BenchmarkData.getElements(numVertices, numEdges, NUM_GROUP_BYS);
+
+        final Random random = new Random(numEdges);
+        seeds = new ArrayList<>(NUM_SEEDS);
+        for (int i = 0; i < NUM_SEEDS; i++) {
+            seeds.add(new EntitySeed(BenchmarkData.getVertex(random.nextInt(numVertices))));
+        }
+
+        populatedGraph = createGraph("populatedGraph");
+        populatedGraph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), USER);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupEmptyGraph() {
+        emptyGraph = createGraph("emptyGraph");
+    }
+
+    @Benchmark
+    public void addElements() throws OperationException {
+        emptyGraph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), USER);
+    }
+
+    @Benchmark
+    public void getElements(final Blackhole blackhole) throws OperationException {
+        consume(populatedGraph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), USER), blackhole);
+    }
+
+    @Benchmark
+    public void getAllElements(final Blackhole blackhole) throws OperationException {
+        consume(populatedGraph.execute(new GetAllElements(), USER), blackhole);
+    }
+
+    private Graph createGraph(final String graphId) {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(mapFactory);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .storeProperties(properties)
+                .addSchema(BenchmarkData.getSchema())
+                .build();
+    }
+
+    private static void consume(final CloseableIterable<? extends Element> results, final Blackhole blackhole) {
+        try {
+            for (final Element element : results) {
+                blackhole.consume(element);
+            }
+        } finally {
+            results.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.serialisation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising and deserialising batches of longs with the
+ * {@link Long} {@link ToBytesSerialiser}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongSerialiserBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"CompactRawLongSerialiser", "OrderedLongSerialiser", "RawLongSerialiser"})
+    private String serialiserName;
+
+    /**
+     * The magnitude of the values, as the compact serialisers use fewer
+     * bytes for small values.
+     */
+    @Param({"SMALL", "LARGE"})
+    private String magnitude;
+
+    private ToBytesSerialiser<Long> serialiser;
+    private long[] values;
+    private byte[][] serialisedValues;
+
+    @Setup(Level.Trial)
+    public void setup() throws SerialisationException {
+        serialiser = createSerialiser(serialiserName);
+        final Random random = new Random(1234L);
+        values = new long[BATCH_SIZE];
+        serialisedValues = new byte[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            values[i] = "SMALL".equals(magnitude) ? random.nextInt(1000) : random.nextLong();
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    public void serialise(final Blackhole blackhole) throws SerialisationException {
+        for (final long value : values) {
+            blackhole.consume(serialiser.serialise(value));
+        }
+    }
+
+    @Benchmark
+    public void deserialise(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] bytes : serialisedValues) {
+            blackhole.consume(serialiser.deserialise(bytes));
+        }
+    }
+
+    // RawLongSerialiser is deprecated but is still benchmarked as existing data may use it. It is referred to by its
+    // fully qualified name as the deprecation warning for an import cannot be suppressed.
+    @SuppressWarnings("deprecation")
+    private static ToBytesSerialiser<Long> createSerialiser(final String name) {
+        switch (name) {
+            case "CompactRawLongSerialiser":
+                return new CompactRawLongSerialiser();
+            case "OrderedLongSerialiser":
+                return new OrderedLongSerialiser();
+            case "RawLongSerialiser":
+                return new uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser();
+            default:
+                throw new IllegalArgumentException("Unknown serialiser: " + name);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks applying the filters of a {@link View} to {@link Element}s with
+ * {@link ElementFilter}s, and removing the properties that the view excludes
+ * with {@link ViewUtil}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewFilterBenchmark {
+    private static final int NUM_GROUP_BYS = 10;
+
+    @Param({"10000", "100000"})
+    private int numEdges;
+
+    private View view;
+    private List<Element> elements;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The edge counts are between 0 and 99, so about half of the edges pass the filter
+        view = new View.Builder()
+                .entity(BenchmarkData.ENTITY, new ViewElementDefinition.Builder()
+                        .excludeProperties(BenchmarkData.PROPERTY1)
+                        .build())
+                .edge(BenchmarkData.EDGE, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(BenchmarkData.COUNT)
+                                .execute(new IsMoreThan(50L))
+                                .build())
+                        .excludeProperties(BenchmarkData.PROPERTY1)
+                        .build())
+                .build();
+        elements = BenchmarkData.getElements(numEdges / 10, numEdges, NUM_GROUP_BYS);
+    }
+
+    @Benchmark
+    public void filter(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            blackhole.consume(test(element));
+        }
+    }
+
+    @Benchmark
+    public void filterAndRemoveProperties(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            if (test(element)) {
+                // The elements are shared between invocations, so the properties are removed from a copy
+                final Element copy = element.shallowClone();
+                ViewUtil.removeProperties(view, copy);
+                blackhole.consume(copy);
+            }
+        }
+    }
+
+    private boolean test(final Element element) {
+        final ViewElementDefinition elementDef = view.getElement(element.getGroup());
+        return null == elementDef.getPreAggregationFilter() || elementDef.getPreAggregationFilter().test(element);
+    }
+}
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.operation.impl.join;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -45,12 +46,15 @@ import java.util.Map;
  * <p>
  * Note: The input iterables are limited by default to 100,000 as these are read into memory as a Collection.
  * This limit can be changed by adding specifying a collectionLimit in the Operation.
+ * Alternatively, if spillToDisk is set and the match method is a
+ * {@link uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch}, inputs larger than the collectionLimit are
+ * hash partitioned to temporary files and joined a partition at a time rather than failing.
  *
  * @param <I> Iterable input type.
  */
 @Since("1.8.0")
 @Summary("Joins two iterables based on a join type")
-@JsonPropertyOrder(value = {"input", "operation", "matchMethod", "matchKey", "flatten", "joinType", "collectionLimit", "options"}, alphabetic = true)
+@JsonPropertyOrder(value = {"input", "operation", "matchMethod", "matchKey", "flatten", "joinType", "collectionLimit", "spillToDisk", "options"}, alphabetic = true)
 public class Join<I> implements InputOutput<Iterable<? extends I>,
         Iterable<? extends MapTuple>>, MultiInput<I>,
         Operations<Operation> {
@@ -61,6 +65,8 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
     private MatchKey matchKey;
     private JoinType joinType;
     private Integer collectionLimit;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean spillToDisk = false;
     private Map<String, String> options;
 
     @Override
@@ -121,6 +127,14 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
         this.collectionLimit = collectionLimit;
     }
 
+    public boolean isSpillToDisk() {
+        return spillToDisk;
+    }
+
+    public void setSpillToDisk(final boolean spillToDisk) {
+        this.spillToDisk = spillToDisk;
+    }
+
     @Override
     public Join<I> shallowClone() throws CloneFailedException {
         return new Join.Builder<I>()
@@ -131,6 +145,7 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
                 .flatten(flatten)
                 .joinType(joinType)
                 .collectionLimit(collectionLimit)
+                .spillToDisk(spillToDisk)
                 .options(options)
                 .build();
     }
@@ -204,5 +219,10 @@ public class Join<I> implements InputOutput<Iterable<? extends I>,
             return _self();
         }
 
+        public Builder<I> spillToDisk(final boolean spillToDisk) {
+            _getOp().setSpillToDisk(spillToDisk);
+            return _self();
+        }
+
     }
 }
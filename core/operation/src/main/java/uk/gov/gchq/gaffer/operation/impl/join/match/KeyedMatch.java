@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl.join.match;
+
+/**
+ * A {@link Match} where objects match if, and only if, their keys are equal.
+ * <p>
+ * The match candidates of a {@code KeyedMatch} can be held in a hash index
+ * so that each call to {@link #matching(Object)} is a constant time lookup,
+ * and large inputs can be hash partitioned on their keys so that each
+ * partition can be joined independently.
+ */
+public interface KeyedMatch extends Match {
+
+    /**
+     * Extracts the key of an Object from the keyed side of the join.
+     *
+     * @param testObject Object to extract the key from.
+     * @return the key, which must implement equals and hashCode.
+     */
+    Object getKey(final Object testObject);
+
+    /**
+     * Extracts the key of a match candidate.
+     *
+     * @param matchCandidate the match candidate to extract the key from.
+     * @return the key, which must implement equals and hashCode.
+     */
+    Object getCandidateKey(final Object matchCandidate);
+}
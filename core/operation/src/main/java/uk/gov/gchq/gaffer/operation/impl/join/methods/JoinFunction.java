@@ -18,19 +18,29 @@ package uk.gov.gchq.gaffer.operation.impl.join.methods;
 
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
- * Used by the Join Operation to join two Lists together.
+ * Used by the Join Operation to join two Iterables together.
+ * <p>
+ * The match is initialised with the match candidates when the join is
+ * created, but the keys are only iterated, and the results produced, as the
+ * returned {@link CloseableIterable} is consumed. Only the match candidates
+ * are held in memory.
  */
 public abstract class JoinFunction {
 
-    public List<MapTuple> join(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
+    public CloseableIterable<MapTuple> join(final Iterable left, final Iterable right, final Match match, final MatchKey matchKey, final Boolean flatten) {
         final String keyName; // For LEFT keyed Joins it's LEFT and vice versa for RIGHT.
         final String matchingValuesName; // the matching values name (opposite of keyName)
         final Iterable keys; // The key iterate over
@@ -46,27 +56,7 @@ public abstract class JoinFunction {
             match.init(left);
         }
 
-        List<MapTuple> resultList = new ArrayList<>();
-        List matching;
-
-        if (flatten) {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final List<MapTuple> mapTuples = joinFlattened(keyObj, matching, keyName, matchingValuesName);
-                if (!mapTuples.isEmpty()) {
-                    resultList.addAll(mapTuples);
-                }
-            }
-        } else {
-            for (final Object keyObj : keys) {
-                matching = match.matching(keyObj);
-                final MapTuple mapTuple = joinAggregated(keyObj, matching, keyName, matchingValuesName);
-                if (mapTuple != null) {
-                    resultList.add(mapTuple);
-                }
-            }
-        }
-        return resultList;
+        return new JoinIterable(keys, match, keyName, matchingValuesName, flatten);
     }
 
     @Deprecated
@@ -77,4 +67,66 @@ public abstract class JoinFunction {
     protected abstract List<MapTuple> joinFlattened(Object key, List matches, String keyName, String matchingValuesName);
 
     protected abstract MapTuple joinAggregated(Object key, List matches, String keyName, String matchingValuesName);
+
+    private List<MapTuple> joinKey(final Object key, final Match match, final String keyName, final String matchingValuesName, final Boolean flatten) {
+        final List matching = match.matching(key);
+        if (flatten) {
+            return joinFlattened(key, matching, keyName, matchingValuesName);
+        }
+        final MapTuple mapTuple = joinAggregated(key, matching, keyName, matchingValuesName);
+        return null != mapTuple ? Collections.singletonList(mapTuple) : Collections.emptyList();
+    }
+
+    /**
+     * Lazily probes the match with each key and returns the joined tuples.
+     */
+    private final class JoinIterable implements CloseableIterable<MapTuple> {
+        private final Iterable keys;
+        private final Match match;
+        private final String keyName;
+        private final String matchingValuesName;
+        private final Boolean flatten;
+
+        private JoinIterable(final Iterable keys, final Match match, final String keyName, final String matchingValuesName, final Boolean flatten) {
+            this.keys = keys;
+            this.match = match;
+            this.keyName = keyName;
+            this.matchingValuesName = matchingValuesName;
+            this.flatten = flatten;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(keys);
+        }
+
+        @Override
+        public CloseableIterator<MapTuple> iterator() {
+            return new CloseableIterator<MapTuple>() {
+                private final Iterator keysItr = null != keys ? keys.iterator() : Collections.emptyIterator();
+                private Iterator<MapTuple> tuples = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!tuples.hasNext() && keysItr.hasNext()) {
+                        tuples = joinKey(keysItr.next(), match, keyName, matchingValuesName, flatten).iterator();
+                    }
+                    return tuples.hasNext();
+                }
+
+                @Override
+                public MapTuple next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return tuples.next();
+                }
+
+                @Override
+                public void close() {
+                    CloseableUtil.close(keysItr);
+                }
+            };
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.operation.impl.join;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
@@ -70,10 +71,10 @@ public abstract class JoinFunctionTest {
             throw new RuntimeException("No JoinFunction specified by the test.");
         }
 
-        Iterable result = getJoinFunction().join(leftInput, rightInput, match, matchKey, flatten);
+        final List<MapTuple> result = Lists.newArrayList(getJoinFunction().join(leftInput, rightInput, match, matchKey, flatten));
 
-        assertEquals(expectedOutput.size(), ((List) result).size());
-        assertTupleListsEquality(expectedOutput, (List<MapTuple>) result);
+        assertEquals(expectedOutput.size(), result.size());
+        assertTupleListsEquality(expectedOutput, result);
     }
 
     protected Element getElement(final Integer countProperty) {
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams objects in the binary Smile encoding of JSON, using the
+ * {@link com.fasterxml.jackson.databind.ObjectMapper} of the current
+ * {@link JSONSerialiser} so the same modules and class names are used as
+ * for text JSON.
+ * <p>
+ * {@link Iterable}s are written as an array one item at a time, and can be
+ * read back lazily with {@link #deserialiseIterable(InputStream, TypeReference)},
+ * so neither side needs to hold all of the items in memory.
+ * </p>
+ */
+public final class SmileSerialiser {
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    static {
+        // The caller owns the stream being written to
+        SMILE_FACTORY.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private SmileSerialiser() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Serialises an object to the stream. If the object is an {@link Iterable}
+     * it is written as an array, one item at a time, and closed afterwards.
+     *
+     * @param object the object to serialise
+     * @param stream the stream to write to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    public static void serialise(final Object object, final OutputStream stream) throws SerialisationException {
+        try (JsonGenerator generator = SMILE_FACTORY.createGenerator(stream)) {
+            if (object instanceof Iterable) {
+                generator.writeStartArray();
+                try {
+                    for (final Object item : (Iterable<?>) object) {
+                        JSONSerialiser.serialise(item, generator, false);
+                    }
+                } finally {
+                    CloseableUtil.close(object);
+                }
+                generator.writeEndArray();
+            } else {
+                JSONSerialiser.serialise(object, generator, false);
+            }
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to serialise object to smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deserialises a single object from the stream, closing the stream afterwards.
+     *
+     * @param stream the stream containing the smile bytes
+     * @param type   the type reference of the object to deserialise
+     * @param <T>    the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialise(final InputStream stream, final TypeReference<T> type) throws SerialisationException {
+        try (JsonParser parser = SMILE_FACTORY.createParser(stream)) {
+            return JSONSerialiser.getMapper().readValue(parser, type);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lazily deserialises an array of items from the stream. The items are
+     * only read as the returned iterable is iterated, so it can only be
+     * iterated once. Closing the iterable closes the stream.
+     *
+     * @param stream       the stream containing the smile bytes
+     * @param iterableType the type reference of the iterable, used to
+     *                     determine the type of the items
+     * @param <T>          the type of the items
+     * @return an iterable over the items in the stream
+     * @throws SerialisationException if the stream does not contain an array
+     */
+    public static <T> CloseableIterable<T> deserialiseIterable(final InputStream stream, final TypeReference<?> iterableType) throws SerialisationException {
+        final JavaType itemType = JSONSerialiser.getMapper().getTypeFactory()
+                .constructType(iterableType)
+                .containedTypeOrUnknown(0);
+        final JsonParser parser;
+        final JsonToken firstToken;
+        try {
+            parser = SMILE_FACTORY.createParser(stream);
+            firstToken = parser.nextToken();
+        } catch (final IOException e) {
+            CloseableUtil.close(stream);
+            throw new SerialisationException(e.getMessage(), e);
+        }
+
+        if (JsonToken.START_ARRAY != firstToken) {
+            CloseableUtil.close(parser);
+            throw new SerialisationException("Expected a smile array but found: " + firstToken);
+        }
+        return new SmileIterable<>(parser, itemType);
+    }
+
+    private static final class SmileIterable<T> implements CloseableIterable<T> {
+        private final JsonParser parser;
+        private final JavaType itemType;
+        private boolean iterated;
+
+        private SmileIterable(final JsonParser parser, final JavaType itemType) {
+            this.parser = parser;
+            this.itemType = itemType;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(parser);
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("A smile stream can only be iterated once");
+            }
+            iterated = true;
+
+            return new CloseableIterator<T>() {
+                private T nextItem;
+                private Boolean hasNext;
+
+                @Override
+                public boolean hasNext() {
+                    if (null == hasNext) {
+                        try {
+                            final JsonToken token = parser.nextToken();
+                            if (null == token || JsonToken.END_ARRAY == token) {
+                                hasNext = false;
+                                close();
+                            } else {
+                                nextItem = JSONSerialiser.getMapper().readValue(parser, itemType);
+                                hasNext = true;
+                            }
+                        } catch (final IOException e) {
+                            close();
+                            throw new RuntimeException("Failed to read the next item from the smile stream", e);
+                        }
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the smile stream");
+                    }
+                    final T item = nextItem;
+                    nextItem = null;
+                    hasNext = null;
+                    return item;
+                }
+
+                @Override
+                public void close() {
+                    SmileIterable.this.close();
+                }
+            };
+        }
+    }
+}
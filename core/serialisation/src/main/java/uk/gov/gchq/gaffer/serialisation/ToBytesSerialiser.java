@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * A class that implements this interface is responsible for serialising an
@@ -50,6 +51,19 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     @Override
     byte[] serialise(final T object) throws SerialisationException;
 
+    /**
+     * Serialise some object, writing the serialised bytes to the end of the
+     * provided buffer. Serialisers should override this to write directly
+     * into the buffer, rather than allocating a new array for each object.
+     *
+     * @param object the object to be serialised
+     * @param buffer the buffer to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    default void serialise(final T object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.writeBytes(serialise(object));
+    }
+
     /**
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * This class is used to serialise and deserialise a boolean value
@@ -32,6 +33,11 @@ public class BooleanSerialiser implements ToBytesSerialiser<Boolean> {
         return new byte[]{Boolean.TRUE.equals(value) ? TRUE : FALSE};
     }
 
+    @Override
+    public void serialise(final Boolean value, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.write(Boolean.TRUE.equals(value) ? TRUE : FALSE);
+    }
+
     @Override
     public Boolean deserialise(final byte[] bytes) throws SerialisationException {
         return deserialise(bytes, 0, bytes.length);
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser}.
@@ -45,6 +46,13 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
         return out;
     }
 
+    @Override
+    public void serialise(final Integer value, final ByteArrayBuffer buffer) throws SerialisationException {
+        for (int shift = 0; shift < 32; shift += 8) {
+            buffer.write((value >> shift) & 255);
+        }
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser}.
@@ -49,6 +50,13 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
         return out;
     }
 
+    @Override
+    public void serialise(final Long value, final ByteArrayBuffer buffer) throws SerialisationException {
+        for (int shift = 0; shift < 64; shift += 8) {
+            buffer.write((int) (value >> shift) & 255);
+        }
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
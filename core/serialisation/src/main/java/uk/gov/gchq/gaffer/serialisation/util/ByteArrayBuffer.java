@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable buffer that {@link uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser}s
+ * can write serialised values directly into, so that many values can be
+ * serialised without allocating an array for each of them.
+ * <p>
+ * The buffer is intended to be reused: call {@link #reset()} before writing
+ * and {@link #trim(int)} afterwards to stop a single large value from
+ * retaining a large array. It is not thread safe.
+ */
+public class ByteArrayBuffer extends ByteArrayOutputStream {
+    public static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+    private final int initialCapacity;
+
+    public ByteArrayBuffer() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ByteArrayBuffer(final int initialCapacity) {
+        super(initialCapacity);
+        this.initialCapacity = initialCapacity;
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        ensureCapacity(count + length);
+        System.arraycopy(bytes, offset, buf, count, length);
+        count += length;
+    }
+
+    /**
+     * Writes a byte array to the buffer.
+     *
+     * @param bytes the bytes to write
+     */
+    public void writeBytes(final byte[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reserves a single byte for the length of a value that is about to be
+     * written. Once the value has been written, call
+     * {@link #writeLength(int)} with the returned position to fill in its
+     * length. Reserving the byte up front means the value only needs to be
+     * moved if its length does not fit in a single byte.
+     *
+     * @return the position the value will be written from
+     */
+    public int reserveLength() {
+        write(0);
+        return count;
+    }
+
+    /**
+     * Writes the number of bytes written since a position, as a compact
+     * variable length long, into the byte reserved by
+     * {@link #reserveLength()} before that position.
+     *
+     * @param position the position returned by {@link #reserveLength()}
+     */
+    public void writeLength(final int position) {
+        final int length = count - position;
+        if (length <= 127) {
+            // Lengths up to 127 are encoded as a single byte, which fits in the reserved byte
+            buf[position - 1] = (byte) length;
+        } else {
+            final byte[] lengthBytes = CompactRawSerialisationUtils.writeLong(length);
+            final int extraBytes = lengthBytes.length - 1;
+            ensureCapacity(count + extraBytes);
+            System.arraycopy(buf, position, buf, position + extraBytes, length);
+            System.arraycopy(lengthBytes, 0, buf, position - 1, lengthBytes.length);
+            count += extraBytes;
+        }
+    }
+
+    /**
+     * Releases the backing array if it has grown larger than a given size.
+     * The contents of the buffer are discarded.
+     *
+     * @param maxRetainedCapacity the largest backing array to keep
+     */
+    public void trim(final int maxRetainedCapacity) {
+        reset();
+        if (buf.length > maxRetainedCapacity) {
+            buf = new byte[initialCapacity];
+        }
+    }
+
+    // The buffer is not thread safe, so it does not need the locking done by ByteArrayOutputStream
+    @Override
+    public void reset() {
+        count = 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Unable to grow buffer beyond " + Integer.MAX_VALUE + " bytes");
+        }
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(minCapacity, buf.length << 1));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jsonSerialisation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
+import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SmileSerialiserTest {
+
+    @Test
+    public void shouldSerialiseAndLazilyDeserialiseIterable() throws SerialisationException {
+        // Given
+        final List<SimpleTestObject> objects = Arrays.asList(createObject("a"), createObject("b"), createObject("c"));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SmileSerialiser.serialise(objects, out);
+
+        // When
+        final List<SimpleTestObject> result = new ArrayList<>();
+        try (final CloseableIterable<SimpleTestObject> iterable = SmileSerialiser.deserialiseIterable(
+                new ByteArrayInputStream(out.toByteArray()), new TypeReference<List<SimpleTestObject>>() {
+                })) {
+            final CloseableIterator<SimpleTestObject> itr = iterable.iterator();
+            assertTrue(itr.hasNext());
+            result.add(itr.next());
+            itr.forEachRemaining(result::add);
+            assertFalse(itr.hasNext());
+        }
+
+        // Then
+        assertEquals(objects, result);
+    }
+
+    @Test
+    public void shouldDeserialiseEmptyIterable() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SmileSerialiser.serialise(Collections.emptyList(), out);
+
+        // When
+        final CloseableIterable<SimpleTestObject> iterable = SmileSerialiser.deserialiseIterable(
+                new ByteArrayInputStream(out.toByteArray()), new TypeReference<List<SimpleTestObject>>() {
+                });
+
+        // Then
+        assertFalse(iterable.iterator().hasNext());
+    }
+
+    @Test
+    public void shouldOnlyIterateOnce() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SmileSerialiser.serialise(Collections.singletonList(createObject("a")), out);
+        final CloseableIterable<SimpleTestObject> iterable = SmileSerialiser.deserialiseIterable(
+                new ByteArrayInputStream(out.toByteArray()), new TypeReference<List<SimpleTestObject>>() {
+                });
+        iterable.iterator();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, iterable::iterator);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseSingleObject() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SmileSerialiser.serialise(Collections.singletonMap("key", 1), out);
+
+        // When
+        final Map<String, Integer> result = SmileSerialiser.deserialise(
+                new ByteArrayInputStream(out.toByteArray()), new TypeReference<Map<String, Integer>>() {
+                });
+
+        // Then
+        assertEquals(Collections.singletonMap("key", 1), result);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDeserialisingNonArrayAsIterable() throws SerialisationException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SmileSerialiser.serialise(createObject("a"), out);
+
+        // When / Then
+        assertThrows(SerialisationException.class, () -> SmileSerialiser.deserialiseIterable(
+                new ByteArrayInputStream(out.toByteArray()), new TypeReference<List<SimpleTestObject>>() {
+                }));
+    }
+
+    private static SimpleTestObject createObject(final String x) {
+        final SimpleTestObject object = new SimpleTestObject();
+        object.setX(x);
+        return object;
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.util.Arrays;
 
@@ -51,6 +52,23 @@ public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, b
         assertArrayEquals(pair.getSecond(), serialise, Arrays.toString(serialise));
     }
 
+    @Test
+    public void shouldSerialiseIntoBufferWithHistoricValues() throws SerialisationException {
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        for (final Pair<T, byte[]> pair : historicSerialisationPairs) {
+            // Given
+            buffer.reset();
+            buffer.write(-1);
+
+            // When
+            ((ToBytesSerialiser<T>) serialiser).serialise(pair.getFirst(), buffer);
+
+            // Then
+            final byte[] bytes = buffer.toByteArray();
+            assertArrayEquals(pair.getSecond(), Arrays.copyOfRange(bytes, 1, bytes.length), Arrays.toString(bytes));
+        }
+    }
+
     @Test
     public void shouldHaveValidEqualsMethodForToByteSerialiser() {
         final Serialiser<T, byte[]> serialiser2 = getSerialisation();
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ByteArrayBufferTest {
+
+    @Test
+    public void shouldGrowWhenWritingBeyondInitialCapacity() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(2);
+
+        // When
+        buffer.writeBytes(new byte[]{1, 2, 3});
+        buffer.write(4);
+
+        // Then
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldWriteShortLengthBeforeValue() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(4);
+        buffer.write(9);
+        final int position = buffer.reserveLength();
+        buffer.writeBytes(new byte[]{1, 2, 3});
+
+        // When
+        buffer.writeLength(position);
+
+        // Then
+        assertArrayEquals(new byte[]{9, 3, 1, 2, 3}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldWriteLongLengthBeforeValue() throws SerialisationException {
+        // Given
+        final byte[] value = new byte[1000];
+        Arrays.fill(value, (byte) 7);
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.write(9);
+        final int position = buffer.reserveLength();
+        buffer.writeBytes(value);
+
+        // When
+        buffer.writeLength(position);
+
+        // Then
+        final byte[] bytes = buffer.toByteArray();
+        final int lengthSize = CompactRawSerialisationUtils.decodeVIntSize(bytes[1]);
+        assertEquals(9, bytes[0]);
+        assertEquals(value.length, CompactRawSerialisationUtils.readLong(bytes, 1));
+        assertArrayEquals(value, Arrays.copyOfRange(bytes, 1 + lengthSize, bytes.length));
+    }
+
+    @Test
+    public void shouldWriteZeroLength() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        final int position = buffer.reserveLength();
+
+        // When
+        buffer.writeLength(position);
+
+        // Then
+        assertArrayEquals(new byte[]{0}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldDiscardContentsAndLargeArrayWhenTrimmed() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(2);
+        buffer.writeBytes(new byte[100]);
+
+        // When
+        buffer.trim(10);
+        buffer.write(1);
+
+        // Then
+        assertEquals(1, buffer.size());
+        assertArrayEquals(new byte[]{1}, buffer.toByteArray());
+    }
+}
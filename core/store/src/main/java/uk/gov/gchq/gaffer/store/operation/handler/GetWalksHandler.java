@@ -17,9 +17,15 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.StreamSupplier;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -49,10 +55,13 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -67,9 +76,10 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * The handler executes each {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
  * operation in the parent GetWalks operation in turn and incrementally creates
  * an in-memory representation of the resulting graph. Once all GetElements
- * operations have been executed, a recursive depth-first search algorithm is
- * used to construct all of the {@link Walk}s that exist in the temporary
- * graph.
+ * operations have been executed, an iterative depth-first search is used to
+ * lazily construct the {@link Walk}s that exist in the temporary graph, one
+ * walk at a time as the results are consumed. Any conditional filtering is
+ * applied to each walk as it is constructed.
  * <p>
  * The default handler has two settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
@@ -79,12 +89,26 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * previous GetElements operation which do not join up with any edges in the
  * current GetElements operation (orphaned edges). This reduces the memory
  * footprint of the in-memory graph representation, but requires some additional
- * processing while constructing the in-memory graph.</li> </ul>
+ * processing while constructing the in-memory graph.</li> <li>parallel -
+ * expand the walks from each seed in parallel, using the common
+ * {@link java.util.concurrent.ForkJoinPool}. The walks are returned in the
+ * same order, but all of them are constructed (and held in memory) before the
+ * results are returned. If batchSize is also set then the batches of seeds
+ * are queried in parallel.</li> <li>batchSize - split the seeds of each hop
+ * into batches of at most this size, and query the store with each batch
+ * separately.</li> </ul>
  * <p>
  * The maxHops setting is not set by default (i.e. there is no limit to the
  * number of hops that a user can request). The prune flag is enabled by default
  * (for applications where performance is paramount and any issues arising from
- * excessive memory usage can be mitigated, this flag can be disabled).
+ * excessive memory usage can be mitigated, this flag can be disabled). The
+ * parallel flag is disabled by default and batchSize is not set by default.
+ * <p>
+ * Duplicate seeds are removed before each hop is queried. The time taken,
+ * number of seeds queried and number of elements returned by each hop are
+ * logged and added to the {@link Context} as a variable named
+ * {@value #HOP_METRICS}, which can be retrieved with a
+ * {@link uk.gov.gchq.gaffer.operation.impl.GetVariable} operation.
  * <p>
  * This operation handler can be modified by supplying an
  * operationDeclarations.json file in order to limit the maximum number of hops
@@ -94,8 +118,14 @@ import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUt
  * {@link Edge}s.
  */
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
+    public static final String HOP_METRICS = "getWalksHopMetrics";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GetWalksHandler.class);
+
     private Integer maxHops = null;
     private boolean prune = true;
+    private boolean parallel = false;
+    private Integer batchSize = null;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -126,6 +156,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final AdjacencyMaps adjacencyMaps = prune && !getWalks.isIncludePartial() ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
 
+        final List<HopMetrics> hopMetrics = new ArrayList<>();
         List<?> seeds = originalInput;
 
         // Execute the operations
@@ -133,16 +164,18 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, hopMetrics
                 );
             } else {
                 seeds = executeOperation(
                         operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, hopMetrics
                 );
             }
         }
 
+        context.setVariable(HOP_METRICS, hopMetrics);
+
         // Must add an empty entity map at the end if one has not been explicitly
         // requested by the user.
         if (entityMaps.size() == adjacencyMaps.size()) {
@@ -152,10 +185,21 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
         // Track/recombine the edge objects and convert to return type
-        final Stream<Walk> walks = Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream());
+        if (parallel) {
+            return walks(Streams.toParallelStream(originalInput), graphWindow, hops, getWalks, context, store)
+                    .collect(Collectors.toList());
+        }
+        return new StreamIterable<>(new StreamSupplier<Walk>() {
+            @Override
+            public Stream<Walk> get() {
+                return walks(Streams.toStream(originalInput), graphWindow, hops, getWalks, context, store);
+            }
 
-        return applyConditionalFiltering(walks, getWalks, context, store);
+            @Override
+            public void close() {
+                // Nothing to close
+            }
+        });
     }
 
     public Integer getMaxHops() {
@@ -174,6 +218,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    public Boolean getParallel() {
+        return parallel;
+    }
+
+    public void setParallel(final Boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -186,7 +246,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final EntityMaps entityMaps,
+                                          final List<HopMetrics> hopMetrics) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -221,7 +282,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, hopMetrics
                 );
             }
         }
@@ -236,22 +297,31 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
+                                     final EntityMaps entityMaps,
+                                     final List<HopMetrics> hopMetrics) throws OperationException {
+        final long startTime = System.currentTimeMillis();
+
+        // Many edges can lead to the same vertex, so only query each seed once
+        final List<?> frontier = new ArrayList<>(new LinkedHashSet<>(seeds));
+        final Iterable<Element> results = executeOperation(operation, frontier, resultLimit, context, store);
 
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
-        final List<Object> nextSeeds = new ArrayList<>();
+        final Set<Object> nextSeeds = new LinkedHashSet<>();
+        long edges = 0;
+        long entities = 0;
         for (final Element e : results) {
             if (e instanceof Edge) {
                 final Edge edge = (Edge) e;
                 final Object nextSeed = edge.getAdjacentMatchedVertexValue();
                 nextSeeds.add(nextSeed);
                 adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                edges++;
             } else {
                 final Entity entity = (Entity) e;
                 entityMap.putEntity(entity.getVertex(), entity);
+                entities++;
             }
         }
 
@@ -260,7 +330,11 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
         entityMaps.add(entityMap);
 
-        return nextSeeds;
+        final HopMetrics metrics = new HopMetrics(hopMetrics.size() + 1, frontier.size(), edges, entities, System.currentTimeMillis() - startTime);
+        LOGGER.debug("GetWalks {}", metrics);
+        hopMetrics.add(metrics);
+
+        return new ArrayList<>(nextSeeds);
     }
 
     private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
@@ -268,6 +342,46 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                                final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
+        if (null == batchSize || batchSize < 1 || seeds.size() <= batchSize) {
+            return executeBatch(operation, seeds, resultLimit, context, store);
+        }
+
+        final List<? extends List<?>> batches = Lists.partition(seeds, batchSize);
+        final Iterable[] batchResults;
+        if (parallel) {
+            try {
+                // Each batch has its own context, as they are executed concurrently
+                batchResults = batches.parallelStream()
+                        .map(batch -> {
+                            try {
+                                return Lists.newArrayList(executeBatch((Output<Iterable<Element>>) operation.shallowClone(), batch, resultLimit, context.shallowClone(), store));
+                            } catch (final OperationException e) {
+                                throw new GafferRuntimeException(e.getMessage(), e);
+                            }
+                        })
+                        .toArray(Iterable[]::new);
+            } catch (final GafferRuntimeException e) {
+                if (e.getCause() instanceof OperationException) {
+                    throw (OperationException) e.getCause();
+                }
+                throw e;
+            }
+        } else {
+            batchResults = new Iterable[batches.size()];
+            for (int i = 0; i < batchResults.length; i++) {
+                batchResults[i] = executeBatch((Output<Iterable<Element>>) operation.shallowClone(), batches.get(i), resultLimit, context, store);
+            }
+        }
+
+        // The result limit applies to the hop as a whole, not each batch
+        return new LimitedCloseableIterable<>(new ChainedIterable<>(batchResults), 0, resultLimit, false);
+    }
+
+    private Iterable<Element> executeBatch(final Output<Iterable<Element>> operation,
+                                           final List<?> seeds,
+                                           final Integer resultLimit,
+                                           final Context context,
+                                           final Store store) throws OperationException {
 
         final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
@@ -281,44 +395,13 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
-                }
-            }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
+    private Stream<Walk> walks(final Stream<? extends EntityId> seeds, final GraphWindow graphWindow, final int hops, final GetWalks getWalks, final Context context, final Store store) {
+        final Stream<Walk> walks = seeds.flatMap(seed -> Streams.toStream(
+                new WalkIterator(seed.getVertex(), graphWindow, hops, getWalks.isIncludePartial())));
+        return applyConditionalFiltering(walks, getWalks, context, store);
     }
 
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
+    private static Walk buildWalk(final List<Set<Edge>> edgeQueue, final List<Set<Entity>> entityQueue) {
         final Walk.Builder builder = new Walk.Builder();
 
         final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
@@ -346,20 +429,20 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
     }
 
-    private List<Walk> applyConditionalFiltering(
+    private Stream<Walk> applyConditionalFiltering(
             final Stream<Walk> walks,
             final GetWalks getWalks,
             final Context context,
             final Store store) {
         if (null == getWalks.getConditional() || null == getWalks.getConditional().getPredicate()) {
-            return walks.collect(Collectors.toList());
+            return walks;
         }
 
         final Operation transformOperation = getWalks.getConditional().getTransform();
         final Predicate conditionalPredicate = getWalks.getConditional().getPredicate();
         final WalkPredicate walkPredicate = new WalkPredicate(transformOperation, conditionalPredicate, context, store);
 
-        return walks.filter(walkPredicate::test).collect(Collectors.toList());
+        return walks.filter(walkPredicate);
     }
 
     private class WalkPredicate implements Predicate<Walk> {
@@ -386,7 +469,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 try {
                     final Operation clonedOperation = transformOperation.shallowClone();
                     OperationHandlerUtil.updateOperationInput(clonedOperation, walk);
-                    final Object results = getResultsOrNull(clonedOperation, context, store);
+                    // The walks may be filtered concurrently, so each transform needs its own context
+                    final Object results = getResultsOrNull(clonedOperation, parallel ? context.shallowClone() : context, store);
                     return (predicate.test(results));
                 } catch (final OperationException exception) {
                     throw new GafferRuntimeException(
@@ -396,4 +480,144 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             }
         }
     }
+
+    /**
+     * Iteratively constructs all of the {@link Walk}s from a single seed with
+     * a depth-first search, using an explicit stack rather than recursion so
+     * that only the current path is held in memory.
+     */
+    private static final class WalkIterator implements Iterator<Walk> {
+        private final GraphWindow graphWindow;
+        private final int hops;
+        private final boolean includePartial;
+
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private final List<Set<Edge>> edgeQueue = new ArrayList<>();
+        private final List<Set<Entity>> entityQueue = new ArrayList<>();
+        private Walk next;
+
+        private WalkIterator(final Object seed, final GraphWindow graphWindow, final int hops, final boolean includePartial) {
+            this.graphWindow = graphWindow;
+            this.hops = hops;
+            this.includePartial = includePartial;
+            visit(seed, null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next && !stack.isEmpty()) {
+                final Frame frame = stack.peek();
+                if (frame.destinations.hasNext()) {
+                    visit(frame.destinations.next(), frame.vertex);
+                } else {
+                    stack.pop();
+                    leave();
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = next;
+            next = null;
+            return walk;
+        }
+
+        private void visit(final Object curr, final Object prev) {
+            if (null != prev) {
+                edgeQueue.add(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+            }
+            entityQueue.add(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+            if (hops == edgeQueue.size()) {
+                next = buildWalk(edgeQueue, entityQueue);
+                leave();
+                return;
+            }
+
+            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
+            if (dests.isEmpty()) {
+                if (includePartial) {
+                    next = buildWalk(edgeQueue, entityQueue);
+                }
+                leave();
+            } else {
+                stack.push(new Frame(curr, dests.iterator()));
+            }
+        }
+
+        private void leave() {
+            if (!edgeQueue.isEmpty()) {
+                edgeQueue.remove(edgeQueue.size() - 1);
+            }
+            entityQueue.remove(entityQueue.size() - 1);
+        }
+
+        private static final class Frame {
+            private final Object vertex;
+            private final Iterator<Object> destinations;
+
+            private Frame(final Object vertex, final Iterator<Object> destinations) {
+                this.vertex = vertex;
+                this.destinations = destinations;
+            }
+        }
+    }
+
+    /**
+     * The metrics recorded for each hop of a {@link GetWalks} operation.
+     */
+    public static class HopMetrics {
+        private final int hop;
+        private final int frontierSize;
+        private final long edges;
+        private final long entities;
+        private final long durationMillis;
+
+        public HopMetrics(final int hop, final int frontierSize, final long edges, final long entities, final long durationMillis) {
+            this.hop = hop;
+            this.frontierSize = frontierSize;
+            this.edges = edges;
+            this.entities = entities;
+            this.durationMillis = durationMillis;
+        }
+
+        public int getHop() {
+            return hop;
+        }
+
+        /**
+         * @return the number of distinct seeds queried
+         */
+        public int getFrontierSize() {
+            return frontierSize;
+        }
+
+        public long getEdges() {
+            return edges;
+        }
+
+        public long getEntities() {
+            return entities;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("hop", hop)
+                    .append("frontierSize", frontierSize)
+                    .append("edges", edges)
+                    .append("entities", entities)
+                    .append("durationMillis", durationMillis)
+                    .toString();
+        }
+    }
 }
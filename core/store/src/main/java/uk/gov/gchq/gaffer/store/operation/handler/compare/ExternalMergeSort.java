@@ -0,0 +1,261 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import org.apache.commons.io.FileUtils;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Sorts more {@link Element}s than can be held in memory.
+ * <p>
+ * Sorted runs of elements are serialised to temporary files with the
+ * {@link JSONSerialiser}, so that the elements are read back exactly as they
+ * were written, including any properties that are not in the schema and the
+ * matched vertex of edges. The runs are then lazily merged, reading a single
+ * element at a time from each run, to produce the sorted output.
+ * Elements that compare as equal are returned in the order of their runs, so
+ * the sort is stable if each run is. Any limit and deduplication are applied
+ * across all of the runs.
+ * <p>
+ * The merged results can be iterated several times, and the temporary files
+ * are deleted when this, or the merged results, are closed.
+ */
+public class ExternalMergeSort implements Closeable {
+    private final Comparator<Element> comparator;
+    private final Integer limit;
+    private final boolean deduplicate;
+    private final Path directory;
+    private final List<Integer> runSizes = new ArrayList<>();
+
+    public ExternalMergeSort(final Comparator<Element> comparator, final Integer limit, final boolean deduplicate) throws IOException {
+        if (null == comparator) {
+            throw new IllegalArgumentException("Comparator is required");
+        }
+        this.comparator = comparator;
+        this.limit = limit;
+        this.deduplicate = deduplicate;
+        this.directory = Files.createTempDirectory("gaffer-sort-");
+    }
+
+    /**
+     * Writes a run of elements to disk.
+     *
+     * @param sortedRun the elements, which must already be sorted
+     * @throws IOException if the elements cannot be serialised or written
+     */
+    public void addRun(final Iterable<? extends Element> sortedRun) throws IOException {
+        final File file = getFile(runSizes.size());
+
+        int size = 0;
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            for (final Element element : sortedRun) {
+                final byte[] bytes = JSONSerialiser.serialise(element);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+                size++;
+            }
+        } catch (final SerialisationException e) {
+            throw new IOException("Unable to serialise element: " + e.getMessage(), e);
+        }
+        runSizes.add(size);
+    }
+
+    public int getNumberOfRuns() {
+        return runSizes.size();
+    }
+
+    /**
+     * @return the merged, sorted elements of all of the runs. Closing the
+     * returned iterable deletes the runs.
+     */
+    public CloseableIterable<Element> merge() {
+        return new CloseableIterable<Element>() {
+            @Override
+            public void close() {
+                ExternalMergeSort.this.close();
+            }
+
+            @Override
+            public CloseableIterator<Element> iterator() {
+                return new MergeIterator();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private File getFile(final int run) {
+        return directory.resolve("run-" + run).toFile();
+    }
+
+    private final class MergeIterator implements CloseableIterator<Element> {
+        private final PriorityQueue<RunReader> readers;
+        private final Set<Element> equalElements = new HashSet<>();
+        private Element lastElement;
+        private Element nextElement;
+        private int count;
+
+        private MergeIterator() {
+            readers = new PriorityQueue<>(Math.max(1, runSizes.size()), (first, second) -> {
+                final int result = comparator.compare(first.current, second.current);
+                return 0 != result ? result : Integer.compare(first.run, second.run);
+            });
+            try {
+                for (int run = 0; run < runSizes.size(); run++) {
+                    final RunReader reader = new RunReader(run, runSizes.get(run));
+                    if (reader.advance()) {
+                        readers.add(reader);
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw new UncheckedIOException("Unable to read sorted runs", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != limit && count >= limit) {
+                close();
+                return false;
+            }
+            while (null == nextElement && !readers.isEmpty()) {
+                final Element element = poll();
+                if (!isDuplicate(element)) {
+                    nextElement = element;
+                }
+            }
+            if (null == nextElement) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            count++;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            readers.forEach(RunReader::close);
+            readers.clear();
+        }
+
+        private Element poll() {
+            final RunReader reader = readers.poll();
+            final Element element = reader.current;
+            try {
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+            } catch (final IOException e) {
+                close();
+                throw new UncheckedIOException("Unable to read sorted run " + reader.run, e);
+            }
+            return element;
+        }
+
+        /**
+         * Duplicates compare as equal, so only the elements equal to the
+         * last element need to be remembered.
+         */
+        private boolean isDuplicate(final Element element) {
+            if (!deduplicate) {
+                return false;
+            }
+            if (null == lastElement || 0 != comparator.compare(lastElement, element)) {
+                equalElements.clear();
+            }
+            lastElement = element;
+            return !equalElements.add(element);
+        }
+    }
+
+    private final class RunReader implements Closeable {
+        private final int run;
+        private final DataInputStream input;
+        private int remaining;
+        private Element current;
+
+        private RunReader(final int run, final int size) throws IOException {
+            this.run = run;
+            this.remaining = size;
+            this.input = 0 < size ? new DataInputStream(new BufferedInputStream(Files.newInputStream(getFile(run).toPath()))) : null;
+        }
+
+        private boolean advance() throws IOException {
+            if (0 == remaining) {
+                current = null;
+                close();
+                return false;
+            }
+            final byte[] bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            try {
+                current = JSONSerialiser.deserialise(bytes, Element.class);
+            } catch (final SerialisationException e) {
+                throw new IOException("Unable to deserialise element: " + e.getMessage(), e);
+            }
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+    }
+}
@@ -15,7 +15,11 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler.compare;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.GafferCollectors;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -26,19 +30,32 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
  * A {@code SortHandler} handles the {@link Sort} operation. It does that
- * in memory using the {@link uk.gov.gchq.gaffer.commonutil.iterable.LimitedInMemorySortedIterable}.
+ * in memory using the {@link LimitedInMemorySortedIterable}.
  * If the resultLimit is set to one that it just deletes the operation to the
  * {@link MaxHandler}.
+ * <p>
+ * If an inMemoryThreshold is set and more than that many elements need to be
+ * held in memory, sorted runs of that many elements are spilled to disk and
+ * then merged with an {@link ExternalMergeSort} as the results are consumed.
+ * The inMemoryThreshold is not set by default, so elements are always sorted
+ * in memory unless spilling is enabled. If the first run cannot be spilled,
+ * for example because the elements cannot be serialised to JSON, then the
+ * elements are sorted in memory.
  */
 public class SortHandler implements OutputOperationHandler<Sort, Iterable<? extends Element>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortHandler.class);
     private static final MaxHandler MAX_HANDLER = new MaxHandler();
 
+    private Integer inMemoryThreshold;
+
     @Override
     public Iterable<? extends Element> doOperation(final Sort operation, final Context context, final Store store) throws OperationException {
         // If there is no input or there are no comparators, we return null
@@ -60,6 +77,12 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             return Collections.singletonList(max);
         }
 
+        // Only the resultLimit elements are kept in memory, so there is no need to spill if it is small enough
+        if (null != inMemoryThreshold
+                && (null == operation.getResultLimit() || operation.getResultLimit() > inMemoryThreshold)) {
+            return externalSort(operation);
+        }
+
         try (final Stream<? extends Element> stream =
                      Streams.toStream(operation.getInput())
                              .filter(Objects::nonNull)) {
@@ -74,4 +97,63 @@ public class SortHandler implements OutputOperationHandler<Sort, Iterable<? exte
             CloseableUtil.close(operation);
         }
     }
+
+    public Integer getInMemoryThreshold() {
+        return inMemoryThreshold;
+    }
+
+    public void setInMemoryThreshold(final Integer inMemoryThreshold) {
+        if (null != inMemoryThreshold && inMemoryThreshold < 1) {
+            throw new IllegalArgumentException("The in memory threshold must be at least 1, but was: " + inMemoryThreshold);
+        }
+        this.inMemoryThreshold = inMemoryThreshold;
+    }
+
+    private Iterable<? extends Element> externalSort(final Sort operation) throws OperationException {
+        final Comparator<Element> comparator = operation.getCombinedComparator();
+        LimitedInMemorySortedIterable<Element> run = new LimitedInMemorySortedIterable<>(comparator, operation.getResultLimit(), operation.isDeduplicate());
+        ExternalMergeSort mergeSort = null;
+        boolean spill = true;
+        try {
+            for (final Element element : operation.getInput()) {
+                if (null != element) {
+                    run.add(element);
+                    if (spill && run.size() >= inMemoryThreshold) {
+                        if (null == mergeSort) {
+                            try {
+                                mergeSort = new ExternalMergeSort(comparator, operation.getResultLimit(), operation.isDeduplicate());
+                                mergeSort.addRun(run);
+                            } catch (final IOException e) {
+                                // Nothing has been spilled yet, so the elements can still be sorted in memory
+                                LOGGER.warn("Sorting in memory as the elements cannot be spilled to disk: {}", e.getMessage());
+                                CloseableUtil.close(mergeSort);
+                                mergeSort = null;
+                                spill = false;
+                                continue;
+                            }
+                        } else {
+                            mergeSort.addRun(run);
+                        }
+                        run = new LimitedInMemorySortedIterable<>(comparator, operation.getResultLimit(), operation.isDeduplicate());
+                    }
+                }
+            }
+
+            if (null == mergeSort) {
+                return run;
+            }
+            if (0 < run.size()) {
+                mergeSort.addRun(run);
+            }
+            return mergeSort.merge();
+        } catch (final IOException e) {
+            CloseableUtil.close(mergeSort);
+            throw new OperationException("Unable to spill the elements being sorted to disk: " + e.getMessage(), e);
+        } catch (final RuntimeException e) {
+            CloseableUtil.close(mergeSort);
+            throw e;
+        } finally {
+            CloseableUtil.close(operation);
+        }
+    }
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.join;
+
+import org.apache.commons.io.FileUtils;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
+import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
+import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Joins two iterables that are too large to be held in memory.
+ * <p>
+ * Both inputs are hash partitioned on the keys of a {@link KeyedMatch} into
+ * temporary files, so any objects that can match each other are written to
+ * the same partition. Each pair of partitions is then read back and joined in
+ * memory using the {@link JoinFunction}, so only a single partition needs to
+ * be held in memory at a time. The objects being joined must be
+ * {@link java.io.Serializable}.
+ * <p>
+ * The results are produced lazily and are grouped by partition, so are not
+ * in the order of the keyed input.
+ */
+public class HashPartitionedJoin implements Closeable {
+    public static final int DEFAULT_PARTITIONS = 64;
+
+    /**
+     * ObjectOutputStreams keep a reference to every object written until
+     * they are reset.
+     */
+    private static final int RESET_INTERVAL = 1000;
+    private static final String LEFT = "left";
+    private static final String RIGHT = "right";
+
+    private final int numPartitions;
+    private final Path directory;
+
+    public HashPartitionedJoin() throws IOException {
+        this(DEFAULT_PARTITIONS);
+    }
+
+    public HashPartitionedJoin(final int numPartitions) throws IOException {
+        if (numPartitions < 1) {
+            throw new IllegalArgumentException("The number of partitions must be at least 1, but was: " + numPartitions);
+        }
+        this.numPartitions = numPartitions;
+        this.directory = Files.createTempDirectory("gaffer-join-");
+    }
+
+    /**
+     * Partitions both inputs to disk and returns an iterable that joins each
+     * pair of partitions as it is consumed. The results can only be iterated
+     * once, and the temporary files are deleted when the results have been
+     * consumed or this is closed.
+     *
+     * @param joinFunction the join function to join each partition with
+     * @param left         the left input
+     * @param right        the right input
+     * @param match        the match to partition and join the inputs with
+     * @param matchKey     the keyed side of the join
+     * @param flatten      true if the results should be flattened
+     * @return the joined results
+     * @throws IOException if the inputs cannot be written to disk
+     */
+    public CloseableIterable<MapTuple> join(final JoinFunction joinFunction, final Iterable left, final Iterable right, final KeyedMatch match, final MatchKey matchKey, final boolean flatten) throws IOException {
+        final boolean leftKeyed = MatchKey.LEFT.equals(matchKey);
+        final int[] leftCounts = partition(left, LEFT, leftKeyed ? match::getKey : match::getCandidateKey);
+        final int[] rightCounts = partition(right, RIGHT, leftKeyed ? match::getCandidateKey : match::getKey);
+        return new PartitionedResults(joinFunction, match, matchKey, flatten, leftCounts, rightCounts);
+    }
+
+    @Override
+    public void close() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    private int[] partition(final Iterable input, final String side, final Function<Object, Object> keyFunction) throws IOException {
+        final int[] counts = new int[numPartitions];
+        final ObjectOutputStream[] outputs = new ObjectOutputStream[numPartitions];
+        boolean written = false;
+        try {
+            for (final Object obj : null != input ? input : Collections.emptyList()) {
+                final int partition = getPartition(keyFunction.apply(obj));
+                if (null == outputs[partition]) {
+                    outputs[partition] = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(getFile(side, partition).toPath())));
+                }
+                outputs[partition].writeObject(obj);
+                if (0 == ++counts[partition] % RESET_INTERVAL) {
+                    outputs[partition].reset();
+                }
+            }
+            written = true;
+        } finally {
+            IOException error = null;
+            for (final ObjectOutputStream output : outputs) {
+                if (null != output) {
+                    try {
+                        output.close();
+                    } catch (final IOException e) {
+                        error = e;
+                    }
+                }
+            }
+            // Only report a failure to close if it has not been caused by an earlier failure
+            if (written && null != error) {
+                throw error;
+            }
+        }
+        return counts;
+    }
+
+    private List<Object> readPartition(final String side, final int partition, final int count) throws IOException {
+        final List<Object> objects = new ArrayList<>(count);
+        if (0 == count) {
+            return objects;
+        }
+        final File file = getFile(side, partition);
+        try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()));
+             final ObjectInputStream input = new ObjectInputStream(inputStream)) {
+            for (int i = 0; i < count; i++) {
+                objects.add(input.readObject());
+            }
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to read the " + side + " join partition " + partition, e);
+        }
+        // Each partition is only read once, so free up the disk space
+        FileUtils.deleteQuietly(file);
+        return objects;
+    }
+
+    private int getPartition(final Object key) {
+        if (null == key) {
+            return 0;
+        }
+        final int hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % numPartitions;
+    }
+
+    private File getFile(final String side, final int partition) {
+        return directory.resolve(side + "-" + partition).toFile();
+    }
+
+    private final class PartitionedResults implements CloseableIterable<MapTuple> {
+        private final JoinFunction joinFunction;
+        private final KeyedMatch match;
+        private final MatchKey matchKey;
+        private final boolean flatten;
+        private final int[] leftCounts;
+        private final int[] rightCounts;
+        private boolean iterated;
+
+        private PartitionedResults(final JoinFunction joinFunction, final KeyedMatch match, final MatchKey matchKey, final boolean flatten, final int[] leftCounts, final int[] rightCounts) {
+            this.joinFunction = joinFunction;
+            this.match = match;
+            this.matchKey = matchKey;
+            this.flatten = flatten;
+            this.leftCounts = leftCounts;
+            this.rightCounts = rightCounts;
+        }
+
+        @Override
+        public void close() {
+            HashPartitionedJoin.this.close();
+        }
+
+        @Override
+        public synchronized CloseableIterator<MapTuple> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("The results of a join that has been spilled to disk can only be iterated once");
+            }
+            iterated = true;
+
+            return new CloseableIterator<MapTuple>() {
+                private int partition;
+                private Iterator<MapTuple> tuples = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!tuples.hasNext() && partition < numPartitions) {
+                        tuples = joinPartition(partition++);
+                    }
+                    if (!tuples.hasNext()) {
+                        close();
+                        return false;
+                    }
+                    return true;
+                }
+
+                @Override
+                public MapTuple next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return tuples.next();
+                }
+
+                @Override
+                public void close() {
+                    PartitionedResults.this.close();
+                }
+            };
+        }
+
+        private Iterator<MapTuple> joinPartition(final int partition) {
+            if (0 == leftCounts[partition] && 0 == rightCounts[partition]) {
+                return Collections.emptyIterator();
+            }
+            try {
+                final List<Object> leftPartition = readPartition(LEFT, partition, leftCounts[partition]);
+                final List<Object> rightPartition = readPartition(RIGHT, partition, rightCounts[partition]);
+                return joinFunction.join(leftPartition, rightPartition, match, matchKey, flatten).iterator();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to read join partition " + partition, e);
+            }
+        }
+    }
+}
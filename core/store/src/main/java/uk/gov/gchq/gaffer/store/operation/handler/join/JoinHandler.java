@@ -17,10 +17,16 @@
 package uk.gov.gchq.gaffer.store.operation.handler.join;
 
 
+import com.google.common.collect.Iterables;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinFunction;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
@@ -29,7 +35,9 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.koryphe.tuple.MapTuple;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.getResultsOrNull;
 import static uk.gov.gchq.gaffer.store.operation.handler.util.OperationHandlerUtil.updateOperationInput;
@@ -70,16 +78,57 @@ public class JoinHandler<I> implements OutputOperationHandler<Join<I>, Iterable<
                         context,
                         store);
 
-        final Iterable limitedLeftIterable;
-        final Iterable limitedRightIterable;
+        if (operation.isSpillToDisk() && operation.getMatchMethod() instanceof KeyedMatch) {
+            return spillingJoin(joinFunction, operation.getInput(), rightIterable, (KeyedMatch) operation.getMatchMethod(), matchKey, operation.isFlatten(), limit);
+        }
 
+        // Only the match candidates are held in memory, the keys are streamed
         try {
-            limitedLeftIterable = new LimitedCloseableIterable(operation.getInput(), 0, limit, false);
-            limitedRightIterable = new LimitedCloseableIterable(rightIterable, 0, limit, false);
-            return joinFunction.join(limitedLeftIterable, limitedRightIterable, operation.getMatchMethod(), matchKey, operation.isFlatten());
+            if (MatchKey.LEFT.equals(matchKey)) {
+                return joinFunction.join(new WrappedCloseableIterable<>(operation.getInput()), new LimitedCloseableIterable(rightIterable, 0, limit, false), operation.getMatchMethod(), matchKey, operation.isFlatten());
+            }
+            return joinFunction.join(new LimitedCloseableIterable(operation.getInput(), 0, limit, false), new WrappedCloseableIterable<>(rightIterable), operation.getMatchMethod(), matchKey, operation.isFlatten());
         } catch (final LimitExceededException e) {
             throw new OperationException("Join exceeded the collectionLimit, a solution is to increasing collectionLimit value in the join operation.", e);
         }
+    }
+
+    /**
+     * Joins the inputs in memory if the match candidates are within the
+     * limit, otherwise hash partitions both inputs to disk and lazily joins
+     * them a partition at a time.
+     */
+    private Iterable<? extends MapTuple> spillingJoin(final JoinFunction joinFunction, final Iterable left, final Iterable right, final KeyedMatch match, final MatchKey matchKey, final Boolean flatten, final int limit) throws OperationException {
+        final boolean leftKeyed = MatchKey.LEFT.equals(matchKey);
+        final Iterable keys = leftKeyed ? left : right;
+        final CloseableIterator candidatesItr = new WrappedCloseableIterable<>(leftKeyed ? right : left).iterator();
+        try {
+            // Only the match candidates are held in memory, so they are the only side that is limited
+            final List<Object> candidates = new ArrayList<>();
+            while (candidatesItr.hasNext() && candidates.size() <= limit) {
+                candidates.add(candidatesItr.next());
+            }
+            if (candidates.size() <= limit) {
+                return leftKeyed
+                        ? joinFunction.join(keys, candidates, match, matchKey, flatten)
+                        : joinFunction.join(candidates, keys, match, matchKey, flatten);
+            }
 
+            final Iterable allCandidates = Iterables.concat(candidates, () -> candidatesItr);
+            final HashPartitionedJoin partitionedJoin = new HashPartitionedJoin();
+            try {
+                return leftKeyed
+                        ? partitionedJoin.join(joinFunction, keys, allCandidates, match, matchKey, flatten)
+                        : partitionedJoin.join(joinFunction, allCandidates, keys, match, matchKey, flatten);
+            } catch (final IOException | RuntimeException e) {
+                partitionedJoin.close();
+                throw e;
+            }
+        } catch (final IOException e) {
+            throw new OperationException("Join exceeded the collectionLimit and was unable to spill to disk: " + e.getMessage(), e);
+        } finally {
+            // Both inputs have been fully read by the time the join is returned
+            CloseableUtil.close(candidatesItr);
+        }
     }
 }
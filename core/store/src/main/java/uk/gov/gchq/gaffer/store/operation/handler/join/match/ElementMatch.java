@@ -16,20 +16,31 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.join.match;
 
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementJoinComparator;
-import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * Tests for matches for Elements within a Join Operation, groupBy properties can be optionally specified.
+ * <p>
+ * The match candidates are indexed on their group, identifiers and groupBy
+ * property values, so finding the matches for an Element is a hash lookup
+ * rather than a comparison against every candidate.
  */
-public class ElementMatch implements Match {
+public class ElementMatch implements KeyedMatch {
     private ElementJoinComparator elementJoinComparator;
     private Iterable matchCandidates;
+    private Map<ElementKey, List<Element>> index;
 
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "ElementMatch must be initialised with non-null match candidates";
 
@@ -47,6 +58,8 @@ public class ElementMatch implements Match {
 
     public void setElementGroupByProperties(final Set<String> groupByProperties) {
         elementJoinComparator.setGroupByProperties(groupByProperties);
+        // The index is keyed on the groupBy properties so must be rebuilt
+        index = null;
     }
 
     @Override
@@ -55,6 +68,9 @@ public class ElementMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         this.matchCandidates = matchCandidates;
+        this.index = null;
+        // Build the index now, so the candidates are only read once and any errors reading them are thrown here
+        getIndex();
     }
 
     @Override
@@ -64,13 +80,90 @@ public class ElementMatch implements Match {
         }
 
         List matches = new ArrayList<>();
+        if (null == testObject) {
+            return matches;
+        }
 
-
-        for (final Object entry : matchCandidates) {
-            if (elementJoinComparator.test((Element) entry, (Element) testObject)) {
-                matches.add(((Element) entry).shallowClone());
+        final List<Element> candidates = getIndex().get(getKey(testObject));
+        if (null != candidates) {
+            for (final Element candidate : candidates) {
+                matches.add(candidate.shallowClone());
             }
         }
         return matches;
     }
+
+    @Override
+    public Object getKey(final Object testObject) {
+        return null != testObject ? new ElementKey((Element) testObject, elementJoinComparator.getGroupByProperties()) : null;
+    }
+
+    @Override
+    public Object getCandidateKey(final Object matchCandidate) {
+        return getKey(matchCandidate);
+    }
+
+    private Map<ElementKey, List<Element>> getIndex() {
+        if (null == index) {
+            final Map<ElementKey, List<Element>> newIndex = new HashMap<>();
+            for (final Object entry : matchCandidates) {
+                if (null != entry) {
+                    newIndex.computeIfAbsent((ElementKey) getCandidateKey(entry), k -> new ArrayList<>(1)).add((Element) entry);
+                }
+            }
+            index = newIndex;
+        }
+        return index;
+    }
+
+    /**
+     * The fields of an {@link Element} compared by the {@link ElementJoinComparator}.
+     */
+    private static final class ElementKey {
+        private final Class<?> elementClass;
+        private final String group;
+        private final Object[] identifiers;
+        private final Object[] groupByValues;
+        private final int hashCode;
+
+        private ElementKey(final Element element, final Set<String> groupByProperties) {
+            elementClass = element.getClass();
+            group = element.getGroup();
+            if (element instanceof Entity) {
+                identifiers = new Object[]{((Entity) element).getVertex()};
+            } else {
+                final Edge edge = (Edge) element;
+                identifiers = new Object[]{edge.getSource(), edge.getDestination(), edge.getDirectedType()};
+            }
+            // The groupBy properties are sorted so the key does not depend on the iteration order of the set
+            final String[] groupBys = null != groupByProperties ? groupByProperties.toArray(new String[0]) : new String[0];
+            Arrays.sort(groupBys);
+            groupByValues = new Object[groupBys.length];
+            for (int i = 0; i < groupBys.length; i++) {
+                groupByValues[i] = element.getProperty(groupBys[i]);
+            }
+            hashCode = 31 * (31 * (31 * elementClass.hashCode() + Objects.hashCode(group)) + Arrays.hashCode(identifiers)) + Arrays.hashCode(groupByValues);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ElementKey)) {
+                return false;
+            }
+            final ElementKey that = (ElementKey) obj;
+            return hashCode == that.hashCode
+                    && elementClass.equals(that.elementClass)
+                    && Objects.equals(group, that.group)
+                    && Arrays.equals(identifiers, that.identifiers)
+                    && Arrays.equals(groupByValues, that.groupByValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import uk.gov.gchq.gaffer.operation.impl.join.match.KeyedMatch;
 import uk.gov.gchq.gaffer.operation.impl.join.match.Match;
 import uk.gov.gchq.koryphe.impl.function.Identity;
 
@@ -37,7 +38,7 @@ import java.util.function.Function;
  */
 
 @JsonPropertyOrder(value = {"class", "firstKeyFunction", "secondKeyFunction"}, alphabetic = true)
-public class KeyFunctionMatch implements Match {
+public class KeyFunctionMatch implements KeyedMatch {
 
     private static final String NULL_FUNCTION_ERROR_MESSAGE = "Key functions for left and right input cannot be null";
     private static final String NULL_MATCH_CANDIDATES_ERROR_MESSAGE = "Iterable of match candidates cannot be null";
@@ -63,14 +64,9 @@ public class KeyFunctionMatch implements Match {
             throw new IllegalArgumentException(NULL_MATCH_CANDIDATES_ERROR_MESSAGE);
         }
         // Iterates over match candidates, creates an index using second key function.
+        keyedMatchCandidates = new HashMap<>();
         for (final Object matchCandidate : matchCandidates) {
-            Object key = secondKeyFunction.apply(matchCandidate);
-            List list = keyedMatchCandidates.get(key);
-            if (list == null) {
-                list = new ArrayList();
-            }
-            list.add(matchCandidate);
-            keyedMatchCandidates.put(key, list);
+            keyedMatchCandidates.computeIfAbsent(getCandidateKey(matchCandidate), k -> new ArrayList()).add(matchCandidate);
         }
 
     }
@@ -100,11 +96,21 @@ public class KeyFunctionMatch implements Match {
             throw new IllegalArgumentException(NULL_FUNCTION_ERROR_MESSAGE);
         }
 
-        Object testObjectKey = firstKeyFunction.apply(testObject);
+        Object testObjectKey = getKey(testObject);
 
         return this.keyedMatchCandidates.getOrDefault(testObjectKey, new ArrayList());
     }
 
+    @Override
+    public Object getKey(final Object testObject) {
+        return firstKeyFunction.apply(testObject);
+    }
+
+    @Override
+    public Object getCandidateKey(final Object matchCandidate) {
+        return secondKeyFunction.apply(matchCandidate);
+    }
+
     public static final class Builder {
         private Function firstKeyFunction = new Identity();
         private Function secondKeyFunction = new Identity();
@@ -17,20 +17,43 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
     @Test
@@ -54,11 +77,144 @@ public class GetWalksHandlerTest {
         assertThat(result, is(nullValue()));
     }
 
+    @Test
+    public void shouldQueryDistinctSeedsInBatchesAndRecordHopMetrics() throws Exception {
+        // Given
+        final Store store = mock(Store.class);
+        final Context context = new Context(new User());
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final List<Edge> edges = new ArrayList<>();
+            for (final Object seed : ((ToEntitySeeds) chain.getOperations().get(0)).getInput()) {
+                edges.add(new Edge.Builder()
+                        .group(TestGroups.EDGE)
+                        .source(((EntityId) seed).getVertex())
+                        .dest("X")
+                        .directed(true)
+                        .build());
+            }
+            return edges;
+        });
+
+        final GetWalks operation = new GetWalks.Builder()
+                .input("A", "A", "B")
+                .operations(new GetElements.Builder()
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE)
+                                .build())
+                        .build())
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setBatchSize(1);
+
+        // When
+        final List<Walk> walks = Lists.newArrayList(handler.doOperation(operation, context, store));
+
+        // Then
+        assertThat(walks.size(), is(3));
+        verify(store, times(2)).execute(any(Output.class), any(Context.class));
+
+        final List<GetWalksHandler.HopMetrics> hopMetrics = (List<GetWalksHandler.HopMetrics>) context.getVariable(GetWalksHandler.HOP_METRICS);
+        assertThat(hopMetrics.size(), is(1));
+        assertThat(hopMetrics.get(0).getFrontierSize(), is(2));
+        assertThat(hopMetrics.get(0).getEdges(), is(2L));
+    }
+
+    @Test
+    public void shouldGetWalksOverMultipleHops() throws Exception {
+        // Given
+        final GetWalks operation = createGetWalks(2, false, "A", "B");
+
+        // When
+        final List<List<Object>> walks = getWalks(new GetWalksHandler(), operation);
+
+        // Then
+        assertThat(walks, containsInAnyOrder(
+                Arrays.asList("A", "B", "D"),
+                Arrays.asList("A", "C", "D"),
+                Arrays.asList("A", "C", "E"),
+                Arrays.asList("B", "D", "F")));
+    }
+
+    @Test
+    public void shouldOnlyGetWalksThatReachTheLastHop() throws Exception {
+        // Given
+        final GetWalks operation = createGetWalks(3, false, "A");
+
+        // When
+        final List<List<Object>> walks = getWalks(new GetWalksHandler(), operation);
+
+        // Then
+        assertThat(walks, containsInAnyOrder(
+                Arrays.asList("A", "B", "D", "F"),
+                Arrays.asList("A", "C", "D", "F")));
+    }
+
+    @Test
+    public void shouldGetPartialWalksWhenIncludePartialIsSet() throws Exception {
+        // Given
+        final GetWalks operation = createGetWalks(3, true, "A");
+
+        // When
+        final List<List<Object>> walks = getWalks(new GetWalksHandler(), operation);
+
+        // Then
+        assertThat(walks, containsInAnyOrder(
+                Arrays.asList("A", "B", "D", "F"),
+                Arrays.asList("A", "C", "D", "F"),
+                Arrays.asList("A", "C", "E")));
+    }
+
+    @Test
+    public void shouldGetNoWalksWhenAHopReturnsNoEdges() throws Exception {
+        // Given
+        final GetWalks operation = createGetWalks(2, false, "F");
+
+        // When
+        final List<List<Object>> walks = getWalks(new GetWalksHandler(), operation);
+
+        // Then
+        assertThat(walks.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldGetEmptyPartialWalkWhenAHopReturnsNoEdges() throws Exception {
+        // Given
+        final GetWalks operation = createGetWalks(2, true, "F");
+
+        // When
+        final List<Walk> walks = Lists.newArrayList(new GetWalksHandler().doOperation(operation, new Context(new User()), createStore()));
+
+        // Then
+        assertThat(walks.size(), is(1));
+        assertThat(walks.get(0).length(), is(0));
+    }
+
+    @Test
+    public void shouldGetTheSameWalksInTheSameOrderWhenParallel() throws Exception {
+        for (final boolean includePartial : Arrays.asList(false, true)) {
+            for (final int hops : Arrays.asList(1, 2, 3)) {
+                // Given
+                final GetWalksHandler parallelHandler = new GetWalksHandler();
+                parallelHandler.setParallel(true);
+
+                // When
+                final List<List<Object>> walks = getWalks(new GetWalksHandler(), createGetWalks(hops, includePartial, "A", "B", "C", "F"));
+                final List<List<Object>> parallelWalks = getWalks(parallelHandler, createGetWalks(hops, includePartial, "A", "B", "C", "F"));
+
+                // Then
+                assertThat(parallelWalks, is(walks));
+            }
+        }
+    }
+
     @Test
     public void shouldSerialiseDeserialise() throws SerialisationException, JsonProcessingException {
         // Given
         final GetWalksHandler obj = new GetWalksHandler();
         obj.setPrune(true);
+        obj.setParallel(true);
 
         // When
         final byte[] json = JSONSerialiser.serialise(obj, true);
@@ -66,5 +222,61 @@ public class GetWalksHandlerTest {
 
         // Then
         assertNotNull(deserialisedObj);
+        assertThat(deserialisedObj.getParallel(), is(true));
+    }
+
+    private static GetWalks createGetWalks(final int hops, final boolean includePartial, final Object... seeds) {
+        final GetElements[] operations = new GetElements[hops];
+        for (int i = 0; i < hops; i++) {
+            operations[i] = new GetElements.Builder()
+                    .view(new View.Builder()
+                            .edge(TestGroups.EDGE)
+                            .build())
+                    .build();
+        }
+        return new GetWalks.Builder()
+                .input(seeds)
+                .operations(operations)
+                .includePartial(includePartial)
+                .build();
+    }
+
+    private static List<List<Object>> getWalks(final GetWalksHandler handler, final GetWalks operation) throws OperationException {
+        final List<List<Object>> walks = new ArrayList<>();
+        for (final Walk walk : handler.doOperation(operation, new Context(new User()), createStore())) {
+            walks.add(walk.getVerticesOrdered());
+        }
+        return walks;
+    }
+
+    /**
+     * Creates a store containing the directed edges A-B, A-C, B-D, C-D, C-E
+     * and D-F, which returns the edges leaving each seed for every hop.
+     */
+    private static Store createStore() throws OperationException {
+        final Map<Object, List<Object>> graph = new HashMap<>();
+        graph.put("A", Arrays.asList("B", "C"));
+        graph.put("B", Collections.singletonList("D"));
+        graph.put("C", Arrays.asList("D", "E"));
+        graph.put("D", Collections.singletonList("F"));
+
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = invocation.getArgument(0);
+            final List<Edge> edges = new ArrayList<>();
+            for (final Object seed : ((ToEntitySeeds) chain.getOperations().get(0)).getInput()) {
+                final Object source = ((EntityId) seed).getVertex();
+                for (final Object destination : graph.getOrDefault(source, Collections.emptyList())) {
+                    edges.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(source)
+                            .dest(destination)
+                            .directed(true)
+                            .build());
+                }
+            }
+            return edges;
+        });
+        return store;
     }
 }
@@ -19,23 +19,29 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.join.Join;
 import uk.gov.gchq.gaffer.operation.impl.join.match.MatchKey;
 import uk.gov.gchq.gaffer.operation.impl.join.methods.JoinType;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.join.JoinHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.ElementMatch;
 import uk.gov.gchq.gaffer.store.operation.handler.join.match.KeyFunctionMatch;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.MapTuple;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 public class JoinHandlerTest {
@@ -70,7 +76,7 @@ public class JoinHandlerTest {
         final Join<Integer> joinOp = new Join.Builder<Integer>()
                 .input(inputList)
                 .joinType(JoinType.FULL)
-                .matchKey(MatchKey.LEFT)
+                .matchKey(MatchKey.RIGHT)
                 .matchMethod(new KeyFunctionMatch())
                 .collectionLimit(1)
                 .build();
@@ -84,6 +90,33 @@ public class JoinHandlerTest {
         }
     }
 
+    @Test
+    public void shouldNotLimitKeysWhenStreamingJoin() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        final List<Integer> inputList = Arrays.asList(1, 2, 3);
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(Collections.singletonList(2));
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(1)
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // Then
+        final List<String> joined = new ArrayList<>();
+        for (final MapTuple tuple : results) {
+            joined.add(tuple.get(MatchKey.LEFT.name()) + "-" + tuple.get(MatchKey.RIGHT.name()));
+        }
+        assertEquals(Collections.singletonList("2-2"), joined);
+    }
+
     @Test
     public void shouldThrowExceptionWhenNoMatchMethodIsSpecified() {
         // Given
@@ -104,4 +137,33 @@ public class JoinHandlerTest {
             assertEquals("A match method must be supplied", e.getMessage());
         }
     }
+
+    @Test
+    public void shouldSpillToDiskWhenMatchCandidatesAreMoreThanLimit() throws OperationException {
+        // Given
+        final JoinHandler handler = new JoinHandler();
+        final List<Integer> inputList = Arrays.asList(1, 2, 3, 4, 5, 6);
+        given(store.execute(any(Output.class), any(Context.class))).willReturn(Arrays.asList(2, 4, 4, 6, 8));
+
+        final Join<Integer> joinOp = new Join.Builder<Integer>()
+                .input(inputList)
+                .operation(new GetAllElements())
+                .joinType(JoinType.INNER)
+                .matchKey(MatchKey.LEFT)
+                .matchMethod(new KeyFunctionMatch())
+                .collectionLimit(2)
+                .spillToDisk(true)
+                .build();
+
+        // When
+        final Iterable<? extends MapTuple> results = handler.doOperation(joinOp, context, store);
+
+        // Then
+        final List<String> joined = new ArrayList<>();
+        for (final MapTuple tuple : results) {
+            joined.add(tuple.get(MatchKey.LEFT.name()) + "-" + tuple.get(MatchKey.RIGHT.name()));
+        }
+        Collections.sort(joined);
+        assertEquals(Arrays.asList("2-2", "4-4", "4-4", "6-6"), joined);
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.compare;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExternalMergeSortTest {
+    @Test
+    public void shouldDeleteRunsWhenClosed() throws IOException {
+        // Given
+        final ExternalMergeSort mergeSort = createMergeSort();
+        mergeSort.addRun(createRun(1, 3, 5));
+        mergeSort.addRun(createRun(2, 4));
+
+        // When
+        mergeSort.close();
+
+        // Then
+        assertEquals(false, Files.exists(mergeSort.getDirectory()));
+    }
+
+    @Test
+    public void shouldDeleteRunsWhenMergedResultsAreClosed() throws IOException {
+        // Given
+        final ExternalMergeSort mergeSort = createMergeSort();
+        mergeSort.addRun(createRun(1, 3, 5));
+        mergeSort.addRun(createRun(2, 4));
+        final CloseableIterable<Element> results = mergeSort.merge();
+
+        // When
+        final List<Integer> properties = new ArrayList<>();
+        for (final Element element : results) {
+            properties.add((Integer) element.getProperty("property"));
+        }
+        results.close();
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), properties);
+        assertEquals(false, Files.exists(mergeSort.getDirectory()));
+    }
+
+    private static ExternalMergeSort createMergeSort() throws IOException {
+        return new ExternalMergeSort(new ElementPropertyComparator.Builder()
+                .groups(TestGroups.ENTITY)
+                .property("property")
+                .build(), null, false);
+    }
+
+    private static List<Element> createRun(final int... values) {
+        final List<Element> run = new ArrayList<>();
+        for (final int value : values) {
+            run.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex")
+                    .property("property", value).build());
+        }
+        return run;
+    }
+}
@@ -22,11 +22,21 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -40,6 +50,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 public class SortHandlerTest {
 
@@ -290,6 +302,107 @@ public class SortHandlerTest {
                 assertEquals(resultLimit, Iterables.size(result));
         }
 
+        @Test
+        public void shouldSpillSortedRunsToDiskAndMergeThem() throws OperationException {
+                // Given
+                final Store store = mock(Store.class);
+
+                final List<Entity> input = new ArrayList<>();
+                for (final int i : Arrays.asList(7, 3, 9, 1, 3, 8, 2, 6, 9, 4, 5, 1)) {
+                        input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex")
+                                        .property("property", i).build());
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder().groups(TestGroups.ENTITY)
+                                                .property("property").build())
+                                .deduplicate(true).build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setInMemoryThreshold(3);
+
+                // When
+                final Iterable<? extends Element> result = handler.doOperation(sort, new Context(), store);
+
+                // Then
+                final List<Integer> properties = new ArrayList<>();
+                for (final Element element : result) {
+                        properties.add((Integer) element.getProperty("property"));
+                }
+                assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), properties);
+                assertEquals(9, Iterables.size(result));
+        }
+
+        @Test
+        public void shouldNotSpillToDiskByDefault() {
+                // Given
+                final SortHandler handler = new SortHandler();
+
+                // Then
+                assertNull(handler.getInMemoryThreshold());
+        }
+
+        @Test
+        public void shouldSpillPropertiesNotInSchemaAndMatchedVertex() throws OperationException {
+                // Given
+                final Store store = mock(Store.class);
+                given(store.getSchema()).willReturn(new Schema.Builder()
+                                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                                                .vertex("string")
+                                                .property("property", "int")
+                                                .build())
+                                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                                                .source("string")
+                                                .destination("string")
+                                                .property("property", "int")
+                                                .build())
+                                .type("string", new TypeDefinition.Builder().clazz(String.class)
+                                                .serialiser(new StringSerialiser()).build())
+                                .type("int", new TypeDefinition.Builder().clazz(Integer.class)
+                                                .serialiser(new CompactRawIntegerSerialiser()).build())
+                                .vertexSerialiser(new StringSerialiser())
+                                .build());
+
+                // The transformed property is not in the schema, as if it had been added by a view transform
+                final List<Element> input = new ArrayList<>();
+                for (final int i : Arrays.asList(7, 3, 9, 1, 8, 2, 6, 4, 5)) {
+                        if (i % 2 == 0) {
+                                input.add(new Edge.Builder().group(TestGroups.EDGE).source("source" + i).dest("dest" + i)
+                                                .directed(true).matchedVertex(EdgeId.MatchedVertex.DESTINATION)
+                                                .property("property", i)
+                                                .property("transformed", "value" + i)
+                                                .build());
+                        } else {
+                                input.add(new Entity.Builder().group(TestGroups.ENTITY).vertex("vertex" + i)
+                                                .property("property", i)
+                                                .property("transformed", "value" + i)
+                                                .build());
+                        }
+                }
+
+                final Sort sort = new Sort.Builder().input(input)
+                                .comparators(new ElementPropertyComparator.Builder()
+                                                .groups(TestGroups.ENTITY, TestGroups.EDGE)
+                                                .property("property").build())
+                                .build();
+
+                final SortHandler handler = new SortHandler();
+                handler.setInMemoryThreshold(3);
+
+                // When
+                final List<Element> result = Lists.newArrayList(handler.doOperation(sort, new Context(), store));
+
+                // Then
+                final List<Element> expected = Lists.newArrayList(new SortHandler().doOperation(sort, new Context(), store));
+                assertEquals(expected, result);
+                for (final Element element : result) {
+                        assertEquals("value" + element.getProperty("property"), element.getProperty("transformed"));
+                        if (element instanceof Edge) {
+                                assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) element).getMatchedVertex());
+                        }
+                }
+        }
+
         private static class ElementComparatorImpl implements Comparator<Element> {
                 @Override
                 public int compare(final Element o1, final Element o2) {
@@ -21,10 +21,12 @@ import org.junit.jupiter.api.Test;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -237,4 +239,75 @@ public class ElementMatchTest {
         // Then
         assertEquals(0, matchingElements.size());
     }
+
+    @Test
+    public void shouldMatchEdgesOnSourceDestinationAndDirection() {
+        // Given
+        Edge testEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Edge matchingEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        Edge undirectedEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(false)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Edge otherDestinationEdge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("C")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Arrays.asList(matchingEdge, undirectedEdge, otherDestinationEdge));
+
+        // When
+        List<Element> matchingElements = elementMatch.matching(testEdge);
+
+        // Then
+        assertEquals(Collections.singletonList(matchingEdge), matchingElements);
+    }
+
+    @Test
+    public void shouldUseUpdatedGroupByPropertiesAfterInitialisation() {
+        // Given
+        Entity testEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+
+        Entity testEntity2 = new Entity.Builder()
+                .group(TestGroups.ENTITY_3)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        ElementMatch elementMatch = new ElementMatch();
+        elementMatch.init(Collections.singletonList(testEntity2));
+        assertEquals(1, elementMatch.matching(testEntity).size());
+
+        // When
+        elementMatch.setElementGroupByProperties(Collections.singleton(TestPropertyNames.COUNT));
+
+        // Then
+        assertEquals(0, elementMatch.matching(testEntity).size());
+    }
 }
@@ -16,7 +16,13 @@
 package uk.gov.gchq.gaffer.flink.operation.handler;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.SimpleCounter;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.ConsumableBlockingQueue;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
@@ -28,10 +34,19 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * <p>
@@ -58,11 +73,26 @@ import java.util.Properties;
  * some time. In this situation we just restart the AddElements operation next
  * time an element is received.
  * </p>
+ * <p>
+ * Alternatively, if the operation option gaffer.flink.operation.handler.batch-size
+ * is set, the elements are collected into batches of at most that many elements.
+ * A batch is added to the Gaffer store when it is full, when its oldest element
+ * has waited for gaffer.flink.operation.handler.batch-timeout-ms milliseconds
+ * (1,000 by default) or when {@link #flush()} is called, e.g. when Flink takes
+ * a checkpoint. The elements in each batch are aggregated before they are added
+ * and gaffer.flink.operation.handler.writer-threads batches (1 by default) are
+ * added at the same time. Flink is blocked from adding elements if twice that
+ * many batches are waiting to be added. If adding a batch fails then the next
+ * call to {@link #add(Element)} or {@link #flush()} fails.
+ * </p>
  */
 @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
 public class GafferAdder implements Serializable {
     private static final long serialVersionUID = -3418606107861031989L;
     public static final int MAX_QUEUE_SIZE_DEFAULT = 1000000;
+    public static final int BATCH_TIMEOUT_MILLIS_DEFAULT = 1000;
+    public static final int WRITER_THREADS_DEFAULT = 1;
+    private static final int METER_TIME_SPAN_IN_SECONDS = 60;
 
     private final String graphId;
     private final byte[] schema;
@@ -71,17 +101,37 @@ public class GafferAdder implements Serializable {
     private final boolean validate;
     private final boolean skipInvalid;
     private final int maxQueueSize;
+    private final int batchSize;
+    private final long batchTimeoutMillis;
+    private final int writerThreads;
 
     private transient Store store;
     private transient ConsumableBlockingQueue<Element> queue;
     private transient boolean restart;
 
+    private transient List<Element> batch;
+    private transient long batchStartTime;
+    private transient ExecutorService writers;
+    private transient ScheduledExecutorService batchTimer;
+    private transient Semaphore pendingBatches;
+    private transient AtomicReference<Exception> writeFailure;
+    private transient Counter elementsReceived;
+    private transient Counter elementsWritten;
+    private transient Counter batchesWritten;
+    private transient volatile long lastBatchLatencyMillis;
+
     public <OP extends Validatable & Operation> GafferAdder(final OP operation, final Store store) {
         this.store = store;
         this.validate = operation.isValidate();
         this.skipInvalid = operation.isSkipInvalidElements();
         final String maxQueueSizeOption = operation.getOption(FlinkConstants.MAX_QUEUE_SIZE);
         this.maxQueueSize = null != maxQueueSizeOption ? Integer.parseInt(maxQueueSizeOption) : MAX_QUEUE_SIZE_DEFAULT;
+        final String batchSizeOption = operation.getOption(FlinkConstants.BATCH_SIZE);
+        this.batchSize = null != batchSizeOption ? Integer.parseInt(batchSizeOption) : 0;
+        final String batchTimeoutOption = operation.getOption(FlinkConstants.BATCH_TIMEOUT_MILLIS);
+        this.batchTimeoutMillis = null != batchTimeoutOption ? Long.parseLong(batchTimeoutOption) : BATCH_TIMEOUT_MILLIS_DEFAULT;
+        final String writerThreadsOption = operation.getOption(FlinkConstants.WRITER_THREADS);
+        this.writerThreads = null != writerThreadsOption ? Integer.parseInt(writerThreadsOption) : WRITER_THREADS_DEFAULT;
         graphId = store.getGraphId();
         schema = store.getSchema().toCompactJson();
         properties = store.getProperties().getProperties();
@@ -93,11 +143,79 @@ public class GafferAdder implements Serializable {
         }
     }
 
+    /**
+     * Registers the metrics of the batches added to the Gaffer store: the number
+     * of elements received, the number of elements written after aggregation,
+     * the number of batches written, the rate at which elements are written and
+     * the time from the first element of the last batch being received to that
+     * batch being written.
+     *
+     * @param metricGroup the group to register the metrics with
+     */
+    public void registerMetrics(final MetricGroup metricGroup) {
+        if (null != metricGroup) {
+            elementsReceived = metricGroup.counter("elementsReceived");
+            elementsWritten = metricGroup.counter("elementsWritten");
+            batchesWritten = metricGroup.counter("batchesWritten");
+            metricGroup.meter("elementsWrittenPerSecond", new MeterView(elementsWritten, METER_TIME_SPAN_IN_SECONDS));
+            metricGroup.gauge("lastBatchLatencyMillis", (Gauge<Long>) () -> lastBatchLatencyMillis);
+        }
+    }
+
     public void add(final Element element) {
         if (null == element) {
             return;
         }
 
+        if (batchSize > 0) {
+            addToBatch(element);
+        } else {
+            addToQueue(element);
+        }
+    }
+
+    /**
+     * Adds any elements waiting in a batch to the Gaffer store and waits for all
+     * the batches to be added.
+     */
+    public void flush() {
+        if (null == batch) {
+            return;
+        }
+        synchronized (this) {
+            writeBatch();
+        }
+        final int maxPendingBatches = getMaxPendingBatches();
+        try {
+            pendingBatches.acquire(maxPendingBatches);
+            pendingBatches.release(maxPendingBatches);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for batches of elements to be added", e);
+        }
+        checkForWriteFailure();
+    }
+
+    /**
+     * Flushes any remaining elements and stops the threads used to add batches.
+     */
+    public void close() {
+        try {
+            flush();
+        } finally {
+            if (null != batchTimer) {
+                batchTimer.shutdownNow();
+                batchTimer = null;
+            }
+            if (null != writers) {
+                writers.shutdown();
+                writers = null;
+            }
+            batch = null;
+        }
+    }
+
+    private void addToQueue(final Element element) {
         if (null == queue) {
             queue = new ConsumableBlockingQueue<>(maxQueueSize);
             restart = true;
@@ -126,4 +244,94 @@ public class GafferAdder implements Serializable {
             });
         }
     }
+
+    private synchronized void addToBatch(final Element element) {
+        checkForWriteFailure();
+        if (null == batch) {
+            initialiseBatches();
+        }
+        if (batch.isEmpty()) {
+            batchStartTime = System.currentTimeMillis();
+        }
+        batch.add(element);
+        elementsReceived.inc();
+        if (batch.size() >= batchSize) {
+            writeBatch();
+        }
+    }
+
+    private void initialiseBatches() {
+        batch = new ArrayList<>(batchSize);
+        pendingBatches = new Semaphore(getMaxPendingBatches());
+        writeFailure = new AtomicReference<>();
+        if (null == elementsReceived) {
+            elementsReceived = new SimpleCounter();
+            elementsWritten = new SimpleCounter();
+            batchesWritten = new SimpleCounter();
+        }
+        writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "gaffer-flink-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        batchTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "gaffer-flink-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(1L, batchTimeoutMillis / 4);
+        batchTimer.scheduleAtFixedRate(this::writeBatchIfTimedOut, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private int getMaxPendingBatches() {
+        return 2 * writerThreads;
+    }
+
+    private synchronized void writeBatchIfTimedOut() {
+        if (null != batch && !batch.isEmpty() && System.currentTimeMillis() - batchStartTime >= batchTimeoutMillis) {
+            writeBatch();
+        }
+    }
+
+    private void writeBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<Element> elements = batch;
+        final long startTime = batchStartTime;
+        batch = new ArrayList<>(batchSize);
+        try {
+            pendingBatches.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to add a batch of elements", e);
+        }
+        writers.execute(() -> {
+            try {
+                final List<Element> aggregatedElements = new ArrayList<>(elements.size());
+                try (final CloseableIterable<Element> aggregated = AggregatorUtil.ingestAggregate(elements, store.getSchema())) {
+                    aggregated.forEach(aggregatedElements::add);
+                }
+                store.execute(new AddElements.Builder()
+                                .input(aggregatedElements)
+                                .validate(validate)
+                                .skipInvalidElements(skipInvalid)
+                                .build(),
+                        new Context(new User()));
+                elementsWritten.inc(aggregatedElements.size());
+                batchesWritten.inc();
+                lastBatchLatencyMillis = System.currentTimeMillis() - startTime;
+            } catch (final Exception e) {
+                writeFailure.compareAndSet(null, e);
+            } finally {
+                pendingBatches.release();
+            }
+        });
+    }
+
+    private void checkForWriteFailure() {
+        if (null != writeFailure && null != writeFailure.get()) {
+            throw new RuntimeException("Failed to add a batch of elements: " + writeFailure.get().getMessage(), writeFailure.get());
+        }
+    }
 }
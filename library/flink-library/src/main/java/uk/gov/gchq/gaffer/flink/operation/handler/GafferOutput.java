@@ -60,6 +60,6 @@ public class GafferOutput extends RichOutputFormat<Element> {
 
     @Override
     public void close() throws IOException {
-        // no action required
+        adder.close();
     }
 }
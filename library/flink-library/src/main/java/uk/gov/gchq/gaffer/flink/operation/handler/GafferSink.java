@@ -17,6 +17,9 @@ package uk.gov.gchq.gaffer.flink.operation.handler;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
 import org.apache.flink.streaming.api.functions.sink.RichSinkFunction;
 
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -24,8 +27,14 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.Validatable;
 import uk.gov.gchq.gaffer.store.Store;
 
+/**
+ * Implementation of {@link RichSinkFunction} for Gaffer to allow {@link Element}s
+ * to be consumed from external sources. Any elements waiting to be added to
+ * the Gaffer store are flushed when Flink takes a checkpoint, so a checkpoint
+ * only completes once the elements received before it have been added.
+ */
 @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "There are null checks that will initialise the fields")
-public class GafferSink extends RichSinkFunction<Element> {
+public class GafferSink extends RichSinkFunction<Element> implements CheckpointedFunction {
     private static final long serialVersionUID = 1569145256866410621L;
     private final GafferAdder adder;
 
@@ -41,10 +50,30 @@ public class GafferSink extends RichSinkFunction<Element> {
     public void open(final Configuration parameters) throws Exception {
         super.open(parameters);
         adder.initialise();
+        adder.registerMetrics(getRuntimeContext().getMetricGroup());
     }
 
     @Override
     public void invoke(final Element element) throws Exception {
         adder.add(element);
     }
+
+    @Override
+    public void snapshotState(final FunctionSnapshotContext context) throws Exception {
+        adder.flush();
+    }
+
+    @Override
+    public void initializeState(final FunctionInitializationContext context) throws Exception {
+        // no state to restore as the elements are added to the store before each checkpoint completes
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            adder.close();
+        } finally {
+            super.close();
+        }
+    }
 }
@@ -30,6 +30,26 @@ public final class FlinkConstants {
      */
     public static final String MAX_QUEUE_SIZE = "gaffer.flink.operation.handler.max-queue-size";
 
+    /**
+     * Operation option key for setting the maximum number of elements in each
+     * batch of elements added to a Gaffer store. If this is set then elements
+     * are added in batches rather than through a queue.
+     */
+    public static final String BATCH_SIZE = "gaffer.flink.operation.handler.batch-size";
+
+    /**
+     * Operation option key for setting the maximum time in milliseconds that
+     * an element waits in a batch before the batch is added to the Gaffer
+     * store, even if the batch is not full.
+     */
+    public static final String BATCH_TIMEOUT_MILLIS = "gaffer.flink.operation.handler.batch-timeout-ms";
+
+    /**
+     * Operation option key for setting the number of batches that are added
+     * to the Gaffer store at the same time.
+     */
+    public static final String WRITER_THREADS = "gaffer.flink.operation.handler.writer-threads";
+
     private FlinkConstants() {
         // private constructor to prevent users instantiating this class as it
         // only contains constants.
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.flink.operation.handler;
 
+import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -23,15 +24,27 @@ import org.mockito.Mockito;
 import uk.gov.gchq.gaffer.commonutil.iterable.ConsumableBlockingQueue;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.flink.operation.handler.util.FlinkConstants;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 public class GafferAdderTest {
@@ -156,4 +169,82 @@ public class GafferAdderTest {
                 .skipInvalidElements(false)
                 .build()), Mockito.any());
     }
+
+    @Test
+    public void shouldAddElementsInBatches() throws Exception {
+        // Given
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(new Schema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.BATCH_SIZE)).willReturn("2");
+        given(op.getOption(FlinkConstants.WRITER_THREADS)).willReturn("2");
+        final Element element = mock(Element.class);
+        final Element element2 = mock(Element.class);
+        final Element element3 = mock(Element.class);
+        final GafferAdder adder = new GafferAdder(op, store);
+
+        // When
+        adder.add(element);
+        adder.add(element2);
+        adder.add(element3);
+        adder.flush();
+
+        // Then
+        final ArgumentCaptor<AddElements> opCaptor = ArgumentCaptor.forClass(AddElements.class);
+        verify(store, times(2)).execute(opCaptor.capture(), Mockito.any());
+        final List<List<Element>> batches = new ArrayList<>();
+        for (final AddElements addElements : opCaptor.getAllValues()) {
+            batches.add(Lists.newArrayList(addElements.getInput()));
+        }
+        assertTrue(batches.contains(Arrays.asList(element, element2)));
+        assertTrue(batches.contains(Collections.singletonList(element3)));
+        verify(store, never()).runAsync(Mockito.any());
+        adder.close();
+    }
+
+    @Test
+    public void shouldAddPartialBatchAfterTimeout() throws Exception {
+        // Given
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(new Schema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.BATCH_SIZE)).willReturn("100");
+        given(op.getOption(FlinkConstants.BATCH_TIMEOUT_MILLIS)).willReturn("10");
+        final Element element = mock(Element.class);
+        final GafferAdder adder = new GafferAdder(op, store);
+
+        // When
+        adder.add(element);
+
+        // Then
+        final ArgumentCaptor<AddElements> opCaptor = ArgumentCaptor.forClass(AddElements.class);
+        verify(store, timeout(5000)).execute(opCaptor.capture(), Mockito.any());
+        assertEquals(Collections.singletonList(element), Lists.newArrayList(opCaptor.getValue().getInput()));
+        adder.close();
+    }
+
+    @Test
+    public void shouldFailFlushIfBatchCannotBeAdded() throws Exception {
+        // Given
+        final AddElementsFromSocket op = mock(AddElementsFromSocket.class);
+        final Store store = mock(Store.class);
+        given(store.getProperties()).willReturn(new StoreProperties());
+        given(store.getSchema()).willReturn(new Schema());
+        given(op.isValidate()).willReturn(true);
+        given(op.isSkipInvalidElements()).willReturn(false);
+        given(op.getOption(FlinkConstants.BATCH_SIZE)).willReturn("10");
+        willThrow(new OperationException("Store failure")).given(store).execute(Mockito.any(AddElements.class), Mockito.any());
+        final GafferAdder adder = new GafferAdder(op, store);
+        adder.add(mock(Element.class));
+
+        // When / Then
+        final Exception exception = assertThrows(RuntimeException.class, adder::flush);
+        assertTrue(exception.getMessage().contains("Store failure"));
+    }
 }
@@ -50,4 +50,17 @@ public class GafferOutputTest {
         // Then
         verify(adder).add(element);
     }
+
+    @Test
+    public void shouldDelegateCloseToGafferAdderClose() throws Exception {
+        // Given
+        final GafferAdder adder = mock(GafferAdder.class);
+        final GafferOutput output = new GafferOutput(adder);
+
+        // When
+        output.close();
+
+        // Then
+        verify(adder).close();
+    }
 }
@@ -16,10 +16,13 @@
 
 package uk.gov.gchq.gaffer.flink.operation.handler;
 
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.metrics.MetricGroup;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -29,6 +32,7 @@ public class GafferSinkTest {
         // Given
         final GafferAdder adder = mock(GafferAdder.class);
         final GafferSink sink = new GafferSink(adder);
+        sink.setRuntimeContext(mock(RuntimeContext.class));
 
         // When
         sink.open(null);
@@ -37,6 +41,49 @@ public class GafferSinkTest {
         verify(adder).initialise();
     }
 
+    @Test
+    public void shouldRegisterMetricsOnOpen() throws Exception {
+        // Given
+        final GafferAdder adder = mock(GafferAdder.class);
+        final GafferSink sink = new GafferSink(adder);
+        final RuntimeContext runtimeContext = mock(RuntimeContext.class);
+        final MetricGroup metricGroup = mock(MetricGroup.class);
+        given(runtimeContext.getMetricGroup()).willReturn(metricGroup);
+        sink.setRuntimeContext(runtimeContext);
+
+        // When
+        sink.open(null);
+
+        // Then
+        verify(adder).registerMetrics(metricGroup);
+    }
+
+    @Test
+    public void shouldFlushGafferAdderOnCheckpoint() throws Exception {
+        // Given
+        final GafferAdder adder = mock(GafferAdder.class);
+        final GafferSink sink = new GafferSink(adder);
+
+        // When
+        sink.snapshotState(null);
+
+        // Then
+        verify(adder).flush();
+    }
+
+    @Test
+    public void shouldDelegateCloseToGafferAdderClose() throws Exception {
+        // Given
+        final GafferAdder adder = mock(GafferAdder.class);
+        final GafferSink sink = new GafferSink(adder);
+
+        // When
+        sink.close();
+
+        // Then
+        verify(adder).close();
+    }
+
     @Test
     public void shouldDelegateInvokeToGafferAddedInitialise() throws Exception {
         // Given
@@ -37,6 +37,7 @@ import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser.SMILE_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.BAD_REQUEST;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.FORBIDDEN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -115,6 +116,25 @@ public interface IOperationServiceV2 {
             @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
     Response executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation);
 
+    @POST
+    @Path("/execute/stream")
+    @Produces(SMILE_MEDIA_TYPE)
+    @ApiOperation(value = "Performs the given operation on the graph, streaming the result in the Smile binary JSON format",
+            notes = "Iterable results are written one item at a time as a Smile array, so they can be read " +
+                    "incrementally by clients such as the ProxyStore. <b>WARNING</b> - This does not work in Swagger.",
+            response = Object.class,
+            produces = SMILE_MEDIA_TYPE,
+            responseHeaders = {
+                    @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
+                    @ResponseHeader(name = GAFFER_MEDIA_TYPE_HEADER, description = GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION)
+            })
+    @ApiResponses(value = {@ApiResponse(code = 200, message = OK, response = Object.class),
+            @ApiResponse(code = 400, message = BAD_REQUEST),
+            @ApiResponse(code = 403, message = FORBIDDEN),
+            @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
+    Response executeStream(@ApiParam(value = "The operation to be performed, returning a Smile stream") final Operation operation);
+
     @SuppressFBWarnings
     Response executeChunkedChain(@ApiParam(value = "The operation chain to be performed, returning a chunked output") final OperationChain opChain);
 
@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.commonutil.exception.UnauthorisedException;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.Error;
 import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
@@ -37,12 +38,14 @@ import uk.gov.gchq.gaffer.store.Context;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.io.IOException;
 
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
+import static uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser.SMILE_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
@@ -96,6 +99,16 @@ public class OperationServiceV2 extends AbstractOperationService implements IOpe
         return executeChunkedChain(OperationChain.wrap(operation));
     }
 
+    @Override
+    public Response executeStream(final Operation operation) {
+        final Pair<Object, String> resultAndJobId = _execute(operation, userFactory.createContext());
+        final StreamingOutput output = stream -> SmileSerialiser.serialise(resultAndJobId.getFirst(), stream);
+        return Response.ok(output, SMILE_MEDIA_TYPE)
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, resultAndJobId.getSecond())
+                .build();
+    }
+
     @SuppressFBWarnings
     @Override
     public Response executeChunkedChain(final OperationChain opChain) {
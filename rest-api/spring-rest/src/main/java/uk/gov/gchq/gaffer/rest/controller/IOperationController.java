@@ -30,6 +30,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
+import static uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser.SMILE_MEDIA_TYPE;
 
 @RequestMapping("/graph/operations")
 public interface IOperationController {
@@ -110,4 +111,13 @@ public interface IOperationController {
     )
     @ApiOperation("Executes an operation against a Store, returning a chunked output")
     ResponseEntity<StreamingResponseBody> executeChunked(final Operation operation);
+
+    @RequestMapping(
+            method = POST,
+            path = "/execute/stream",
+            consumes = APPLICATION_JSON_VALUE,
+            produces = SMILE_MEDIA_TYPE
+    )
+    @ApiOperation("Executes an operation against a Store, streaming the result in the Smile binary JSON format")
+    ResponseEntity<StreamingResponseBody> executeStream(final Operation operation);
 }
@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.rest.factory.ExamplesFactory;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
@@ -42,6 +43,7 @@ import java.util.Set;
 
 
 import static uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser.createDefaultMapper;
+import static uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser.SMILE_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.JOB_ID_HEADER;
@@ -171,6 +173,25 @@ public class OperationController extends AbstractOperationService implements IOp
                 .body(responseBody);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> executeStream(@RequestBody final Operation operation) {
+        StreamingResponseBody responseBody = response -> {
+            try {
+                Pair<Object, String> resultAndJobId = _execute(operation, userFactory.createContext());
+                SmileSerialiser.serialise(resultAndJobId.getFirst(), response);
+            } catch (final Exception e) {
+                throw new GafferRuntimeException("Unable to stream result: ", e, Status.INTERNAL_SERVER_ERROR);
+            } finally {
+                CloseableUtil.close(operation);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .contentType(MediaType.valueOf(SMILE_MEDIA_TYPE))
+                .body(responseBody);
+    }
+
     @Override
     protected UserFactory getUserFactory() {
         return userFactory;
@@ -45,22 +45,40 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String ADAPTIVE_BATCH_SCANNING = "accumulo.adaptiveBatchScanning";
+    public static final String MIN_ENTRIES_FOR_BATCH_SCANNER = "accumulo.minEntriesForBatchScanner";
+    public static final String MAX_BATCH_SCANNERS_IN_FLIGHT = "accumulo.maxBatchScannersInFlight";
+    public static final String TARGET_BATCH_LATENCY = "accumulo.targetBatchLatencyInMilliseconds";
+    public static final String MAX_RESULTS_PER_BATCH = "accumulo.maxResultsPerBatch";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String BLOOM_FILTER_CACHE_SIZE = "accumulo.bloomFilterCacheSizeInBytes";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_INGEST_CONVERSION = "accumulo.numThreadsForIngestConversion";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingestBatchSize";
+    public static final String INGEST_QUEUE_SIZE = "accumulo.ingestQueueSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "1000";
+    private static final String INGEST_QUEUE_SIZE_DEFAULT = "10";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String ADAPTIVE_BATCH_SCANNING_DEFAULT = "false";
+    private static final String MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "1000";
+    private static final String MAX_BATCH_SCANNERS_IN_FLIGHT_DEFAULT = "2";
+    private static final String TARGET_BATCH_LATENCY_DEFAULT = "1000";
+    private static final String MAX_RESULTS_PER_BATCH_DEFAULT = "1000000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String BLOOM_FILTER_CACHE_SIZE_DEFAULT = "33554432";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
@@ -151,6 +169,70 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements. If this is greater than 1 the
+     * elements are converted in parallel and handed to the batch writer via a
+     * bounded queue, so the order in which they are written is not preserved.
+     *
+     * @param numThreadsForIngestConversion The number of threads to convert elements with.
+     */
+    public void setNumThreadsForIngestConversion(final String numThreadsForIngestConversion) {
+        set(NUM_THREADS_FOR_INGEST_CONVERSION, numThreadsForIngestConversion);
+    }
+
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements.
+     *
+     * @return The number of threads to convert elements with.
+     */
+    public int getNumThreadsForIngestConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST_CONVERSION, NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements each conversion thread should convert at a
+     * time when converting elements in parallel.
+     *
+     * @param ingestBatchSize The number of elements in each batch.
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
+    /**
+     * Gets the number of elements each conversion thread should convert at a
+     * time when converting elements in parallel.
+     *
+     * @return The number of elements in each batch.
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of batches that can be waiting to be converted
+     * or written at any one time when converting elements in parallel. Once
+     * this is reached, reading further elements blocks until the batch writer
+     * catches up.
+     *
+     * @param ingestQueueSize The maximum number of batches in flight.
+     */
+    public void setIngestQueueSize(final String ingestQueueSize) {
+        set(INGEST_QUEUE_SIZE, ingestQueueSize);
+    }
+
+    /**
+     * Gets the maximum number of batches that can be waiting to be converted
+     * or written at any one time when converting elements in parallel.
+     *
+     * @return The maximum number of batches in flight.
+     */
+    public int getIngestQueueSize() {
+        return Integer.parseInt(get(INGEST_QUEUE_SIZE, INGEST_QUEUE_SIZE_DEFAULT));
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -303,6 +385,110 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the flag determining whether seeds should be queried for in
+     * adaptively sized batches, with several batch scanners in flight at once.
+     *
+     * @return true if adaptive batch scanning is enabled.
+     */
+    public boolean getAdaptiveBatchScanning() {
+        return Boolean.parseBoolean(get(ADAPTIVE_BATCH_SCANNING, ADAPTIVE_BATCH_SCANNING_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether seeds should be queried for in
+     * adaptively sized batches, with several batch scanners in flight at once.
+     * The batch size starts at the min entries for the batch scanner and is
+     * tuned, up to the max entries, from the latency and number of results of
+     * previous batches.
+     *
+     * @param adaptiveBatchScanning true if adaptive batch scanning should be enabled.
+     */
+    public void setAdaptiveBatchScanning(final boolean adaptiveBatchScanning) {
+        set(ADAPTIVE_BATCH_SCANNING, Boolean.toString(adaptiveBatchScanning));
+    }
+
+    /**
+     * Gets the smallest number of seeds that should be queried for in a batch
+     * when adaptive batch scanning is enabled.
+     *
+     * @return the min number of seeds in a batch.
+     */
+    public int getMinEntriesForBatchScanner() {
+        return Integer.parseInt(get(MIN_ENTRIES_FOR_BATCH_SCANNER, MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Sets the smallest number of seeds that should be queried for in a batch
+     * when adaptive batch scanning is enabled.
+     *
+     * @param minEntriesForBatchScanner the min number of seeds in a batch.
+     */
+    public void setMinEntriesForBatchScanner(final String minEntriesForBatchScanner) {
+        set(MIN_ENTRIES_FOR_BATCH_SCANNER, minEntriesForBatchScanner);
+    }
+
+    /**
+     * Gets the number of batch scanners that can be open at once when adaptive
+     * batch scanning is enabled. Batches after the one being read are
+     * prefetched.
+     *
+     * @return the max number of batch scanners in flight.
+     */
+    public int getMaxBatchScannersInFlight() {
+        return Integer.parseInt(get(MAX_BATCH_SCANNERS_IN_FLIGHT, MAX_BATCH_SCANNERS_IN_FLIGHT_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners that can be open at once when adaptive
+     * batch scanning is enabled.
+     *
+     * @param maxBatchScannersInFlight the max number of batch scanners in flight.
+     */
+    public void setMaxBatchScannersInFlight(final String maxBatchScannersInFlight) {
+        set(MAX_BATCH_SCANNERS_IN_FLIGHT, maxBatchScannersInFlight);
+    }
+
+    /**
+     * Gets the time it should take to read each batch when adaptive batch
+     * scanning is enabled.
+     *
+     * @return the target latency of a batch in milliseconds.
+     */
+    public long getTargetBatchLatencyInMilliseconds() {
+        return Long.parseLong(get(TARGET_BATCH_LATENCY, TARGET_BATCH_LATENCY_DEFAULT));
+    }
+
+    /**
+     * Sets the time it should take to read each batch when adaptive batch
+     * scanning is enabled.
+     *
+     * @param targetBatchLatencyInMilliseconds the target latency of a batch in milliseconds.
+     */
+    public void setTargetBatchLatencyInMilliseconds(final String targetBatchLatencyInMilliseconds) {
+        set(TARGET_BATCH_LATENCY, targetBatchLatencyInMilliseconds);
+    }
+
+    /**
+     * Gets the number of results each batch should return at most when
+     * adaptive batch scanning is enabled.
+     *
+     * @return the max number of results per batch.
+     */
+    public long getMaxResultsPerBatch() {
+        return Long.parseLong(get(MAX_RESULTS_PER_BATCH, MAX_RESULTS_PER_BATCH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of results each batch should return at most when
+     * adaptive batch scanning is enabled.
+     *
+     * @param maxResultsPerBatch the max number of results per batch.
+     */
+    public void setMaxResultsPerBatch(final String maxResultsPerBatch) {
+        set(MAX_RESULTS_PER_BATCH, maxResultsPerBatch);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -369,6 +555,26 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the total size of the bloom filters that can be cached so that
+     * repeated queries for the same set of seeds can reuse them.
+     *
+     * @return the size of the bloom filter cache in bytes, 0 if disabled.
+     */
+    public long getBloomFilterCacheSizeInBytes() {
+        return Long.parseLong(get(BLOOM_FILTER_CACHE_SIZE, BLOOM_FILTER_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the total size of the bloom filters that can be cached so that
+     * repeated queries for the same set of seeds can reuse them.
+     *
+     * @param bloomFilterCacheSizeInBytes the size of the bloom filter cache in bytes, 0 to disable it.
+     */
+    public void setBloomFilterCacheSizeInBytes(final String bloomFilterCacheSizeInBytes) {
+        set(BLOOM_FILTER_CACHE_SIZE, bloomFilterCacheSizeInBytes);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
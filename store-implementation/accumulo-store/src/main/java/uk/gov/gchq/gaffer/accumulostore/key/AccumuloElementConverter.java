@@ -95,6 +95,20 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Deserialises a single property from an Accumulo {@link Value}, without
+     * deserialising any of the other properties in the value.
+     *
+     * @param group        the element group
+     * @param propertyName the name of the property to deserialise
+     * @param value        the Value containing the serialised properties
+     * @return the property value, or null if the property is not stored in
+     * the Value.
+     */
+    default Object getPropertyFromValue(final String group, final String propertyName, final Value value) {
+        return getPropertiesFromValue(group, value).get(propertyName);
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -168,6 +182,20 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromColumnQualifier(final String group, final byte[] columnQualifier);
 
+    /**
+     * Deserialises a single group by property from a column qualifier,
+     * without deserialising any of the other properties.
+     *
+     * @param group           the element group
+     * @param propertyName    the name of the property to deserialise
+     * @param columnQualifier the column qualifier
+     * @return the property value, or null if the property is not stored in
+     * the column qualifier.
+     */
+    default Object getPropertyFromColumnQualifier(final String group, final String propertyName, final byte[] columnQualifier) {
+        return getPropertiesFromColumnQualifier(group, columnQualifier).get(propertyName);
+    }
+
     /**
      * Truncates the provided columnQualifier, returning the byte representation of the serialised version of the specified
      * properties.
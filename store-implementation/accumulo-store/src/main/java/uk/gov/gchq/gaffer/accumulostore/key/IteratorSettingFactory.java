@@ -125,6 +125,19 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getRowIDAggregatorIteratorSetting(final AccumuloStore store, final String columnFamily) throws IteratorSettingException;
 
+    /**
+     * Returns an Iterator that will aggregate properties across a range of RowID's for a given columnFamily,
+     * grouped by the groupBy properties in the view. The iterator returns partial aggregates that must be
+     * merged by the client, see {@link uk.gov.gchq.gaffer.accumulostore.key.impl.RangeGroupByAggregator}.
+     *
+     * @param view         the operation view
+     * @param store        the accumulo store
+     * @param columnFamily the columnFamily that will be summarised
+     * @return A new {@link IteratorSetting} for an Iterator that will aggregate elements at query time on the {@link uk.gov.gchq.gaffer.store.schema.Schema}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getRangeGroupByAggregatorIteratorSetting(final View view, final AccumuloStore store, final String columnFamily) throws IteratorSettingException;
+
     /**
      * Returns an Iterator to be applied when doing range operations that will do any filtering of
      * Element properties that may have otherwise been done elsewhere e.g via
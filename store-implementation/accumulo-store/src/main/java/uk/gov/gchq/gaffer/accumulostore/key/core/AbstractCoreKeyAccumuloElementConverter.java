@@ -40,6 +40,7 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
@@ -53,6 +54,14 @@ import java.util.Set;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    /**
+     * Buffers larger than this are released after use, so that a single
+     * large element does not hold on to a large array for each thread.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteArrayBuffer> BUFFER = ThreadLocal.withInitial(ByteArrayBuffer::new);
+
     protected final Schema schema;
     private final String timestampProperty;
     private final Set<String> aggregatedGroups;
@@ -120,16 +129,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
-
-        for (final String propertyName : elementDefinition.getProperties()) {
-            if (isStoredInValue(propertyName, elementDefinition)) {
-                serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, stream);
+        final ByteArrayBuffer buffer = BUFFER.get();
+        buffer.reset();
+        try {
+            for (final String propertyName : elementDefinition.getProperties()) {
+                if (isStoredInValue(propertyName, elementDefinition)) {
+                    serialiseSizeAndPropertyValue(propertyName, elementDefinition, properties, buffer);
+                }
             }
+            return new Value(buffer.toByteArray());
+        } finally {
+            buffer.trim(MAX_RETAINED_BUFFER_SIZE);
         }
-
-        return new Value(stream.toByteArray());
     }
 
     @Override
@@ -160,6 +172,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final String propertyName, final Value value) {
+        if (!isNotEmpty(value)) {
+            return null;
+        }
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        return getDeserialisedProperty(value.get(), elementDefinition, elementDefinition.getProperties(), true, propertyName);
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -258,14 +279,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
-
-        for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
-            serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, stream);
+        final ByteArrayBuffer buffer = BUFFER.get();
+        buffer.reset();
+        try {
+            for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
+                serialiseSizeAndPropertyValue(groupByPropertyName, elementDefinition, properties, buffer);
+            }
+            return buffer.toByteArray();
+        } finally {
+            buffer.trim(MAX_RETAINED_BUFFER_SIZE);
         }
-
-        return stream.toByteArray();
     }
 
     private SchemaElementDefinition getSchemaElementDefinition(final String group) {
@@ -294,6 +318,34 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
+    /**
+     * Serialises a property directly into a buffer, prefixed with its length.
+     *
+     * @param propertyName      the name of the property to serialise
+     * @param elementDefinition the schema definition of the element
+     * @param properties        the properties containing the value
+     * @param buffer            the buffer to write to
+     */
+    protected void serialiseSizeAndPropertyValue(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties, final ByteArrayBuffer buffer) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
+        final int start = buffer.reserveLength();
+        if (null != serialiser) {
+            final Object value = properties.get(propertyName);
+            try {
+                if (null == value) {
+                    //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
+                    buffer.writeBytes(serialiser.serialiseNull());
+                } else {
+                    serialiser.serialise(value, buffer);
+                }
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Failed to write serialised property to buffer " + propertyName, e);
+            }
+        }
+        buffer.writeLength(start);
+    }
+
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes) {
         final Properties properties = new Properties();
@@ -314,6 +366,46 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromColumnQualifier(final String group, final String propertyName, final byte[] bytes) {
+        if (null == bytes || bytes.length == 0) {
+            return null;
+        }
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        return getDeserialisedProperty(bytes, elementDefinition, elementDefinition.getGroupBy(), false, propertyName);
+    }
+
+    /**
+     * Skips over the serialised properties, using their lengths, until the
+     * requested property is found and then only deserialises that property.
+     */
+    private Object getDeserialisedProperty(final byte[] bytes, final SchemaElementDefinition elementDefinition, final Iterable<String> propertyNames, final boolean isValue, final String propertyName) {
+        int delimiterPosition = 0;
+        final Iterator<String> names = propertyNames.iterator();
+        while (names.hasNext() && delimiterPosition < bytes.length) {
+            final String name = names.next();
+            if (isValue && !isStoredInValue(name, elementDefinition)) {
+                continue;
+            }
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(name);
+            final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            if (null == serialiser) {
+                continue;
+            }
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+            final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+            if (name.equals(propertyName)) {
+                try {
+                    return getDeserialisedObject(serialiser, bytes, delimiterPosition + numBytesForLength, currentPropLength);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                }
+            }
+            delimiterPosition += numBytesForLength + currentPropLength;
+        }
+        return null;
+    }
+
     private int addDeserialisedProperty(final byte[] bytes, final int carriage, final Properties properties, final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
         int rtn = carriage;
         final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
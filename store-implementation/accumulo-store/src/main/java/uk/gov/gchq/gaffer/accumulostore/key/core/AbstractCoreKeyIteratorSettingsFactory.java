@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.RangeGroupByAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
@@ -142,6 +143,29 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getRangeGroupByAggregatorIteratorSetting(final View view, final AccumuloStore store, final String columnFamily) throws IteratorSettingException {
+        if (!store.getSchema().isAggregationEnabled()) {
+            LOGGER.debug("Returning null from getRangeGroupByAggregatorIteratorSetting as store.getSchema().isAggregationEnabled() = {}",
+                    store.getSchema().isAggregationEnabled());
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.RANGE_GROUP_BY_AGGREGATOR_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.RANGE_GROUP_BY_AGGREGATOR_ITERATOR_NAME, RangeGroupByAggregator.class)
+                .columnFamily(columnFamily)
+                .schema(store.getSchema())
+                .view(view)
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, "
+                        + "columnFamily = {}, schema = {}, view = {}, keyConverter = {}",
+                RangeGroupByAggregator.class.getName(),
+                AccumuloStoreConstants.RANGE_GROUP_BY_AGGREGATOR_ITERATOR_PRIORITY,
+                columnFamily, store.getSchema(), view, store.getKeyPackage().getKeyConverter());
+        return is;
+    }
+
     @Override
     public IteratorSetting getValidatorIteratorSetting(final AccumuloStore store) {
         if (!store.getSchema().hasValidation()) {
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AggregationException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.BytesAndRange;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates the properties of a single group across all the rows in a range,
+ * grouping them by the group by properties in the view (or the schema if the
+ * view does not set any).
+ * <p>
+ * Each time this iterator is seeked it reads the rest of the range and
+ * returns a single entry holding one partial aggregate per distinct set of
+ * group by values. The key of the entry is the last key read from the range,
+ * so if Accumulo re-seeks the iterator after that key no data is read twice.
+ * The value is a list of serialised key value pairs, one per partial
+ * aggregate, which should be read with {@link #deserialise(Value)} and merged
+ * by the client as a range may be split over several tablets.
+ * <p>
+ * To bound the memory used, a partial result is returned early if more than
+ * {@link #MAX_GROUPS} distinct sets of group by values are found.
+ */
+public class RangeGroupByAggregator extends WrappingIterator implements OptionDescriber {
+    public static final int MAX_GROUPS = 10000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(RangeGroupByAggregator.class);
+
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "schema is initialised in init method, which is always called first")
+    protected Schema schema;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called first")
+    protected AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "group is initialised in init method, which is always called first")
+    private String group;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "groupBy is initialised in init method, which is always called first")
+    private Set<String> groupBy;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "aggregator is initialised in init method, which is always called first")
+    private ElementAggregator aggregator;
+
+    private final Key workKey = new Key();
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RANGE_GROUP_BY_AGGREGATOR_ITERATOR_NAME,
+                "Aggregates the properties of a column family across all rows in a range, grouped by the view's group by properties")
+                .addSchemaNamedOption()
+                .addViewNamedOption()
+                .addElementConverterClassNamedOption()
+                .addNamedOption(AccumuloStoreConstants.COLUMN_FAMILY, "The column family to aggregate")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.COLUMN_FAMILY)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.COLUMN_FAMILY);
+        }
+        return true;
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        final View view;
+        try {
+            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
+            view = View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the schema or view", e);
+        }
+        LOGGER.debug("Initialising RangeGroupByAggregator with schema {} and view {}", schema, view);
+
+        final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        try {
+            elementConverter = Class
+                    .forName(elementConverterClass)
+                    .asSubclass(AccumuloElementConverter.class)
+                    .getConstructor(Schema.class)
+                    .newInstance(schema);
+            LOGGER.debug("Creating AccumuloElementConverter of class {}", elementConverterClass);
+        } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new AggregationException("Failed to create element converter of the class name provided ("
+                    + elementConverterClass + ")", e);
+        }
+
+        group = options.get(AccumuloStoreConstants.COLUMN_FAMILY);
+        final ViewElementDefinition viewElementDef = view.getElement(group);
+        groupBy = null != viewElementDef ? viewElementDef.getGroupBy() : null;
+        if (null == groupBy) {
+            groupBy = schema.getElement(group).getGroupBy();
+        }
+        aggregator = schema.getElement(group).getQueryAggregator(groupBy,
+                null != viewElementDef ? viewElementDef.getAggregator() : null);
+        LOGGER.debug("group is set to {}, groupBy is set to {}", group, groupBy);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final RangeGroupByAggregator newInstance = new RangeGroupByAggregator();
+        newInstance.setSource(getSource().deepCopy(env));
+        newInstance.schema = schema;
+        newInstance.elementConverter = elementConverter;
+        newInstance.group = group;
+        newInstance.groupBy = groupBy;
+        newInstance.aggregator = aggregator;
+        return newInstance;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        findTop();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    /**
+     * Reads from the source until it is exhausted, or too many distinct sets
+     * of group by values have been found, and sets the topKey and topValue
+     * to the partial aggregates.
+     *
+     * @throws IOException if the source could not be read
+     */
+    private void findTop() throws IOException {
+        topKey = null;
+        topValue = null;
+
+        final SortedKeyValueIterator<Key, Value> source = getSource();
+        final Map<ByteBuffer, Pair<Key, Properties>> partialAggregates = new LinkedHashMap<>();
+        while (source.hasTop() && partialAggregates.size() < MAX_GROUPS) {
+            final Key key = source.getTopKey();
+            if (!key.isDeleted() && group.equals(elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray()))) {
+                final Properties properties = getProperties(key, source.getTopValue());
+                final ByteBuffer groupByValues = getGroupByValues(key);
+                final Pair<Key, Properties> partialAggregate = partialAggregates.get(groupByValues);
+                if (null == partialAggregate) {
+                    partialAggregates.put(groupByValues, new Pair<>(new Key(key), properties));
+                } else {
+                    partialAggregate.setSecond(aggregator.apply(partialAggregate.getSecond(), properties));
+                }
+            }
+            workKey.set(key);
+            source.next();
+        }
+
+        if (partialAggregates.isEmpty()) {
+            return;
+        }
+
+        topKey = new Key(workKey);
+        topValue = serialise(partialAggregates.values());
+    }
+
+    private Properties getProperties(final Key key, final Value value) {
+        final Properties properties = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
+        properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()));
+        properties.putAll(elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp()));
+        properties.putAll(elementConverter.getPropertiesFromValue(group, value));
+        return properties;
+    }
+
+    private ByteBuffer getGroupByValues(final Key key) {
+        if (groupBy.isEmpty()) {
+            return ByteBuffer.wrap(AccumuloStoreConstants.EMPTY_BYTES);
+        }
+        final BytesAndRange groupByBytes = elementConverter.getPropertiesAsBytesFromColumnQualifier(
+                group, key.getColumnQualifierData().getBackingArray(), groupBy.size());
+        return ByteBuffer.wrap(Arrays.copyOfRange(groupByBytes.getBytes(),
+                groupByBytes.getOffSet(), groupByBytes.getOffSet() + groupByBytes.getLength()));
+    }
+
+    private Value serialise(final Collection<Pair<Key, Properties>> partialAggregates) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(partialAggregates.size());
+            for (final Pair<Key, Properties> partialAggregate : partialAggregates) {
+                final Key key = partialAggregate.getFirst();
+                final Properties properties = partialAggregate.getSecond();
+                new Key(key.getRowData().toArray(), key.getColumnFamilyData().toArray(),
+                        elementConverter.buildColumnQualifier(group, properties),
+                        elementConverter.buildColumnVisibility(group, properties),
+                        elementConverter.buildTimestamp(group, properties)).write(out);
+                elementConverter.getValueFromProperties(group, properties).write(out);
+            }
+        }
+        return new Value(bytes.toByteArray());
+    }
+
+    /**
+     * Reads the partial aggregates from a value returned by this iterator.
+     * Each partial aggregate is an ordinary Gaffer key and value, which can be
+     * converted into an element with an {@link AccumuloElementConverter}.
+     *
+     * @param value the value returned by this iterator
+     * @return the keys and values of the partial aggregates
+     * @throws IOException if the value could not be read
+     */
+    public static List<Pair<Key, Value>> deserialise(final Value value) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()))) {
+            final int size = in.readInt();
+            final List<Pair<Key, Value>> partialAggregates = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final Key key = new Key();
+                key.readFields(in);
+                final Value partialValue = new Value();
+                partialValue.readFields(in);
+                partialAggregates.add(new Pair<>(key, partialValue));
+            }
+            return partialAggregates;
+        }
+    }
+}
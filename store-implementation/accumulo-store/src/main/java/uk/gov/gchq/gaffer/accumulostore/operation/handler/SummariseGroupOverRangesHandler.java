@@ -20,6 +20,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloRangeGroupByRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloRangeIDRetriever;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -57,6 +58,17 @@ public class SummariseGroupOverRangesHandler implements OutputOperationHandler<S
 
         final IteratorSettingFactory itrFactory = store.getKeyPackage().getIteratorFactory();
         try {
+            // If the view groups the results then aggregate across the rows
+            // on each tablet by the groupBy and merge the partial aggregates.
+            // The post aggregation filters can only be applied once merged.
+            if (store.getSchema().isAggregationEnabled()
+                    && null != operation.getView().getElement(columnFamily).getGroupBy()) {
+                return new AccumuloRangeGroupByRetriever(store, operation, user, columnFamily,
+                        itrFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
+                        itrFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
+                        itrFactory.getElementPropertyRangeQueryFilter(operation),
+                        itrFactory.getRangeGroupByAggregatorIteratorSetting(operation.getView(), store, columnFamily));
+            }
             return new AccumuloRangeIDRetriever<>(store, operation, user,
                     itrFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
@@ -41,6 +41,10 @@ import java.util.Map;
  * more likely to produce multiple results and you will need to cache the results and aggregate them again to get a final answer.
  * For this reason it is recommended your provided ranges do not over-lap as you will be unable to tell for a given result which range the result is from.
  * Standard filtering will still occur before the final aggregation of the vertices.
+ * <p>
+ * If the view sets a groupBy for the group then the data is instead aggregated by the groupBy properties,
+ * and the results from each tablet and range are merged so one result is returned for each distinct
+ * set of groupBy values. Post aggregation filters are applied to the merged results.
  */
 @JsonPropertyOrder(value = {"class", "input", "view"}, alphabetic = true)
 @Since("1.0.0")
@@ -16,7 +16,6 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
-import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
@@ -40,7 +39,9 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
@@ -88,36 +89,33 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Iterates over the elements for the ids, querying for the ids in batches.
+     * If adaptive batch scanning is enabled, several batches are queried for
+     * at once and the batch size is tuned as batches complete.
+     */
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Entry<Key, Value>> scannerIterator;
+        private final AdaptiveBatchSizer batchSizer;
+        private final int maxScannersInFlight;
+        private final Deque<ScanBatch> batches = new ArrayDeque<>();
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            batchSizer = createBatchSizer();
+            maxScannersInFlight = getMaxBatchScannersInFlight();
 
-            // Create BatchScanner, appropriately configured (i.e. ranges,
+            // Create BatchScanners, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                startBatches();
             } catch (final Exception e) {
+                closeBatches();
                 CloseableUtil.close(idsIterator);
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -126,56 +124,42 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(
-                            entry.getKey(),
-                            entry.getValue(),
-                            includeMatchedVertex);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    ViewUtil.removeProperties(operation.getView(), nextElm);
-                    return true;
-                } else {
-                    nextElm = null;
-                }
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
+            while (!batches.isEmpty()) {
+                final ScanBatch batch = batches.peek();
+                while (batch.hasNext()) {
+                    final Entry<Key, Value> entry = batch.next();
                     try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
+                        nextElm = elementConverter.getFullElement(
+                                entry.getKey(),
+                                entry.getValue(),
+                                includeMatchedVertex);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                                e);
+                        continue;
+                    }
+                    doTransformation(nextElm);
+                    if (doPostFilter(nextElm)) {
+                        ViewUtil.removeProperties(operation.getView(), nextElm);
+                        return true;
+                    } else {
+                        nextElm = null;
                     }
                 }
-                scanner.close();
+                // If current scanner is spent then go back to the iterator
+                // through the provided entities, and see if there are more.
+                // If so create the next scanner, if there are no more entities
+                // then return false.
+                batches.poll().close(batchSizer);
                 try {
-                    scanner = getScanner(ranges);
+                    startBatches();
                 } catch (final TableNotFoundException | StoreException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                    closeBatches();
                     return false;
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
             }
+            return false;
         }
 
         @Override
@@ -197,8 +181,29 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
+            closeBatches();
+        }
+
+        private void startBatches() throws TableNotFoundException, StoreException {
+            while (batches.size() < maxScannersInFlight && idsIterator.hasNext()) {
+                final int batchSize = batchSizer.getBatchSize();
+                int count = 0;
+                final Set<Range> ranges = new HashSet<>();
+                while (idsIterator.hasNext() && count < batchSize) {
+                    count++;
+                    try {
+                        addToRanges(idsIterator.next(), ranges);
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+                batches.add(new ScanBatch(getScanner(ranges), count));
+            }
+        }
+
+        private void closeBatches() {
+            while (!batches.isEmpty()) {
+                batches.poll().close();
             }
         }
     }
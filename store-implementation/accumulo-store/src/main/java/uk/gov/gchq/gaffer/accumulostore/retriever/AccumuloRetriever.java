@@ -19,12 +19,15 @@ package uk.gov.gchq.gaffer.accumulostore.retriever;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
@@ -40,6 +43,8 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
@@ -143,6 +148,32 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    /**
+     * Creates the {@link AdaptiveBatchSizer} used to decide how many seeds to
+     * query for in each batch. Unless adaptive batch scanning is enabled this
+     * always uses the max entries for the batch scanner.
+     *
+     * @return the batch sizer
+     */
+    protected AdaptiveBatchSizer createBatchSizer() {
+        final AccumuloProperties properties = store.getProperties();
+        final int maxBatchSize = properties.getMaxEntriesForBatchScanner();
+        if (!properties.getAdaptiveBatchScanning()) {
+            return new AdaptiveBatchSizer(maxBatchSize);
+        }
+        return new AdaptiveBatchSizer(
+                Math.min(properties.getMinEntriesForBatchScanner(), maxBatchSize), maxBatchSize,
+                properties.getTargetBatchLatencyInMilliseconds(), properties.getMaxResultsPerBatch());
+    }
+
+    /**
+     * @return the number of batch scanners that can be open at once
+     */
+    protected int getMaxBatchScannersInFlight() {
+        final AccumuloProperties properties = store.getProperties();
+        return properties.getAdaptiveBatchScanning() ? Math.max(1, properties.getMaxBatchScannersInFlight()) : 1;
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
@@ -152,4 +183,52 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected boolean postFilter(final Element element, final ElementFilter postFilter) {
         return null == postFilter || postFilter.test(element);
     }
+
+    /**
+     * A {@link BatchScanner} for a batch of seeds. The scanner starts fetching
+     * results as soon as the batch is created, so creating batches ahead of
+     * the one being read prefetches them. The latency of the batch is timed
+     * from when it is first read.
+     */
+    protected static final class ScanBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> iterator;
+        private final int numSeeds;
+        private long startTime;
+        private long numResults;
+
+        public ScanBatch(final BatchScanner scanner, final int numSeeds) {
+            this.scanner = scanner;
+            this.iterator = scanner.iterator();
+            this.numSeeds = numSeeds;
+        }
+
+        public boolean hasNext() {
+            if (0 == startTime) {
+                startTime = System.currentTimeMillis();
+            }
+            return iterator.hasNext();
+        }
+
+        public Entry<Key, Value> next() {
+            numResults++;
+            return iterator.next();
+        }
+
+        /**
+         * Closes the scanner and records the batch with the batch sizer.
+         *
+         * @param batchSizer the batch sizer to record the batch with
+         */
+        public void close(final AdaptiveBatchSizer batchSizer) {
+            close();
+            if (0 != startTime) {
+                batchSizer.record(numSeeds, System.currentTimeMillis() - startTime, numResults);
+            }
+        }
+
+        public void close() {
+            scanner.close();
+        }
+    }
 }
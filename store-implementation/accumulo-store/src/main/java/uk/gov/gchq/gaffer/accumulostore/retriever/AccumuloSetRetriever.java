@@ -26,6 +26,7 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
@@ -120,6 +121,16 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
     protected abstract AbstractElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException;
 
+    /**
+     * Gets the number of items that will be added to the Bloom filters when
+     * querying in batches, which is used to size them.
+     *
+     * @return the number of items, or -1 if it is not known
+     */
+    protected int getNumberOfBloomFilterItems() {
+        return -1;
+    }
+
     protected Set<Object> extractVertices(final Iterator<? extends EntityId> seeds) {
         final Set<Object> vertices = new HashSet<>();
         while (seeds.hasNext()) {
@@ -275,14 +286,45 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
+        // The seeds are read and added to the filters as each batch is queried
+        // for, so only the batch size adapts and one scanner is open at a time.
+        private final AdaptiveBatchSizer batchSizer;
+        private long batchStartTime;
+        private long batchResults;
 
         public AbstractElementIteratorFromBatches() {
+            this(null, null);
+        }
+
+        /**
+         * Creates an iterator using existing Bloom filters, e.g. ones that
+         * have been cached. If either filter is null an empty one is created,
+         * sized from the number of items that will be added to it if known.
+         *
+         * @param filter           the Bloom filter to be passed to iterators
+         * @param clientSideFilter the Bloom filter that is maintained client-side
+         */
+        protected AbstractElementIteratorFromBatches(final BloomFilter filter, final BloomFilter clientSideFilter) {
+            batchSizer = createBatchSizer();
+            final AccumuloProperties properties = store.getProperties();
+            final int numFilterItems = getNumberOfBloomFilterItems();
             // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+            if (null != clientSideFilter) {
+                this.clientSideFilter = clientSideFilter;
+            } else if (numFilterItems > 0) {
+                this.clientSideFilter = BloomFilterUtils.getBloomFilter(properties.getFalsePositiveRate(),
+                        numFilterItems, properties.getClientSideBloomFilterSize());
+            } else {
+                this.clientSideFilter = BloomFilterUtils.getBloomFilter(properties.getClientSideBloomFilterSize());
+            }
             // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            if (null != filter) {
+                this.filter = filter;
+            } else {
+                this.filter = BloomFilterUtils.getBloomFilter(properties.getFalsePositiveRate(),
+                        numFilterItems > 0 ? numFilterItems : properties.getMaxEntriesForBatchScanner(),
+                        properties.getMaxBloomFilterToPassToAnIterator());
+            }
             currentSeeds = new HashSet<>();
         }
 
@@ -294,6 +336,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             try {
                 while (_hasNext()) {
                     final Entry<Key, Value> entry = scannerIterator.next();
+                    batchResults++;
                     try {
                         nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
                     } catch (final AccumuloElementConversionException e) {
@@ -343,12 +386,18 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
 
         protected void updateScanner() throws RetrieverException {
-            // Read through the first N entities (where N =
-            // maxEntriesForBatchScanner), create the associated ranges
-            // and add them to a set.
+            if (count > 0) {
+                batchSizer.record(count, System.currentTimeMillis() - batchStartTime, batchResults);
+            }
+            // Read through the first N entities (where N is the batch size,
+            // which is maxEntriesForBatchScanner unless adaptive batch scanning
+            // is enabled), create the associated ranges and add them to a set.
             count = 0;
+            batchResults = 0;
+            batchStartTime = System.currentTimeMillis();
+            final int batchSize = batchSizer.getBatchSize();
             final Set<Range> ranges = new HashSet<>();
-            while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idsAIterator.hasNext() && count < batchSize) {
                 final EntityId seed = idsAIterator.next();
                 currentSeeds.add(seed.getVertex());
                 count++;
@@ -368,13 +417,27 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                final IteratorSetting bloomFilterSetting = getBloomFilterIteratorSetting();
+                if (null != bloomFilterSetting) {
+                    scanner.addScanIterator(bloomFilterSetting);
+                }
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
             scannerIterator = scanner.iterator();
         }
 
+        /**
+         * Gets the setting for the iterator that filters results with the
+         * Bloom filter, which is created for each batch.
+         *
+         * @return the Bloom filter iterator setting, or null if there is none
+         * @throws IteratorSettingException if the Bloom filter cannot be serialised
+         */
+        protected IteratorSetting getBloomFilterIteratorSetting() throws IteratorSettingException {
+            return iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+        }
+
         /**
          * Check whether this is valid, i.e. one end is in the current set of
          * seeds that are being queried for and the other matches the Bloom
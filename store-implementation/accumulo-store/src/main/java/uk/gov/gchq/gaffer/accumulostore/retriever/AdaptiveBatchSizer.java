@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+/**
+ * Chooses how many seeds to query for in each batch, based on the latency and
+ * number of results of the previous batches.
+ * <p>
+ * The batch size is chosen so that a batch should take roughly the target
+ * latency to read and return no more than the max number of results. It can
+ * at most double or halve after each batch, so a single unusual batch does
+ * not move it too far. If the min and max batch sizes are equal the batch
+ * size is fixed.
+ */
+public class AdaptiveBatchSizer {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatencyMillis;
+    private final long maxResultsPerBatch;
+    private int batchSize;
+
+    public AdaptiveBatchSizer(final int batchSize) {
+        this(batchSize, batchSize, 0, 0);
+    }
+
+    public AdaptiveBatchSizer(final int minBatchSize, final int maxBatchSize,
+                              final long targetLatencyMillis, final long maxResultsPerBatch) {
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Batch sizes must be at least 1 and the max must not be less than the min, got min: "
+                    + minBatchSize + ", max: " + maxBatchSize);
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.maxResultsPerBatch = maxResultsPerBatch;
+        this.batchSize = minBatchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records a completed batch and updates the batch size.
+     *
+     * @param numSeeds      the number of seeds queried for in the batch
+     * @param latencyMillis the time taken to read the batch
+     * @param numResults    the number of results returned by the batch
+     */
+    public void record(final int numSeeds, final long latencyMillis, final long numResults) {
+        if (numSeeds < 1 || minBatchSize == maxBatchSize) {
+            return;
+        }
+
+        double desired = maxBatchSize;
+        if (latencyMillis > 0 && targetLatencyMillis > 0) {
+            desired = Math.min(desired, (double) numSeeds * targetLatencyMillis / latencyMillis);
+        }
+        if (numResults > 0 && maxResultsPerBatch > 0) {
+            desired = Math.min(desired, (double) numSeeds * maxResultsPerBatch / numResults);
+        }
+
+        final double damped = Math.max(batchSize / 2.0, Math.min(batchSize * 2.0, desired));
+        batchSize = (int) Math.max(minBatchSize, Math.min(maxBatchSize, damped));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("minBatchSize", minBatchSize)
+                .append("maxBatchSize", maxBatchSize)
+                .append("targetLatencyMillis", targetLatencyMillis)
+                .append("maxResultsPerBatch", maxResultsPerBatch)
+                .append("batchSize", batchSize)
+                .toString();
+    }
+}
@@ -19,12 +19,17 @@ package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
+import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterCache;
+import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterCache.CachedBloomFilters;
 import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -34,6 +39,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -70,6 +76,8 @@ import java.util.Set;
  * further reduce the chances of false positives making it to the user.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElementsBetweenSets> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloIDBetweenSetsRetriever.class);
+
     private Iterable<? extends EntityId> seedSetA;
     private Iterable<? extends EntityId> seedSetB;
     private Iterator<? extends EntityId> seedSetAIter;
@@ -110,6 +118,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
         return hasSeeds;
     }
 
+    @Override
+    protected int getNumberOfBloomFilterItems() {
+        return seedSetB instanceof Collection ? ((Collection<?>) seedSetB).size() : -1;
+    }
+
     @Override
     protected ElementIteratorReadIntoMemory createElementIteratorReadIntoMemory() throws RetrieverException {
         return new ElementIteratorReadIntoMemory();
@@ -117,7 +130,38 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
 
     @Override
     protected ElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException {
-        return new ElementIteratorFromBatches();
+        final String cacheKey = getBloomFilterCacheKey();
+        final CachedBloomFilters cached = null != cacheKey ? store.getBloomFilterCache().get(cacheKey) : null;
+        return new ElementIteratorFromBatches(cacheKey, cached);
+    }
+
+    /**
+     * The Bloom filters for set B do not change as set A is queried for, so
+     * they can be cached and reused by queries for the same set B. This is
+     * only possible if set B is a {@link Collection}, as it has to be read
+     * once to build the cache key and again to build the filters.
+     *
+     * @return the key of the cached filters, or null if they cannot be cached
+     * @throws RetrieverException if a seed cannot be serialised
+     */
+    private String getBloomFilterCacheKey() throws RetrieverException {
+        if (!(seedSetB instanceof Collection)
+                || null == store.getBloomFilterCache()
+                || store.getProperties().getBloomFilterCacheSizeInBytes() < 1) {
+            return null;
+        }
+        final BloomFilterCache.KeyBuilder keyBuilder = new BloomFilterCache.KeyBuilder()
+                .setting(store.getProperties().getFalsePositiveRate())
+                .setting(store.getProperties().getMaxBloomFilterToPassToAnIterator())
+                .setting(store.getProperties().getClientSideBloomFilterSize());
+        for (final EntityId seed : seedSetB) {
+            try {
+                keyBuilder.seed(elementConverter.serialiseVertex(seed.getVertex()));
+            } catch (final AccumuloElementConversionException e) {
+                throw new RetrieverException("Failed to serialise seed " + seed, e);
+            }
+        }
+        return keyBuilder.build();
     }
 
     private class ElementIteratorReadIntoMemory extends AbstractElementIteratorReadIntoMemory {
@@ -149,9 +193,26 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
     }
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
-        ElementIteratorFromBatches() throws RetrieverException {
+        private IteratorSetting bloomFilterSetting;
+
+        ElementIteratorFromBatches(final String cacheKey, final CachedBloomFilters cached) throws RetrieverException {
+            super(null != cached ? cached.getFilter() : null, null != cached ? cached.getClientSideFilter() : null);
             try {
-                addToBloomFilter(seedSetBIter, filter, clientSideFilter);
+                if (null != cached) {
+                    CloseableUtil.close(seedSetBIter);
+                    bloomFilterSetting = cached.getIteratorSetting();
+                } else {
+                    addToBloomFilter(seedSetBIter, filter, clientSideFilter);
+                    // Set B is fixed, so the filter only needs serialising once rather than for each batch
+                    try {
+                        bloomFilterSetting = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                    } catch (final IteratorSettingException e) {
+                        LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+                    }
+                    if (null != cacheKey && null != bloomFilterSetting) {
+                        store.getBloomFilterCache().put(cacheKey, new CachedBloomFilters(filter, clientSideFilter, bloomFilterSetting));
+                    }
+                }
                 idsAIterator = seedSetAIter;
                 updateScanner();
             } catch (final Exception e) {
@@ -167,6 +228,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             // no action required.
         }
 
+        @Override
+        protected IteratorSetting getBloomFilterIteratorSetting() {
+            return bloomFilterSetting;
+        }
+
         @Override
         protected boolean secondaryCheck(final Element elm) {
             if (Entity.class.isInstance(elm)) {
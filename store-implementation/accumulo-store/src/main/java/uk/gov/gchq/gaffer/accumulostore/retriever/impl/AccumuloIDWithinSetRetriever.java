@@ -34,6 +34,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -104,6 +105,11 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
         return hasNext;
     }
 
+    @Override
+    protected int getNumberOfBloomFilterItems() {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
     @Override
     protected ElementIteratorReadIntoMemory createElementIteratorReadIntoMemory() throws RetrieverException {
         return new ElementIteratorReadIntoMemory();
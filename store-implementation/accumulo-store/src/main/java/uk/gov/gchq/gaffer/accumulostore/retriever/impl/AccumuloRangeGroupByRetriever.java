@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.RangeGroupByAggregator;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.EmptyCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * Retrieves the summary of a group over ranges, grouped by the groupBy
+ * properties in the view. The aggregation is done by a
+ * {@link RangeGroupByAggregator} on each tablet and the partial aggregates
+ * returned by the tablets are merged here, so one element is returned for
+ * each distinct set of groupBy values across all of the ranges.
+ * <p>
+ * The post aggregation filters in the view are applied after the partial
+ * aggregates are merged, so they should not be passed to the tablet servers.
+ */
+public class AccumuloRangeGroupByRetriever extends AccumuloRetriever<SummariseGroupOverRanges, Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRangeGroupByRetriever.class);
+
+    private final String group;
+
+    public AccumuloRangeGroupByRetriever(final AccumuloStore store, final SummariseGroupOverRanges operation,
+                                         final User user, final String group,
+                                         final IteratorSetting... iteratorSettings) throws StoreException {
+        super(store, operation, user, iteratorSettings);
+        this.group = group;
+    }
+
+    /**
+     * Only 1 iterator can be open at a time. The ranges are queried for and
+     * the results merged before the iterator is returned.
+     *
+     * @return a closeable iterator of the summarised elements.
+     */
+    @Override
+    public CloseableIterator<Element> iterator() {
+        CloseableUtil.close(iterator);
+
+        final Map<Properties, Element> summaries;
+        try {
+            summaries = getSummaries();
+        } catch (final TableNotFoundException | StoreException | IOException e) {
+            LOGGER.error("{} returning empty iterator", e.getMessage(), e);
+            return new EmptyCloseableIterator<>();
+        }
+
+        final ViewElementDefinition viewDef = operation.getView().getElement(group);
+        final List<Element> results = new ArrayList<>(summaries.size());
+        for (final Element element : summaries.values()) {
+            if (!postFilter(element, viewDef.getPostAggregationFilter())) {
+                continue;
+            }
+            doTransformation(element);
+            if (doPostFilter(element)) {
+                ViewUtil.removeProperties(operation.getView(), element);
+                results.add(element);
+            }
+        }
+
+        iterator = new WrappedCloseableIterator<>(results.iterator());
+        return iterator;
+    }
+
+    private Map<Properties, Element> getSummaries() throws TableNotFoundException, StoreException, IOException {
+        final ViewElementDefinition viewDef = operation.getView().getElement(group);
+        Set<String> groupBy = viewDef.getGroupBy();
+        if (null == groupBy) {
+            groupBy = store.getSchema().getElement(group).getGroupBy();
+        }
+        final ElementAggregator aggregator = store.getSchema().getElement(group)
+                .getQueryAggregator(groupBy, viewDef.getAggregator());
+
+        final Map<Properties, Element> summaries = new LinkedHashMap<>();
+        final Iterator<? extends Pair<? extends ElementId, ? extends ElementId>> pairs = operation.getInput().iterator();
+        try {
+            final int batchSize = store.getProperties().getMaxEntriesForBatchScanner();
+            while (pairs.hasNext()) {
+                final Set<Range> ranges = new HashSet<>();
+                while (pairs.hasNext() && ranges.size() < batchSize) {
+                    try {
+                        ranges.add(rangeFactory.getRangeFromPair((Pair<ElementId, ElementId>) pairs.next(), operation));
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed pair", e);
+                    }
+                }
+                if (!ranges.isEmpty()) {
+                    mergeSummaries(ranges, groupBy, aggregator, summaries);
+                }
+            }
+        } finally {
+            CloseableUtil.close(pairs);
+        }
+        return summaries;
+    }
+
+    private void mergeSummaries(final Set<Range> ranges, final Set<String> groupBy, final ElementAggregator aggregator,
+                                final Map<Properties, Element> summaries) throws TableNotFoundException, StoreException, IOException {
+        final BatchScanner scanner = getScanner(ranges);
+        try {
+            for (final Entry<Key, Value> entry : scanner) {
+                for (final Pair<Key, Value> partialAggregate : RangeGroupByAggregator.deserialise(entry.getValue())) {
+                    final Element element;
+                    try {
+                        element = elementConverter.getFullElement(partialAggregate.getFirst(), partialAggregate.getSecond(), false);
+                    } catch (final AccumuloElementConversionException e) {
+                        LOGGER.error("Failed to re-create an element from a partial aggregate, skipping it", e);
+                        continue;
+                    }
+                    final Properties groupByValues = new Properties();
+                    for (final String property : groupBy) {
+                        groupByValues.put(property, element.getProperty(property));
+                    }
+                    summaries.merge(groupByValues, element, aggregator::apply);
+                }
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+}
@@ -27,6 +27,7 @@ public final class AccumuloStoreConstants {
     public static final String EDGE_ENTITY_DIRECTED_UNDIRECTED_INCOMING_OUTGOING_FILTER_ITERATOR_NAME = "Edge_Entity_Directed_Undirected_Incoming_Outgoing_Filter";
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
+    public static final String RANGE_GROUP_BY_AGGREGATOR_ITERATOR_NAME = "Range_Group_By_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
 
     // Converter class to be used in iterators must be on classpath of all
@@ -74,6 +75,8 @@ public final class AccumuloStoreConstants {
     public static final int ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_PRIORITY = 34;
     // Applied only during scans.
     public static final int ROW_ID_AGGREGATOR_ITERATOR_PRIORITY = 35;
+    // Applied only during scans, in place of the row ID aggregator.
+    public static final int RANGE_GROUP_BY_AGGREGATOR_ITERATOR_PRIORITY = 35;
     // Applied only during scans.
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
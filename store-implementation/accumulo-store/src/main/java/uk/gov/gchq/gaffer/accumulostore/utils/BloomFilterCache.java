@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.hadoop.util.bloom.BloomFilter;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used cache of the {@link BloomFilter}s built for
+ * a set of seeds, so that repeated queries for the same seeds do not have to
+ * build and serialise them again.
+ * <p>
+ * Entries are keyed by a hash of the content of the seed set, built with a
+ * {@link KeyBuilder}. The cached filters must not be modified.
+ */
+public class BloomFilterCache {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final long maxSizeInBytes;
+    private final LinkedHashMap<String, CachedBloomFilters> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    public BloomFilterCache(final long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    public synchronized CachedBloomFilters get(final String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Adds filters to the cache, evicting the least recently used filters if
+     * the cache is full. Filters larger than the whole cache are not added.
+     *
+     * @param key     the key built from the seeds in the filters
+     * @param filters the filters to cache
+     */
+    public synchronized void put(final String key, final CachedBloomFilters filters) {
+        if (filters.getSizeInBytes() > maxSizeInBytes) {
+            return;
+        }
+        final CachedBloomFilters previous = cache.put(key, filters);
+        if (null != previous) {
+            sizeInBytes -= previous.getSizeInBytes();
+        }
+        sizeInBytes += filters.getSizeInBytes();
+
+        final Iterator<Map.Entry<String, CachedBloomFilters>> itr = cache.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && itr.hasNext()) {
+            sizeInBytes -= itr.next().getValue().getSizeInBytes();
+            itr.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        sizeInBytes = 0;
+    }
+
+    /**
+     * Builds a cache key from the serialised seeds in a set and the settings
+     * used to build the filters. The key does not depend on the order of the
+     * seeds.
+     */
+    public static class KeyBuilder {
+        private final StringBuilder settings = new StringBuilder();
+        private long count;
+        private long sum1;
+        private long sum2;
+        private long xor;
+
+        public KeyBuilder seed(final byte[] serialisedSeed) {
+            final ByteBuffer hash = ByteBuffer.wrap(HASH_FUNCTION.hashBytes(serialisedSeed).asBytes());
+            final long hash1 = hash.getLong();
+            final long hash2 = hash.getLong();
+            count++;
+            sum1 += hash1;
+            sum2 += hash2;
+            xor ^= hash1;
+            return this;
+        }
+
+        public KeyBuilder setting(final Object setting) {
+            settings.append(':').append(setting);
+            return this;
+        }
+
+        public String build() {
+            return String.format("%d:%016x%016x%016x", count, sum1, sum2, xor) + settings;
+        }
+    }
+
+    /**
+     * The filters built for a set of seeds: the filter passed to the
+     * iterators, its serialised {@link IteratorSetting} and the larger
+     * client side filter.
+     */
+    public static class CachedBloomFilters {
+        private final BloomFilter filter;
+        private final BloomFilter clientSideFilter;
+        private final IteratorSetting iteratorSetting;
+        private final long sizeInBytes;
+
+        public CachedBloomFilters(final BloomFilter filter, final BloomFilter clientSideFilter,
+                                  final IteratorSetting iteratorSetting) {
+            this.filter = filter;
+            this.clientSideFilter = clientSideFilter;
+            this.iteratorSetting = iteratorSetting;
+            long size = ((long) filter.getVectorSize() + clientSideFilter.getVectorSize()) / 8;
+            for (final Map.Entry<String, String> option : iteratorSetting.getOptions().entrySet()) {
+                size += 2L * (option.getKey().length() + option.getValue().length());
+            }
+            this.sizeInBytes = size;
+        }
+
+        public BloomFilter getFilter() {
+            return filter;
+        }
+
+        public BloomFilter getClientSideFilter() {
+            return clientSideFilter;
+        }
+
+        /**
+         * @return a copy of the iterator setting, which can be modified
+         */
+        public IteratorSetting getIteratorSetting() {
+            return new IteratorSetting(iteratorSetting.getPriority(), iteratorSetting.getName(),
+                    iteratorSetting.getIteratorClass(), iteratorSetting.getOptions());
+        }
+
+        public long getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes {@link Element}s to an Accumulo {@link BatchWriter}, converting them
+ * into {@link Mutation}s on a pool of threads.
+ * <p>
+ * Elements are read on the calling thread and grouped into batches. The
+ * batches are converted in parallel and handed to a single writer thread via
+ * a bounded queue. At most {@code queueSize} batches can be converting or
+ * waiting to be written at once, so reading the elements blocks whenever the
+ * batch writer falls behind. Batches are written in the order they finish
+ * converting, so the order of the elements is not preserved.
+ */
+public class PipelinedElementWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedElementWriter.class);
+    private static final List<Mutation> END_OF_INPUT = Collections.emptyList();
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final AccumuloElementConverter converter;
+    private final BatchWriter writer;
+    private final int numThreads;
+    private final int batchSize;
+    private final int queueSize;
+
+    private final AtomicLong elementCount = new AtomicLong();
+    private final AtomicLong mutationCount = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private volatile BlockingQueue<List<Mutation>> queue;
+    private volatile long durationMillis;
+
+    public PipelinedElementWriter(final AccumuloElementConverter converter, final BatchWriter writer,
+                                  final int numThreads, final int batchSize, final int queueSize) {
+        if (numThreads < 1 || batchSize < 1 || queueSize < 1) {
+            throw new IllegalArgumentException("The number of threads, batch size and queue size must all be at least 1");
+        }
+        this.converter = converter;
+        this.writer = writer;
+        this.numThreads = numThreads;
+        this.batchSize = batchSize;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Converts the elements into mutations and adds them to the batch writer.
+     * The batch writer is not closed.
+     *
+     * @param elements the elements to write
+     * @throws StoreException if the elements could not be converted or written
+     */
+    public void write(final Iterable<? extends Element> elements) throws StoreException {
+        final ExecutorService converters = Executors.newFixedThreadPool(numThreads, threadFactory("converter"));
+        final ExecutorService writerService = Executors.newSingleThreadExecutor(threadFactory("writer"));
+        // The permits bound the number of batches in flight, so the queue has room for them all plus the end marker
+        final Semaphore inFlight = new Semaphore(queueSize);
+        final BlockingQueue<List<Mutation>> mutations = new ArrayBlockingQueue<>(queueSize + 1);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final long startTime = System.currentTimeMillis();
+        queue = mutations;
+        try {
+            final Future<?> writerTask = writerService.submit(() -> writeMutations(mutations, inFlight, failure));
+
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submit(batch, converters, mutations, inFlight, failure);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, converters, mutations, inFlight, failure);
+            }
+
+            converters.shutdown();
+            while (!converters.awaitTermination(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkForFailure(failure);
+            }
+            mutations.put(END_OF_INPUT);
+            writerTask.get();
+            checkForFailure(failure);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to write elements", e.getCause());
+        } finally {
+            converters.shutdownNow();
+            writerService.shutdownNow();
+            queue = null;
+            durationMillis += System.currentTimeMillis() - startTime;
+            LOGGER.info("Added {} elements as {} mutations in {} ms ({} elements/sec, max queue depth {})",
+                    elementCount.get(), mutationCount.get(), durationMillis, getElementsPerSecond(), maxQueueDepth.get());
+        }
+    }
+
+    /**
+     * Converts an element into its {@link Mutation}s. If the element cannot be
+     * converted the failure is logged and no mutations are added.
+     *
+     * @param converter the converter to use
+     * @param element   the element to convert
+     * @param mutations the collection to add the mutations to
+     * @return true if the element was converted
+     */
+    public static boolean addMutations(final AccumuloElementConverter converter, final Element element, final Collection<Mutation> mutations) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return false;
+        }
+        final Value value;
+        try {
+            value = converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return false;
+        }
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the element is an Entity then there will only be 1 key,
+        // and the second will be null.
+        // If the element is an Edge then there will be 2 keys.
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+        return true;
+    }
+
+    public long getElementCount() {
+        return elementCount.get();
+    }
+
+    public long getMutationCount() {
+        return mutationCount.get();
+    }
+
+    /**
+     * @return the number of converted batches currently waiting to be written
+     */
+    public int getQueueDepth() {
+        final BlockingQueue<List<Mutation>> current = queue;
+        return null != current ? current.size() : 0;
+    }
+
+    /**
+     * @return the largest number of converted batches that have been waiting
+     * to be written at once
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getElementsPerSecond() {
+        return durationMillis > 0 ? elementCount.get() * 1000 / durationMillis : elementCount.get();
+    }
+
+    private void submit(final List<Element> batch, final ExecutorService converters,
+                        final BlockingQueue<List<Mutation>> mutations, final Semaphore inFlight,
+                        final AtomicReference<RuntimeException> failure) throws InterruptedException, StoreException {
+        while (!inFlight.tryAcquire(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkForFailure(failure);
+        }
+        checkForFailure(failure);
+        converters.execute(() -> {
+            try {
+                final List<Mutation> converted = new ArrayList<>(batch.size() * 2);
+                for (final Element element : batch) {
+                    if (addMutations(converter, element, converted)) {
+                        elementCount.incrementAndGet();
+                    }
+                }
+                mutations.put(converted);
+                maxQueueDepth.accumulateAndGet(mutations.size(), Math::max);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                inFlight.release();
+            } catch (final RuntimeException e) {
+                failure.compareAndSet(null, e);
+                inFlight.release();
+            }
+        });
+    }
+
+    private void writeMutations(final BlockingQueue<List<Mutation>> mutations, final Semaphore inFlight,
+                                final AtomicReference<RuntimeException> failure) {
+        try {
+            List<Mutation> batch = mutations.take();
+            while (END_OF_INPUT != batch) {
+                try {
+                    writer.addMutations(batch);
+                    mutationCount.addAndGet(batch.size());
+                } catch (final MutationsRejectedException e) {
+                    LOGGER.error("Failed to create an accumulo key mutation", e);
+                } finally {
+                    inFlight.release();
+                }
+                batch = mutations.take();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static void checkForFailure(final AtomicReference<RuntimeException> failure) throws StoreException {
+        final RuntimeException e = failure.get();
+        if (null != e) {
+            throw new StoreException("Failed to add elements: " + e.getMessage(), e);
+        }
+    }
+
+    private static Mutation createMutation(final Key key, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return m;
+    }
+
+    private static ThreadFactory threadFactory(final String role) {
+        return new ThreadFactoryBuilder()
+                .setNameFormat("accumulo-ingest-" + role + "-%d")
+                .setDaemon(true)
+                .build();
+    }
+}
@@ -70,6 +70,14 @@ public class AccumuloPropertiesTest {
         final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
         final String REPLICATION_FACTOR = "accumulo.file.replication";
         final String NAMESPACE = "gaffer.namespace";
+        final String NUM_THREADS_CONVERSION = "4";
+        final String INGEST_BATCH_SIZE = "500";
+        final String INGEST_QUEUE_SIZE = "20";
+        final String MIN_ENTRIES_SCANNER = "100";
+        final String SCANNERS_IN_FLIGHT = "3";
+        final String TARGET_BATCH_LATENCY = "250";
+        final String MAX_RESULTS_PER_BATCH = "5000";
+        final String BLOOM_FILTER_CACHE_SIZE = "1048576";
 
         // When
         props.setNumThreadsForBatchWriter(NUM_THREADS_WRITER);
@@ -85,6 +93,15 @@ public class AccumuloPropertiesTest {
         props.setTableFileReplicationFactor(REPLICATION_FACTOR);
         props.setEnableValidatorIterator(true);
         props.setNamespace(NAMESPACE);
+        props.setNumThreadsForIngestConversion(NUM_THREADS_CONVERSION);
+        props.setIngestBatchSize(INGEST_BATCH_SIZE);
+        props.setIngestQueueSize(INGEST_QUEUE_SIZE);
+        props.setAdaptiveBatchScanning(true);
+        props.setMinEntriesForBatchScanner(MIN_ENTRIES_SCANNER);
+        props.setMaxBatchScannersInFlight(SCANNERS_IN_FLIGHT);
+        props.setTargetBatchLatencyInMilliseconds(TARGET_BATCH_LATENCY);
+        props.setMaxResultsPerBatch(MAX_RESULTS_PER_BATCH);
+        props.setBloomFilterCacheSizeInBytes(BLOOM_FILTER_CACHE_SIZE);
 
         // Then
         assertEquals(Integer.parseInt(NUM_THREADS_WRITER), props.getNumThreadsForBatchWriter());
@@ -100,6 +117,15 @@ public class AccumuloPropertiesTest {
         assertEquals(REPLICATION_FACTOR, props.getTableFileReplicationFactor());
         assertTrue(props.getEnableValidatorIterator());
         assertEquals(NAMESPACE, props.getNamespace());
+        assertEquals(Integer.parseInt(NUM_THREADS_CONVERSION), props.getNumThreadsForIngestConversion());
+        assertEquals(Integer.parseInt(INGEST_BATCH_SIZE), props.getIngestBatchSize());
+        assertEquals(Integer.parseInt(INGEST_QUEUE_SIZE), props.getIngestQueueSize());
+        assertTrue(props.getAdaptiveBatchScanning());
+        assertEquals(Integer.parseInt(MIN_ENTRIES_SCANNER), props.getMinEntriesForBatchScanner());
+        assertEquals(Integer.parseInt(SCANNERS_IN_FLIGHT), props.getMaxBatchScannersInFlight());
+        assertEquals(Long.parseLong(TARGET_BATCH_LATENCY), props.getTargetBatchLatencyInMilliseconds());
+        assertEquals(Long.parseLong(MAX_RESULTS_PER_BATCH), props.getMaxResultsPerBatch());
+        assertEquals(Long.parseLong(BLOOM_FILTER_CACHE_SIZE), props.getBloomFilterCacheSizeInBytes());
 
     }
 
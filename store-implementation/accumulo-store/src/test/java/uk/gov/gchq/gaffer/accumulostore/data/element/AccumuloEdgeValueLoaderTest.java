@@ -69,7 +69,7 @@ public class AccumuloEdgeValueLoaderTest {
     }
 
     @Test
-    public void shouldLoadAllColumnQualifierPropertiesWhenGetGroupByProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedColumnQualifierPropertyWhenGetGroupByProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.EDGE;
         final Key key = mock(Key.class);
@@ -78,20 +78,18 @@ public class AccumuloEdgeValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEdgeValueLoader loader = new AccumuloEdgeValueLoader(group, key, value, converter, schema, false);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
         final ByteSequence cqData = mock(ByteSequence.class);
         given(key.getColumnQualifierData()).willReturn(cqData);
         final byte[] cqBytes = {0, 1, 2, 3, 4};
         given(cqData.getBackingArray()).willReturn(cqBytes);
-        given(converter.getPropertiesFromColumnQualifier(group, cqBytes)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_1)).willReturn("propValue1");
+        given(converter.getPropertyFromColumnQualifier(group, TestPropertyNames.PROP_1, cqBytes)).willReturn("propValue1");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_1, lazyProperties);
 
         // Then
         assertEquals("propValue1", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.any());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -99,7 +97,7 @@ public class AccumuloEdgeValueLoaderTest {
     }
 
     @Test
-    public void shouldLoadAllValuePropertiesWhenGetProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedValuePropertyWhenGetProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.EDGE;
         final Key key = mock(Key.class);
@@ -108,16 +106,14 @@ public class AccumuloEdgeValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEdgeValueLoader loader = new AccumuloEdgeValueLoader(group, key, value, converter, schema, false);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
-        given(converter.getPropertiesFromValue(group, value)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_3)).willReturn("propValue3");
+        given(converter.getPropertyFromValue(group, TestPropertyNames.PROP_3, value)).willReturn("propValue3");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_3, lazyProperties);
 
         // Then
         assertEquals("propValue3", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.any());
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -147,9 +143,8 @@ public class AccumuloEdgeValueLoaderTest {
 
         // Then
         assertEquals("vis1", property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.any());
         verify(converter, never()).getElementId(key, false);
-        verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
         verify(converter, never()).getPropertiesFromValue(Mockito.eq(group), Mockito.any(Value.class));
     }
@@ -175,9 +170,8 @@ public class AccumuloEdgeValueLoaderTest {
 
         // Then
         assertEquals(timestamp, property);
-        verify(lazyProperties).putAll(properties);
+        verify(lazyProperties, never()).putAll(Mockito.any());
         verify(converter, never()).getElementId(key, false);
-        verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromValue(Mockito.eq(group), Mockito.any(Value.class));
     }
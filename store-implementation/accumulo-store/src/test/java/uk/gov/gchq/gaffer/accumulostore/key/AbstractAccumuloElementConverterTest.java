@@ -242,6 +242,36 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldDeserialiseSinglePropertyFromValue() {
+        Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+        assertEquals(60, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_1, value));
+        assertEquals(299, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_3, value));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.COUNT, value));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER, value));
+    }
+
+    @Test
+    public void shouldDeserialiseSinglePropertyFromColumnQualifier() {
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 100)
+                .build();
+
+        final byte[] columnQualifier = converter.getKeysFromElement(edge).getFirst().getColumnQualifierData().getBackingArray();
+        assertEquals(100, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.PROP_1, columnQualifier));
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueMissingMiddleProperty() {
         Properties properties = new Properties();
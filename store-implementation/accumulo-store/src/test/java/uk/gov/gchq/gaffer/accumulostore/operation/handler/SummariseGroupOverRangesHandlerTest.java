@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMiniAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SummariseGroupOverRangesHandlerTest {
+    private static final int NUM_ENTRIES = 100;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(SummariseGroupOverRangesHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(SummariseGroupOverRangesHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(SummariseGroupOverRangesHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final Context CONTEXT = new Context();
+
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @BeforeEach
+    public void reInitialise() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMiniAccumuloStore();
+        byteEntityStore.initialise("byteEntityGraph", SCHEMA, PROPERTIES);
+
+        gaffer1KeyStore = new SingleUseMiniAccumuloStore();
+        gaffer1KeyStore.initialise("gaffer1Graph", SCHEMA, CLASSIC_PROPERTIES);
+
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+    }
+
+    @Test
+    public void shouldSummariseByGroupByAcrossRowsByteEntityStore() throws OperationException {
+        shouldSummariseByGroupByAcrossRows(byteEntityStore);
+    }
+
+    @Test
+    public void shouldSummariseByGroupByAcrossRowsGaffer1Store() throws OperationException {
+        shouldSummariseByGroupByAcrossRows(gaffer1KeyStore);
+    }
+
+    private void shouldSummariseByGroupByAcrossRows(final AccumuloStore store) throws OperationException {
+        // Given - two ranges that together cover every entity
+        final SummariseGroupOverRanges operation = new SummariseGroupOverRanges.Builder()
+                .input(new Pair<>(new EntitySeed("0000"), new EntitySeed("0049")),
+                        new Pair<>(new EntitySeed("0050"), new EntitySeed("0099")))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Element> results = executeOperation(operation, store);
+
+        // Then - one result for each distinct column qualifier
+        assertEquals(3, results.size());
+        final Map<Object, Object> countsByColumnQualifier = getCountsByColumnQualifier(results);
+        assertEquals(34, countsByColumnQualifier.get(0));
+        assertEquals(33, countsByColumnQualifier.get(1));
+        assertEquals(33, countsByColumnQualifier.get(2));
+    }
+
+    @Test
+    public void shouldApplyPostAggregationFilterToMergedSummariesByteEntityStore() throws OperationException {
+        shouldApplyPostAggregationFilterToMergedSummaries(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyPostAggregationFilterToMergedSummariesGaffer1Store() throws OperationException {
+        shouldApplyPostAggregationFilterToMergedSummaries(gaffer1KeyStore);
+    }
+
+    private void shouldApplyPostAggregationFilterToMergedSummaries(final AccumuloStore store) throws OperationException {
+        // Given - no single range has more than 33 entities for a column qualifier
+        final SummariseGroupOverRanges operation = new SummariseGroupOverRanges.Builder()
+                .input(new Pair<>(new EntitySeed("0000"), new EntitySeed("0049")),
+                        new Pair<>(new EntitySeed("0050"), new EntitySeed("0099")))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .postAggregationFilter(new ElementFilter.Builder()
+                                        .select(AccumuloPropertyNames.COUNT)
+                                        .execute(new IsMoreThan(33))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Element> results = executeOperation(operation, store);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(0, results.get(0).getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(34, results.get(0).getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    private List<Element> executeOperation(final SummariseGroupOverRanges operation, final AccumuloStore store) throws OperationException {
+        return Lists.newArrayList(new SummariseGroupOverRangesHandler().doOperation(operation, CONTEXT, store));
+    }
+
+    private static Map<Object, Object> getCountsByColumnQualifier(final List<Element> elements) {
+        final Map<Object, Object> counts = new HashMap<>();
+        for (final Element element : elements) {
+            counts.put(element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER), element.getProperty(AccumuloPropertyNames.COUNT));
+        }
+        return counts;
+    }
+
+    private static void setupGraph(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex(String.format("%04d", i))
+                    .property(AccumuloPropertyNames.COLUMN_QUALIFIER, i % 3)
+                    .property(AccumuloPropertyNames.COUNT, 1)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), CONTEXT);
+    }
+}
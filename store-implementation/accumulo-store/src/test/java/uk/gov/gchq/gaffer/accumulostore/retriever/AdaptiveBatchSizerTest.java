@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdaptiveBatchSizerTest {
+
+    @Test
+    public void shouldStartAtMinBatchSize() {
+        assertEquals(10, new AdaptiveBatchSizer(10, 1000, 100, 1000).getBatchSize());
+    }
+
+    @Test
+    public void shouldNotChangeFixedBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(50);
+
+        // When
+        sizer.record(50, 1, 1);
+        sizer.record(50, 100000, 1000000);
+
+        // Then
+        assertEquals(50, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldDoubleBatchSizeWhenBatchesAreFast() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 1000, 100, 1000);
+
+        // When
+        sizer.record(10, 1, 10);
+
+        // Then
+        assertEquals(20, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 30, 100, 1000);
+
+        // When
+        sizer.record(10, 0, 0);
+        sizer.record(20, 0, 0);
+
+        // Then
+        assertEquals(30, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenBatchesAreSlow() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 1000, 100, 1000000);
+        sizer.record(10, 0, 0);
+        sizer.record(20, 0, 0);
+        sizer.record(40, 0, 0);
+
+        // When - 80 seeds took twice the target latency
+        sizer.record(80, 200, 80);
+
+        // Then
+        assertEquals(40, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkBatchSizeWhenBatchesReturnTooManyResults() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 1000, 100, 100);
+        sizer.record(10, 0, 0);
+        sizer.record(20, 0, 0);
+
+        // When - 40 seeds returned 4 times the max results
+        sizer.record(40, 1, 400);
+
+        // Then
+        assertEquals(20, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotShrinkBelowMinBatchSize() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(10, 1000, 100, 1000);
+
+        // When
+        sizer.record(10, 100000, 10);
+
+        // Then
+        assertEquals(10, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldRejectMaxLessThanMin() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizer(10, 5, 100, 1000));
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
+import com.google.common.collect.Sets;
 import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 import org.apache.hadoop.util.hash.Hash;
@@ -105,6 +106,40 @@ public class AccumuloIDBetweenSetsRetrieverTest {
     }
 
 
+    @Test
+    public void shouldReuseCachedBloomFiltersFromByteEntityStore() throws StoreException {
+        shouldReuseCachedBloomFilters(BYTE_ENTITY_STORE);
+    }
+
+    @Test
+    public void shouldReuseCachedBloomFiltersFromGaffer1Store() throws StoreException {
+        shouldReuseCachedBloomFilters(GAFFER_1_KEY_STORE);
+    }
+
+    private void shouldReuseCachedBloomFilters(final AccumuloStore store) throws StoreException {
+        // Given
+        final GetElementsBetweenSets op = new GetElementsBetweenSets.Builder()
+                .input(AccumuloTestData.SEED_A0_SET)
+                .inputB(AccumuloTestData.SEED_A0_A23_SET)
+                .view(defaultView)
+                .build();
+        final Set<Element> initialResults = returnElementsFromOperation(store, op, new User(), false);
+        assertEquals(1, store.getBloomFilterCache().size());
+
+        // When
+        final GetElementsBetweenSets secondOp = new GetElementsBetweenSets.Builder()
+                .input(AccumuloTestData.SEED_A0_SET)
+                .inputB(Sets.newHashSet(AccumuloTestData.SEED_A23, AccumuloTestData.SEED_A0))
+                .view(defaultView)
+                .build();
+        final Set<Element> secondResults = returnElementsFromOperation(store, secondOp, new User(), false);
+
+        // Then
+        assertEquals(1, store.getBloomFilterCache().size());
+        assertEquals(initialResults, secondResults);
+        assertThat(secondResults, IsCollectionContaining.hasItems(AccumuloTestData.EDGE_A0_A23, AccumuloTestData.A0_ENTITY));
+    }
+
     private void shouldGetCorrectEdges(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
         // Query for all edges between the set {A0} and the set {A23}
         final GetElementsBetweenSets op = new GetElementsBetweenSets.Builder()
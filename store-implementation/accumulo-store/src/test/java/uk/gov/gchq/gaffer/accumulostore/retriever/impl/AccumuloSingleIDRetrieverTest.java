@@ -100,6 +100,19 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void testEntityIdQueryEdgesAndEntitiesWithAdaptiveBatchScanning() throws AccumuloException, StoreException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setAdaptiveBatchScanning(true);
+        properties.setMinEntriesForBatchScanner("10");
+        properties.setMaxEntriesForBatchScanner("100");
+        properties.setMaxBatchScannersInFlight("3");
+        final AccumuloStore store = new SingleUseMiniAccumuloStore();
+        store.initialise("adaptiveGraph", SCHEMA, properties);
+
+        testEntityIdQueryEdgesAndEntities(store);
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(BYTE_ENTITY_STORE);
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterCache.CachedBloomFilters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class BloomFilterCacheTest {
+
+    @Test
+    public void shouldGetCachedFilters() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(1000);
+        final CachedBloomFilters filters = createFilters(800);
+
+        // When
+        cache.put("key", filters);
+
+        // Then
+        assertSame(filters, cache.get("key"));
+        assertNull(cache.get("otherKey"));
+        assertEquals(1, cache.size());
+        assertEquals(filters.getSizeInBytes(), cache.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedFiltersWhenFull() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(500);
+        final CachedBloomFilters filters1 = createFilters(800);
+        final CachedBloomFilters filters2 = createFilters(800);
+        final CachedBloomFilters filters3 = createFilters(800);
+        cache.put("key1", filters1);
+        cache.put("key2", filters2);
+        cache.get("key1");
+
+        // When
+        cache.put("key3", filters3);
+
+        // Then
+        assertSame(filters1, cache.get("key1"));
+        assertNull(cache.get("key2"));
+        assertSame(filters3, cache.get("key3"));
+        assertEquals(filters1.getSizeInBytes() + filters3.getSizeInBytes(), cache.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldNotCacheFiltersLargerThanTheCache() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(100);
+
+        // When
+        cache.put("key", createFilters(8000));
+
+        // Then
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldClearCache() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(1000);
+        cache.put("key", createFilters(800));
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void shouldBuildSameKeyRegardlessOfSeedOrder() {
+        // When
+        final String key1 = new BloomFilterCache.KeyBuilder()
+                .setting(0.01)
+                .seed(new byte[]{1})
+                .seed(new byte[]{2})
+                .seed(new byte[]{3})
+                .build();
+        final String key2 = new BloomFilterCache.KeyBuilder()
+                .setting(0.01)
+                .seed(new byte[]{3})
+                .seed(new byte[]{1})
+                .seed(new byte[]{2})
+                .build();
+
+        // Then
+        assertEquals(key1, key2);
+    }
+
+    @Test
+    public void shouldBuildDifferentKeysForDifferentSeedsOrSettings() {
+        // When
+        final String key = new BloomFilterCache.KeyBuilder()
+                .setting(0.01)
+                .seed(new byte[]{1})
+                .seed(new byte[]{2})
+                .build();
+        final String differentSeeds = new BloomFilterCache.KeyBuilder()
+                .setting(0.01)
+                .seed(new byte[]{1})
+                .seed(new byte[]{3})
+                .build();
+        final String extraSeed = new BloomFilterCache.KeyBuilder()
+                .setting(0.01)
+                .seed(new byte[]{1})
+                .seed(new byte[]{2})
+                .seed(new byte[]{2})
+                .build();
+        final String differentSettings = new BloomFilterCache.KeyBuilder()
+                .setting(0.001)
+                .seed(new byte[]{1})
+                .seed(new byte[]{2})
+                .build();
+
+        // Then
+        assertNotEquals(key, differentSeeds);
+        assertNotEquals(key, extraSeed);
+        assertNotEquals(key, differentSettings);
+    }
+
+    @Test
+    public void shouldReturnCopyOfIteratorSetting() {
+        // Given
+        final CachedBloomFilters filters = createFilters(800);
+
+        // When
+        final IteratorSetting setting = filters.getIteratorSetting();
+        setting.addOption("extra", "option");
+
+        // Then
+        assertNotSame(setting, filters.getIteratorSetting());
+        assertNull(filters.getIteratorSetting().getOptions().get("extra"));
+        assertEquals("value", filters.getIteratorSetting().getOptions().get("filter"));
+    }
+
+    private static CachedBloomFilters createFilters(final int vectorSize) {
+        final IteratorSetting setting = new IteratorSetting(10, "bloomFilter", "test.BloomFilterIterator");
+        setting.addOption("filter", "value");
+        return new CachedBloomFilters(
+                new BloomFilter(vectorSize, 2, Hash.MURMUR_HASH),
+                new BloomFilter(vectorSize, 2, Hash.MURMUR_HASH),
+                setting);
+    }
+}
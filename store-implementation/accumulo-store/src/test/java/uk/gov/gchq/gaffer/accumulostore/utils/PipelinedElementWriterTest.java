@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class PipelinedElementWriterTest {
+    private static final String BAD_GROUP = "badGroup";
+
+    private AccumuloElementConverter converter;
+    private BatchWriter writer;
+    private Set<String> writtenRows;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        converter = mock(AccumuloElementConverter.class);
+        given(converter.getKeysFromElement(any(Element.class))).willAnswer(invocation -> {
+            final Element element = invocation.getArgument(0);
+            if (BAD_GROUP.equals(element.getGroup())) {
+                throw new AccumuloElementConversionException("Unable to convert element");
+            }
+            if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                return new Pair<>(new Key((String) edge.getSource()), new Key((String) edge.getDestination()));
+            }
+            return new Pair<>(new Key((String) ((Entity) element).getVertex()), null);
+        });
+        given(converter.getValueFromElement(any(Element.class))).willReturn(new Value(new byte[0]));
+
+        writer = mock(BatchWriter.class);
+        writtenRows = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            final Iterable<Mutation> mutations = invocation.getArgument(0);
+            for (final Mutation mutation : mutations) {
+                assertTrue(writtenRows.add(new String(mutation.getRow())));
+            }
+            return null;
+        }).when(writer).addMutations(any());
+    }
+
+    @Test
+    public void shouldConvertAndWriteAllElementsInParallel() throws StoreException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        elements.add(new Edge(TestGroups.EDGE, "source", "destination", true));
+        final PipelinedElementWriter pipelinedWriter = new PipelinedElementWriter(converter, writer, 4, 7, 2);
+
+        // When
+        pipelinedWriter.write(elements);
+
+        // Then
+        assertEquals(1002, writtenRows.size());
+        assertTrue(writtenRows.contains("vertex999"));
+        assertTrue(writtenRows.contains("source"));
+        assertTrue(writtenRows.contains("destination"));
+        assertEquals(1001, pipelinedWriter.getElementCount());
+        assertEquals(1002, pipelinedWriter.getMutationCount());
+        assertTrue(pipelinedWriter.getMaxQueueDepth() <= 2);
+        assertEquals(0, pipelinedWriter.getQueueDepth());
+    }
+
+    @Test
+    public void shouldSkipElementsThatCannotBeConverted() throws StoreException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        elements.add(new Entity(TestGroups.ENTITY, "vertex1"));
+        elements.add(new Entity(BAD_GROUP, "vertex2"));
+        elements.add(new Entity(TestGroups.ENTITY, "vertex3"));
+        final PipelinedElementWriter pipelinedWriter = new PipelinedElementWriter(converter, writer, 2, 1, 1);
+
+        // When
+        pipelinedWriter.write(elements);
+
+        // Then
+        assertEquals(2, writtenRows.size());
+        assertFalse(writtenRows.contains("vertex2"));
+        assertEquals(2, pipelinedWriter.getElementCount());
+    }
+
+    @Test
+    public void shouldThrowStoreExceptionIfWriterFails() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("Writer failed")).when(writer).addMutations(any());
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+        }
+        final PipelinedElementWriter pipelinedWriter = new PipelinedElementWriter(converter, writer, 2, 1, 1);
+
+        // When / Then
+        final StoreException exception = assertThrows(StoreException.class, () -> pipelinedWriter.write(elements));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shouldRejectInvalidQueueSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PipelinedElementWriter(converter, writer, 2, 10, 0));
+    }
+}
@@ -92,6 +92,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -120,6 +123,7 @@ public class FederatedStore extends Store {
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
     private static final List<Integer> ALL_IDS = new ArrayList<>();
     private final int id;
+    private ExecutorService graphExecutor;
 
     public FederatedStore() {
         Integer i = null;
@@ -144,6 +148,7 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        shutdownGraphExecutor();
     }
 
     @Override
@@ -411,6 +416,39 @@ public class FederatedStore extends Store {
                 : graphStorage.getAllGraphsAndAccess(user, getCleanStrings(graphIdsCsv));
     }
 
+    /**
+     * Get the executor used to execute operations against the sub-graphs in
+     * parallel.
+     *
+     * @return the executor, or null if the sub-graphs should be executed
+     * sequentially.
+     * @see FederatedStoreProperties#EXECUTOR_THREADS
+     */
+    public synchronized ExecutorService getGraphExecutor() {
+        final int threads = getProperties().getExecutorThreads();
+        if (threads <= 1) {
+            return null;
+        }
+        if (null == graphExecutor) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            graphExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable, "federatedstore-graph-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return graphExecutor;
+    }
+
+    /**
+     * @return the maximum time in milliseconds a sub-graph may execute an
+     * operation for when executing in parallel, or 0 for no timeout.
+     * @see FederatedStoreProperties#GRAPH_TIMEOUT
+     */
+    public long getGraphTimeout() {
+        return getProperties().getGraphTimeout();
+    }
+
     /**
      * The FederatedStore at time of initialisation, can set the auths required
      * to allow users to use custom {@link StoreProperties} outside the
@@ -499,6 +537,13 @@ public class FederatedStore extends Store {
         }
     }
 
+    private synchronized void shutdownGraphExecutor() {
+        if (null != graphExecutor) {
+            graphExecutor.shutdown();
+            graphExecutor = null;
+        }
+    }
+
     private Set<String> getCustomPropertiesAuths() {
         final String value = getProperties().getCustomPropsValue();
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
@@ -47,6 +47,23 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute operations against the sub-graphs
+     * in parallel. If this is 1 the sub-graphs are executed sequentially.
+     * e.g gaffer.federatedstore.executor.threads=8
+     */
+    public static final String EXECUTOR_THREADS = "gaffer.federatedstore.executor.threads";
+    public static final String EXECUTOR_THREADS_DEFAULT = String.valueOf(1);
+
+    /**
+     * The maximum time in milliseconds that a sub-graph is allowed to execute
+     * an operation for when executing in parallel. If this is 0 there is no
+     * timeout. Graphs that time out are treated as failed.
+     * e.g gaffer.federatedstore.executor.graphTimeout=30000
+     */
+    public static final String GRAPH_TIMEOUT = "gaffer.federatedstore.executor.graphTimeout";
+    public static final String GRAPH_TIMEOUT_DEFAULT = String.valueOf(0);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +111,24 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public int getExecutorThreads() {
+        return Integer.parseInt(get(EXECUTOR_THREADS, EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setExecutorThreads(final int executorThreads) {
+        set(EXECUTOR_THREADS, String.valueOf(executorThreads));
+    }
+
+    public boolean isParallelExecution() {
+        return getExecutorThreads() > 1;
+    }
+
+    public long getGraphTimeout() {
+        return Long.parseLong(get(GRAPH_TIMEOUT, GRAPH_TIMEOUT_DEFAULT));
+    }
+
+    public void setGraphTimeout(final long graphTimeoutMillis) {
+        set(GRAPH_TIMEOUT, String.valueOf(graphTimeoutMillis));
+    }
 }
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedGraphExecution;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -26,6 +27,7 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
@@ -38,7 +40,19 @@ import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipF
  */
 public class FederatedOperationHandler implements OperationHandler<Operation> {
     public Object doOperation(final Operation operation, final Context context, final Store store) throws OperationException {
-        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final ExecutorService executor = federatedStore.getGraphExecutor();
+        if (null != executor && graphs.size() > 1) {
+            try (final FederatedGraphExecution<Operation, Object> execution = new FederatedGraphExecution<>(
+                    operation, graphs, context, executor, federatedStore.getGraphTimeout(), FederatedOperationHandler::execute)) {
+                while (execution.hasNext()) {
+                    execution.next();
+                }
+            }
+            return null;
+        }
+
         for (final Graph graph : graphs) {
             final Operation updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
             if (null != updatedOp) {
@@ -53,4 +67,9 @@ public class FederatedOperationHandler implements OperationHandler<Operation> {
         }
         return null;
     }
+
+    private static Object execute(final Graph graph, final Operation operation, final Context context) throws OperationException {
+        graph.execute(operation, context);
+        return null;
+    }
 }
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedGraphExecution;
 import uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -28,6 +29,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
@@ -43,7 +45,23 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
 
     @Override
     public O doOperation(final OP operation, final Context context, final Store store) throws OperationException {
-        final Collection<Graph> graphs = ((FederatedStore) store).getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final Collection<Graph> graphs = federatedStore.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS), operation);
+        final ExecutorService executor = federatedStore.getGraphExecutor();
+        if (null != executor && graphs.size() > 1) {
+            final FederatedGraphExecution<OP, O> execution = new FederatedGraphExecution<>(
+                    operation, graphs, context, executor, federatedStore.getGraphTimeout(), Graph::execute);
+            try {
+                return mergeResults(execution, operation, context, store);
+            } catch (final OperationException e) {
+                execution.close();
+                throw e;
+            } catch (final Exception e) {
+                execution.close();
+                throw new OperationException(e);
+            }
+        }
+
         final List<O> results = new ArrayList<>(graphs.size());
         for (final Graph graph : graphs) {
             final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
@@ -68,5 +86,33 @@ public abstract class FederatedOperationOutputHandler<OP extends Output<O>, O> i
         }
     }
 
+    /**
+     * Merges the results of graphs that are executing in parallel. By default
+     * this waits for all the graphs to complete and then calls
+     * {@link #mergeResults(List, Output, Context, Store)}. Handlers that can
+     * merge results as they arrive should override this.
+     *
+     * @param execution the execution of the operation against each graph
+     * @param operation the original operation
+     * @param context   the operation context
+     * @param store     the federated store
+     * @return the merged results
+     * @throws OperationException if a graph fails to execute the operation
+     */
+    protected O mergeResults(final FederatedGraphExecution<OP, O> execution, final OP operation, final Context context, final Store store) throws OperationException {
+        final List<O> results = new ArrayList<>();
+        try {
+            while (execution.hasNext()) {
+                final O result = execution.next();
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        } finally {
+            execution.close();
+        }
+        return mergeResults(results, operation, context, store);
+    }
+
     protected abstract O mergeResults(final List<O> results, final OP operation, final Context context, final Store store);
 }
@@ -20,6 +20,8 @@ import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedGraphExecution;
+import uk.gov.gchq.gaffer.federatedstore.util.FederatedResultsIterable;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -34,6 +36,15 @@ import java.util.List;
  * @see FederatedOperationOutputHandler
  */
 public class FederatedOperationIterableHandler<OP extends Output<O>, O extends Iterable> extends FederatedOperationOutputHandler<OP, O> {
+    /**
+     * Concatenates the results lazily in the order the graphs complete, so
+     * results can be consumed before all the graphs have finished.
+     */
+    @Override
+    protected O mergeResults(final FederatedGraphExecution<OP, O> execution, final OP operation, final Context context, final Store store) {
+        return (O) new FederatedResultsIterable<>((FederatedGraphExecution) execution);
+    }
+
     @Override
     protected O mergeResults(final List<O> results, final OP operation, final Context context, final Store store) {
         if (results.isEmpty()) {
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Executes an {@link Operation} against a number of sub-graphs in parallel
+ * and provides the results in the order that the sub-graphs complete.
+ * <p>
+ * The operation is updated for each graph using
+ * {@link FederatedStoreUtil#updateOperationForGraph(Operation, Graph)} and
+ * dispatched to the provided executor. If a graph fails, or runs for longer
+ * than the graph timeout, the whole execution fails unless the operation has
+ * the skip failed federated store execute option set, in which case the graph
+ * is skipped.
+ *
+ * @param <OP> the type of operation
+ * @param <O>  the type of result returned by each graph
+ */
+public class FederatedGraphExecution<OP extends Operation, O> implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FederatedGraphExecution.class);
+    private static final long NOT_STARTED = -1L;
+
+    private final OP operation;
+    private final boolean skipFailed;
+    private final long timeoutNanos;
+    private final CompletionService<O> completionService;
+    private final Map<Future<O>, GraphTask> pending = new LinkedHashMap<>();
+
+    /**
+     * Dispatches the operation to each of the graphs.
+     *
+     * @param operation     the operation to execute
+     * @param graphs        the graphs to execute the operation against
+     * @param context       the context to execute the operation with
+     * @param executor      the executor to run the graph executions on
+     * @param timeoutMillis the maximum time each graph may run for, or 0 for no timeout
+     * @param executer      executes an updated operation against a graph
+     */
+    public FederatedGraphExecution(final OP operation,
+                                   final Collection<Graph> graphs,
+                                   final Context context,
+                                   final ExecutorService executor,
+                                   final long timeoutMillis,
+                                   final GraphExecuter<OP, O> executer) {
+        this.operation = operation;
+        this.skipFailed = Boolean.valueOf(getSkipFailedFederatedStoreExecute(operation));
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, timeoutMillis));
+        this.completionService = new ExecutorCompletionService<>(executor);
+        for (final Graph graph : graphs) {
+            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                // Each graph gets its own context so that graphs do not update a shared original operation chain.
+                final GraphTask task = new GraphTask(graph, updatedOp, context.shallowClone(), executer);
+                pending.put(completionService.submit(task), task);
+            }
+        }
+    }
+
+    /**
+     * @return true if there are graphs that have not yet returned a result
+     */
+    public synchronized boolean hasNext() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Waits for the next graph to complete and returns its result.
+     *
+     * @return the result of the graph, or null if the graph returned null or
+     * was skipped because it failed or timed out.
+     * @throws OperationException if a graph fails and failed graphs are not
+     *                            being skipped, or the wait is interrupted.
+     */
+    public synchronized O next() throws OperationException {
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        final Future<O> future;
+        try {
+            future = poll();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new OperationException("Interrupted whilst waiting for graphs to execute operation: " + operation.getClass().getSimpleName(), e);
+        }
+
+        if (null == future) {
+            cancelTimedOutTasks();
+            return null;
+        }
+
+        final GraphTask task = pending.remove(future);
+        if (null == task) {
+            // The task has already been cancelled and handled
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            handleFailure(task, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (final CancellationException | InterruptedException e) {
+            handleFailure(task, e);
+        }
+        return null;
+    }
+
+    /**
+     * Cancels any graphs that are still executing.
+     */
+    @Override
+    public synchronized void close() {
+        for (final Future<O> future : pending.keySet()) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    private Future<O> poll() throws InterruptedException {
+        final Future<O> completed = completionService.poll();
+        if (null != completed || 0 == timeoutNanos) {
+            return null != completed ? completed : completionService.take();
+        }
+
+        // Wait until the earliest running graph would time out
+        final long now = System.nanoTime();
+        long wait = timeoutNanos;
+        for (final GraphTask task : pending.values()) {
+            final long startTime = task.startTime;
+            if (NOT_STARTED != startTime) {
+                wait = Math.min(wait, startTime + timeoutNanos - now);
+            }
+        }
+        return wait > 0 ? completionService.poll(wait, TimeUnit.NANOSECONDS) : null;
+    }
+
+    private void cancelTimedOutTasks() throws OperationException {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Future<O>, GraphTask>> itr = pending.entrySet().iterator();
+        while (itr.hasNext()) {
+            final Map.Entry<Future<O>, GraphTask> entry = itr.next();
+            final GraphTask task = entry.getValue();
+            final long startTime = task.startTime;
+            if (NOT_STARTED != startTime && now - startTime >= timeoutNanos && !entry.getKey().isDone()) {
+                entry.getKey().cancel(true);
+                itr.remove();
+                handleFailure(task, new TimeoutException("Graph " + task.graph.getGraphId()
+                        + " did not complete within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms"));
+            }
+        }
+    }
+
+    private void handleFailure(final GraphTask task, final Exception e) throws OperationException {
+        if (!skipFailed) {
+            close();
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, task.graph.getGraphId(), e), e);
+        }
+        LOGGER.debug("Skipping graph {} as it failed to execute operation: {}", task.graph.getGraphId(), e.getMessage());
+    }
+
+    /**
+     * Executes an operation against a single graph.
+     *
+     * @param <OP> the type of operation
+     * @param <O>  the type of result
+     */
+    @FunctionalInterface
+    public interface GraphExecuter<OP extends Operation, O> {
+        O execute(final Graph graph, final OP operation, final Context context) throws OperationException;
+    }
+
+    private final class GraphTask implements Callable<O> {
+        private final Graph graph;
+        private final OP operation;
+        private final Context context;
+        private final GraphExecuter<OP, O> executer;
+        private volatile long startTime = NOT_STARTED;
+
+        private GraphTask(final Graph graph, final OP operation, final Context context, final GraphExecuter<OP, O> executer) {
+            this.graph = graph;
+            this.operation = operation;
+            this.context = context;
+            this.executer = executer;
+        }
+
+        @Override
+        public O call() throws OperationException {
+            startTime = System.nanoTime();
+            return executer.execute(graph, operation, context);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.operation.OperationException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CloseableIterable} that concatenates the iterable results of a
+ * {@link FederatedGraphExecution} in the order that the graphs complete.
+ * <p>
+ * Results from the first graphs to complete can be consumed whilst the
+ * remaining graphs are still executing. Results are retained as they arrive
+ * so this iterable can be iterated more than once.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class FederatedResultsIterable<T> implements CloseableIterable<T> {
+    private final FederatedGraphExecution<?, ? extends Iterable<? extends T>> execution;
+    private final List<Iterable<? extends T>> results = new ArrayList<>();
+
+    public FederatedResultsIterable(final FederatedGraphExecution<?, ? extends Iterable<? extends T>> execution) {
+        if (null == execution) {
+            throw new IllegalArgumentException("A federated graph execution is required");
+        }
+        this.execution = execution;
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new ResultsIterator();
+    }
+
+    @Override
+    public void close() {
+        execution.close();
+        synchronized (results) {
+            for (final Iterable<? extends T> result : results) {
+                CloseableUtil.close(result);
+            }
+        }
+    }
+
+    private Iterable<? extends T> getResult(final int index) {
+        synchronized (results) {
+            while (results.size() <= index && execution.hasNext()) {
+                final Iterable<? extends T> result;
+                try {
+                    result = execution.next();
+                } catch (final OperationException e) {
+                    throw new GafferRuntimeException(e.getMessage(), e, e.getStatus());
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+            return index < results.size() ? results.get(index) : null;
+        }
+    }
+
+    private final class ResultsIterator implements CloseableIterator<T> {
+        private int index;
+        private Iterator<? extends T> current;
+
+        @Override
+        public boolean hasNext() {
+            while (null == current || !current.hasNext()) {
+                final Iterable<? extends T> result = getResult(index);
+                if (null == result) {
+                    return false;
+                }
+                CloseableUtil.close(current);
+                current = result.iterator();
+                index++;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(current);
+            FederatedResultsIterable.this.close();
+        }
+    }
+}
@@ -16,13 +16,16 @@
 
 package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.graph.GraphConfig;
@@ -37,10 +40,13 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -61,11 +67,18 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
     protected O o4;
     protected User user;
     protected Context context;
+    private ExecutorService executor;
 
     @BeforeEach
     public void setUp() throws Exception {
         user = testUser();
         context = new Context(user);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -240,8 +253,114 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
         verify(mockStore4, never()).execute(any(OperationChain.class), any(Context.class));
     }
 
+    @Test
+    public void shouldMergeResultsFromFieldObjectsInParallel() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties, o2);
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+        Store mockStore4 = getMockStore(unusedSchema, storeProperties, o4);
+
+        FederatedStore mockStore = getParallelMockStore(0L);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        linkedGraphs.add(getGraphWithMockStore(mockStore4));
+        Mockito.when(mockStore.getGraphs(user, null, op)).thenReturn(linkedGraphs);
+
+        // When
+        O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2, o3, o4);
+        verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore3).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore4).execute(any(OperationChain.class), any(Context.class));
+    }
+
+    @Test
+    public void shouldThrowExceptionInParallel() throws Exception {
+        // Given
+        final String message = "Test Exception";
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = Mockito.mock(Store.class);
+        given(mockStore2.getSchema()).willReturn(unusedSchema);
+        given(mockStore2.getProperties()).willReturn(storeProperties);
+        given(mockStore2.execute(any(OperationChain.class), any(Context.class))).willThrow(new RuntimeException(message));
+
+        FederatedStore mockStore = getParallelMockStore(0L);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        Mockito.when(mockStore.getGraphs(user, null, op)).thenReturn(linkedGraphs);
+
+        // When
+        try {
+            final O result = getFederatedHandler().doOperation(op, context, mockStore);
+            // Iterable results are merged lazily, so the failure may only be seen when iterating
+            if (result instanceof Iterable) {
+                Iterables.size((Iterable) result);
+            }
+            fail("Exception not thrown");
+        } catch (final OperationException | GafferRuntimeException e) {
+            assertEquals(message, Throwables.getRootCause(e).getMessage());
+        }
+    }
+
+    @Test
+    public void shouldSkipGraphsThatTimeOutInParallel() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+        op.addOption(KEY_SKIP_FAILED_FEDERATED_STORE_EXECUTE, String.valueOf(true));
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = Mockito.mock(Store.class);
+        given(mockStore2.getSchema()).willReturn(unusedSchema);
+        given(mockStore2.getProperties()).willReturn(storeProperties);
+        given(mockStore2.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(60000L);
+            return o2;
+        });
+
+        FederatedStore mockStore = getParallelMockStore(200L);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        Mockito.when(mockStore.getGraphs(user, null, op)).thenReturn(linkedGraphs);
+
+        // When
+        final long start = System.currentTimeMillis();
+        O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1);
+
+        // Then
+        assertTrue(System.currentTimeMillis() - start < 60000L, "The slow graph should have timed out");
+    }
+
     protected abstract boolean validateMergeResultsFromFieldObjects(final O result, final Object... resultParts);
 
+    private FederatedStore getParallelMockStore(final long graphTimeout) {
+        final FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        given(mockStore.getGraphExecutor()).willReturn(executor);
+        given(mockStore.getGraphTimeout()).willReturn(graphTimeout);
+        return mockStore;
+    }
+
     private Graph getGraphWithMockStore(final Store mockStore) {
         return new Graph.Builder()
                 .config(new GraphConfig.Builder()
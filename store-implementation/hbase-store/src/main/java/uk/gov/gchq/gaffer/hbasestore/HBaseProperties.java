@@ -42,9 +42,19 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String SCANNER_CACHING = "hbase.scannerCaching";
+    public static final String SCANNER_MAX_RESULT_SIZE = "hbase.scannerMaxResultSizeInBytes";
+    public static final String READ_AHEAD = "hbase.readAhead";
+    public static final String FULL_SCAN_CONCURRENCY = "hbase.fullScanConcurrency";
+    public static final String FULL_SCAN_PRESERVE_ORDER = "hbase.fullScanPreserveOrder";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String SCANNER_CACHING_DEFAULT = "-1";
+    public static final String SCANNER_MAX_RESULT_SIZE_DEFAULT = "-1";
+    public static final String READ_AHEAD_DEFAULT = "false";
+    public static final String FULL_SCAN_CONCURRENCY_DEFAULT = "1";
+    public static final String FULL_SCAN_PRESERVE_ORDER_DEFAULT = "false";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +174,108 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of rows the scanners should fetch from a region server
+     * in each call. If this is not positive the HBase client default is used.
+     *
+     * @return the number of rows to fetch in each call
+     */
+    public int getScannerCaching() {
+        return Integer.parseInt(get(SCANNER_CACHING, SCANNER_CACHING_DEFAULT));
+    }
+
+    /**
+     * Set the number of rows the scanners should fetch from a region server
+     * in each call.
+     *
+     * @param scannerCaching the number of rows to fetch in each call
+     */
+    public void setScannerCaching(final String scannerCaching) {
+        set(SCANNER_CACHING, scannerCaching);
+    }
+
+    /**
+     * Get the max size in bytes of the rows the scanners should fetch from a
+     * region server in each call. If this is not positive the HBase client
+     * default is used.
+     *
+     * @return the max size in bytes of the rows to fetch in each call
+     */
+    public long getScannerMaxResultSizeInBytes() {
+        return Long.parseLong(get(SCANNER_MAX_RESULT_SIZE, SCANNER_MAX_RESULT_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the max size in bytes of the rows the scanners should fetch from a
+     * region server in each call.
+     *
+     * @param scannerMaxResultSizeInBytes the max size in bytes of the rows to
+     *                                    fetch in each call
+     */
+    public void setScannerMaxResultSizeInBytes(final String scannerMaxResultSizeInBytes) {
+        set(SCANNER_MAX_RESULT_SIZE, scannerMaxResultSizeInBytes);
+    }
+
+    /**
+     * If true, the scanner for the next batch of seeds is opened, and its
+     * first rows fetched, while the current batch is being read.
+     *
+     * @return true if scanners should read ahead
+     */
+    public boolean getReadAhead() {
+        return Boolean.parseBoolean(get(READ_AHEAD, READ_AHEAD_DEFAULT));
+    }
+
+    /**
+     * Set whether scanners should read ahead.
+     *
+     * @param readAhead true if scanners should read ahead
+     */
+    public void setReadAhead(final boolean readAhead) {
+        set(READ_AHEAD, Boolean.toString(readAhead));
+    }
+
+    /**
+     * Get the max number of regions that are scanned concurrently when all
+     * the elements in the table are retrieved. If this is 1 or less the
+     * table is read with a single scanner.
+     *
+     * @return the max number of regions to scan concurrently
+     */
+    public int getFullScanConcurrency() {
+        return Integer.parseInt(get(FULL_SCAN_CONCURRENCY, FULL_SCAN_CONCURRENCY_DEFAULT));
+    }
+
+    /**
+     * Set the max number of regions that are scanned concurrently when all
+     * the elements in the table are retrieved.
+     *
+     * @param fullScanConcurrency the max number of regions to scan concurrently
+     */
+    public void setFullScanConcurrency(final String fullScanConcurrency) {
+        set(FULL_SCAN_CONCURRENCY, fullScanConcurrency);
+    }
+
+    /**
+     * If true, the results of concurrent region scans are returned in row key
+     * order, otherwise they are returned as soon as they are available.
+     *
+     * @return true if concurrent region scans should preserve row key order
+     */
+    public boolean getFullScanPreserveOrder() {
+        return Boolean.parseBoolean(get(FULL_SCAN_PRESERVE_ORDER, FULL_SCAN_PRESERVE_ORDER_DEFAULT));
+    }
+
+    /**
+     * Set whether concurrent region scans should preserve row key order.
+     *
+     * @param fullScanPreserveOrder true if concurrent region scans should
+     *                              preserve row key order
+     */
+    public void setFullScanPreserveOrder(final boolean fullScanPreserveOrder) {
+        set(FULL_SCAN_PRESERVE_ORDER, Boolean.toString(fullScanPreserveOrder));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites the value of each cell so that it only contains the properties
+ * required by the {@link View}. Properties that the view excludes, either via
+ * {@code properties} or {@code excludeProperties}, are serialised as nulls
+ * unless they are selected by the view's transformer or post transform filter,
+ * which are applied client side. The row, column qualifier, timestamp and
+ * visibility of the cell are left unchanged.
+ */
+@Since("1.17.2")
+@Summary("Removes properties not required by the view from cell values")
+public class ProjectionProcessor implements GafferScannerProcessor {
+    private final ElementSerialisation serialisation;
+    private final Schema schema;
+    private final View view;
+    private final Map<String, Set<String>> propertiesToRemove = new HashMap<>();
+
+    public ProjectionProcessor(final ElementSerialisation serialisation,
+                               final Schema schema,
+                               final View view) {
+        this.serialisation = serialisation;
+        this.schema = schema;
+        this.view = view;
+    }
+
+    /**
+     * Checks whether the view restricts the properties of any of its groups.
+     *
+     * @param view the view to check
+     * @return true if a projection of the properties is required
+     */
+    public static boolean isProjectionRequired(final View view) {
+        if (null == view) {
+            return false;
+        }
+
+        for (final ViewElementDefinition elementDef : view.getEntities().values()) {
+            if (null != elementDef && !elementDef.isAllProperties()) {
+                return true;
+            }
+        }
+        for (final ViewElementDefinition elementDef : view.getEdges().values()) {
+            if (null != elementDef && !elementDef.isAllProperties()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        for (final LazyElementCell elementCell : elementCells) {
+            if (elementCell.isDeleted()) {
+                continue;
+            }
+
+            final Set<String> toRemove = propertiesToRemove.computeIfAbsent(elementCell.getGroup(), this::getPropertiesToRemove);
+            if (!toRemove.isEmpty()) {
+                project(elementCell, toRemove);
+            }
+        }
+        return elementCells;
+    }
+
+    private void project(final LazyElementCell elementCell, final Set<String> toRemove) {
+        try {
+            final Cell cell = elementCell.getCell();
+            final Element element = elementCell.getElement();
+            toRemove.forEach(element.getProperties()::remove);
+
+            final Cell projectedCell = CellUtil.createCell(
+                    CellUtil.cloneRow(cell),
+                    CellUtil.cloneFamily(cell),
+                    CellUtil.cloneQualifier(cell),
+                    cell.getTimestamp(),
+                    cell.getTypeByte(),
+                    serialisation.getValue(element),
+                    CellUtil.getTagArray(cell),
+                    0);
+
+            elementCell.setCell(projectedCell);
+            elementCell.setElement(element);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Set<String> getPropertiesToRemove(final String group) {
+        final ViewElementDefinition elementDef = view.getElement(group);
+        final SchemaElementDefinition schemaElementDef = schema.getElement(group);
+        if (null == elementDef || elementDef.isAllProperties() || null == schemaElementDef) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> toRemove = new LinkedHashSet<>(schemaElementDef.getProperties());
+        if (null != elementDef.getProperties()) {
+            toRemove.removeAll(elementDef.getProperties());
+        } else {
+            toRemove.retainAll(elementDef.getExcludeProperties());
+        }
+
+        // The transformer and post transform filter are applied client side,
+        // so any properties they select must still be returned.
+        final List<TupleAdaptedFunction<String, ?, ?>> transformFunctions = elementDef.getTransformFunctions();
+        if (null != transformFunctions) {
+            for (final TupleAdaptedFunction<String, ?, ?> function : transformFunctions) {
+                if (null == function.getSelection()) {
+                    return Collections.emptySet();
+                }
+                for (final String selection : function.getSelection()) {
+                    toRemove.remove(selection);
+                }
+            }
+        }
+
+        final List<TupleAdaptedPredicate<String, ?>> postTransformFilterFunctions = elementDef.getPostTransformFilterFunctions();
+        if (null != postTransformFilterFunctions) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : postTransformFilterFunctions) {
+                if (null == predicate.getSelection()) {
+                    return Collections.emptySet();
+                }
+                for (final String selection : predicate.getSelection()) {
+                    toRemove.remove(selection);
+                }
+            }
+        }
+
+        return toRemove;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public View getView() {
+        return view;
+    }
+}
@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcesso
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ProjectionProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
@@ -79,6 +80,9 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
                 processors.add(new QueryAggregationProcessor(serialisation, schema, view));
             }
             processors.add(new PostAggregationFilterProcessor(view));
+            if (ProjectionProcessor.isProjectionRequired(view)) {
+                processors.add(new ProjectionProcessor(serialisation, schema, view));
+            }
         }
 
         if (!extraProcessors.isEmpty()) {
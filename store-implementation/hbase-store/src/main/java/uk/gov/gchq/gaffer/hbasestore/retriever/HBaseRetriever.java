@@ -18,11 +18,14 @@ package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -32,15 +35,18 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.TransformOneToManyIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.hbasestore.utils.TableUtils;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
@@ -53,8 +59,26 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseRetriever.class);
+    private static final AtomicInteger READ_AHEAD_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService READ_AHEAD_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "HBaseRetriever-read-ahead-" + READ_AHEAD_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger REGION_SCAN_THREAD_COUNT = new AtomicInteger();
+    private static final int REGION_SCAN_QUEUE_SIZE = 1000;
+    private static final Result END_OF_REGION = new Result();
+
     private final ElementSerialisation serialisation;
     private final RowRangeFactory rowRangeFactory;
     private final ElementValidator validator;
@@ -67,6 +91,11 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
+    private ReadAheadResultScanner readAheadScanner;
+
+    private long rowsScanned;
+    private long cellsScanned;
+    private long elementsReturned;
 
     public HBaseRetriever(final HBaseStore store,
                           final OP operation,
@@ -101,11 +130,19 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         // By design, only 1 iterator can be open at a time
         close();
 
+        rowsScanned = 0;
+        cellsScanned = 0;
+        elementsReturned = 0;
         if (null != ids) {
             idsIterator = ids.iterator();
-            iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
+            if (store.getProperties().getReadAhead()) {
+                readAheadScanner = new ReadAheadResultScanner();
+                iterator = new HBaseRetrieverIterable(readAheadScanner).iterator();
+            } else {
+                iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
+            }
         } else {
-            iterator = new HBaseRetrieverIterable(createScanner()).iterator();
+            iterator = new HBaseRetrieverIterable(createFullScanner()).iterator();
         }
 
         return iterator;
@@ -116,6 +153,14 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         if (null != iterator) {
             iterator.close();
             iterator = null;
+            LOGGER.debug("Scanned {} rows containing {} cells and returned {} elements",
+                    rowsScanned, cellsScanned, elementsReturned);
+        }
+
+        // Wait for any scanner being opened ahead to finish with the ids
+        if (null != readAheadScanner) {
+            readAheadScanner.close();
+            readAheadScanner = null;
         }
 
         if (null != idsIterator) {
@@ -124,6 +169,27 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * @return the number of rows read from HBase by the current iterator
+     */
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    /**
+     * @return the number of cells read from HBase by the current iterator
+     */
+    public long getCellsScanned() {
+        return cellsScanned;
+    }
+
+    /**
+     * @return the number of elements returned by the current iterator
+     */
+    public long getElementsReturned() {
+        return elementsReturned;
+    }
+
     private Element deserialiseAndTransform(final Cell cell) {
         try {
             Element element = serialisation.getElement(cell, includeMatchedVertex);
@@ -144,6 +210,23 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         return validator.validateTransform(element);
     }
 
+    private CloseableIterable<Result> createFullScanner() {
+        final HBaseProperties properties = store.getProperties();
+        final int concurrency = properties.getFullScanConcurrency();
+        if (concurrency > 1) {
+            final List<Pair<byte[], byte[]>> regions;
+            try {
+                regions = TableUtils.getRegionBoundaries(store);
+            } catch (final StoreException e) {
+                throw new RuntimeException(e);
+            }
+            if (regions.size() > 1) {
+                return new ParallelRegionScanner(regions, concurrency, properties.getFullScanPreserveOrder());
+            }
+        }
+        return createScanner();
+    }
+
     private CloseableIterable<Result> createScanner() {
         // End of input ids
         if (null != idsIterator && !idsIterator.hasNext()) {
@@ -152,7 +235,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         Table table = null;
         try {
-            final Scan scan = new Scan();
+            final Scan scan = createScan();
 
             if (null != idsIterator) {
                 final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
@@ -170,17 +253,6 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
-            }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
-            }
-            scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +263,29 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    private Scan createScan() {
+        final Scan scan = new Scan();
+        scan.setAuthorizations(authorisations);
+        scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        scan.setMaxVersions();
+        final HBaseProperties properties = store.getProperties();
+        if (properties.getScannerCaching() > 0) {
+            scan.setCaching(properties.getScannerCaching());
+        }
+        if (properties.getScannerMaxResultSizeInBytes() > 0) {
+            scan.setMaxResultSize(properties.getScannerMaxResultSizeInBytes());
+        }
+        return scan;
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
@@ -198,6 +293,260 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    /**
+     * Like the {@link BatchedResultScanner}, but while a batch is being read
+     * the scanner for the next batch of seeds is opened, and its first rows
+     * fetched, on another thread.
+     */
+    private final class ReadAheadResultScanner implements CloseableIterable<Result> {
+        private Future<CloseableIterable<Result>> nextBatch;
+        private CloseableIterable<Result> batch;
+        private CloseableIterator<Result> batchIterator;
+        private boolean started;
+
+        @Override
+        public CloseableIterator<Result> iterator() {
+            return new CloseableIterator<Result>() {
+                @Override
+                public boolean hasNext() {
+                    while (null == batchIterator || !batchIterator.hasNext()) {
+                        closeBatch();
+                        batch = getNextBatch();
+                        if (null == batch) {
+                            return false;
+                        }
+                        batchIterator = batch.iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Result next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the batch iterator");
+                    }
+                    return batchIterator.next();
+                }
+
+                @Override
+                public void close() {
+                    ReadAheadResultScanner.this.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            closeBatch();
+            if (null != nextBatch) {
+                if (!nextBatch.cancel(false)) {
+                    try {
+                        CloseableUtil.close(nextBatch.get());
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (final ExecutionException e) {
+                        LOGGER.debug("Failed to open a scanner that is no longer required", e);
+                    }
+                }
+                nextBatch = null;
+            }
+        }
+
+        private CloseableIterable<Result> getNextBatch() {
+            final CloseableIterable<Result> current;
+            if (!started) {
+                started = true;
+                current = openBatch();
+            } else if (null != nextBatch) {
+                try {
+                    current = nextBatch.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted whilst waiting for the next scanner", e);
+                } catch (final ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                } finally {
+                    nextBatch = null;
+                }
+            } else {
+                current = null;
+            }
+
+            if (null != current) {
+                nextBatch = READ_AHEAD_EXECUTOR.submit(this::openBatch);
+            }
+            return current;
+        }
+
+        private CloseableIterable<Result> openBatch() {
+            final CloseableIterable<Result> scanner = createScanner();
+            if (null == scanner) {
+                return null;
+            }
+            final CloseableIterator<Result> scannerIterator = scanner.iterator();
+            // Fetch the first rows now rather than when the batch is read
+            scannerIterator.hasNext();
+            return new CloseableIterable<Result>() {
+                @Override
+                public CloseableIterator<Result> iterator() {
+                    return scannerIterator;
+                }
+
+                @Override
+                public void close() {
+                    CloseableUtil.close(scannerIterator);
+                    CloseableUtil.close(scanner);
+                }
+            };
+        }
+
+        private void closeBatch() {
+            if (null != batchIterator) {
+                CloseableUtil.close(batchIterator);
+                batchIterator = null;
+            }
+            if (null != batch) {
+                CloseableUtil.close(batch);
+                batch = null;
+            }
+        }
+    }
+
+    /**
+     * Scans each region of the table on a bounded pool of threads and merges
+     * the results. If the order is preserved the results of each region are
+     * returned in turn, in row key order, whilst the following regions are
+     * read ahead. Otherwise results are returned as soon as any region scan
+     * provides them.
+     */
+    private final class ParallelRegionScanner implements CloseableIterable<Result> {
+        private final List<Pair<byte[], byte[]>> regions;
+        private final int concurrency;
+        private final boolean preserveOrder;
+        private ExecutorService executor;
+        private volatile boolean closed;
+        private volatile Exception error;
+
+        private ParallelRegionScanner(final List<Pair<byte[], byte[]>> regions,
+                                      final int concurrency,
+                                      final boolean preserveOrder) {
+            this.regions = regions;
+            this.concurrency = concurrency;
+            this.preserveOrder = preserveOrder;
+        }
+
+        @Override
+        public CloseableIterator<Result> iterator() {
+            close();
+            closed = false;
+            error = null;
+
+            final List<BlockingQueue<Result>> queues = new ArrayList<>();
+            for (int i = 0; i < (preserveOrder ? regions.size() : 1); i++) {
+                queues.add(new ArrayBlockingQueue<>(REGION_SCAN_QUEUE_SIZE));
+            }
+
+            executor = Executors.newFixedThreadPool(Math.min(concurrency, regions.size()), r -> {
+                final Thread thread = new Thread(r, "HBaseRetriever-region-scan-" + REGION_SCAN_THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < regions.size(); i++) {
+                final Pair<byte[], byte[]> region = regions.get(i);
+                final BlockingQueue<Result> queue = queues.get(preserveOrder ? i : 0);
+                executor.submit(() -> scanRegion(region, queue));
+            }
+            executor.shutdown();
+
+            return new CloseableIterator<Result>() {
+                private int queueIndex;
+                private int regionsFinished;
+                private Result nextResult;
+
+                @Override
+                public boolean hasNext() {
+                    while (null == nextResult && regionsFinished < regions.size()) {
+                        final Result result = take(queues.get(queueIndex));
+                        if (END_OF_REGION == result) {
+                            if (null != error) {
+                                throw new RuntimeException("Failed to scan region", error);
+                            }
+                            regionsFinished++;
+                            if (preserveOrder) {
+                                queueIndex++;
+                            }
+                        } else {
+                            nextResult = result;
+                        }
+                    }
+                    return null != nextResult;
+                }
+
+                @Override
+                public Result next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("Reached the end of the region scans");
+                    }
+                    final Result result = nextResult;
+                    nextResult = null;
+                    return result;
+                }
+
+                @Override
+                public void close() {
+                    ParallelRegionScanner.this.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (null != executor) {
+                // Interrupts any region scans blocked on a full queue
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+
+        private void scanRegion(final Pair<byte[], byte[]> region, final BlockingQueue<Result> queue) {
+            final Scan scan = createScan();
+            scan.setStartRow(region.getFirst());
+            scan.setStopRow(region.getSecond());
+            try (Table table = store.getTable();
+                 ResultScanner scanner = table.getScanner(scan)) {
+                for (final Result result : scanner) {
+                    if (closed) {
+                        return;
+                    }
+                    queue.put(result);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final IOException | StoreException | RuntimeException e) {
+                if (!closed) {
+                    error = e;
+                }
+            }
+
+            try {
+                queue.put(END_OF_REGION);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private Result take(final BlockingQueue<Result> queue) {
+            try {
+                return queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted whilst waiting for the region scans", e);
+            }
+        }
+    }
+
     private final class HBaseRetrieverIterable extends TransformOneToManyIterable<Result, Element> {
         private final CloseableIterable<Result> scanner;
 
@@ -216,6 +565,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         @Override
         protected Iterable<Element> transform(final Result item) {
+            rowsScanned++;
+            cellsScanned += item.size();
             final Iterator<Cell> cellsItr = item.listCells().iterator();
             return () -> new Iterator<Element>() {
                 private Element nextElement;
@@ -229,6 +580,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                             nextElement = deserialiseAndTransform(possibleNext);
                             if (postTransformFilter(nextElement)) {
                                 ViewUtil.removeProperties(operation.getView(), nextElement);
+                                elementsReturned++;
                                 hasNext = true;
                                 return true;
                             } else {
@@ -23,6 +23,7 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
@@ -33,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.GafferCoprocessor;
@@ -264,6 +266,30 @@ public final class TableUtils {
         }
     }
 
+    /**
+     * Gets the start and end row keys of each region of the store's table,
+     * in row key order. The first region has an empty start key and the last
+     * region has an empty end key.
+     *
+     * @param store the hbase store
+     * @return the start and end row keys of each region
+     * @throws StoreException if the region locations could not be fetched
+     */
+    public static List<Pair<byte[], byte[]>> getRegionBoundaries(final HBaseStore store) throws StoreException {
+        try (RegionLocator locator = store.getConnection().getRegionLocator(store.getTableName())) {
+            final org.apache.hadoop.hbase.util.Pair<byte[][], byte[][]> startEndKeys = locator.getStartEndKeys();
+            final byte[][] startKeys = startEndKeys.getFirst();
+            final byte[][] endKeys = startEndKeys.getSecond();
+            final List<Pair<byte[], byte[]>> boundaries = new ArrayList<>(startKeys.length);
+            for (int i = 0; i < startKeys.length; i++) {
+                boundaries.add(new Pair<>(startKeys[i], endKeys[i]));
+            }
+            return boundaries;
+        } catch (final IOException e) {
+            throw new StoreException("Failed to get the region boundaries of table " + store.getTableName(), e);
+        }
+    }
+
     public static void dropTable(final HBaseStore store) throws StoreException {
         dropTable(store.getConnection(), store.getTableName());
     }
@@ -28,6 +28,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class HBasePropertiesTest {
     @Test
@@ -39,11 +40,23 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setMaxEntriesForBatchScanner("100");
+        properties.setScannerCaching("500");
+        properties.setScannerMaxResultSizeInBytes("2097152");
+        properties.setReadAhead(true);
+        properties.setFullScanConcurrency("8");
+        properties.setFullScanPreserveOrder(true);
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertEquals(100, properties.getMaxEntriesForBatchScanner());
+        assertEquals(500, properties.getScannerCaching());
+        assertEquals(2097152L, properties.getScannerMaxResultSizeInBytes());
+        assertTrue(properties.getReadAhead());
+        assertEquals(8, properties.getFullScanConcurrency());
+        assertTrue(properties.getFullScanPreserveOrder());
     }
 
     @Test
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectionProcessorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .build())
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.PROP_1, "string")
+                    .property(TestPropertyNames.PROP_2, "long")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .aggregate(false)
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.PROP_1, "string")
+                    .property(TestPropertyNames.PROP_2, "long")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .aggregate(false)
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldConstructWithSchemaAndView() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build();
+
+        // When
+        final ProjectionProcessor processor = new ProjectionProcessor(serialisation, SCHEMA, view);
+
+        // Then
+        assertEquals(SCHEMA, processor.getSchema());
+        assertEquals(view, processor.getView());
+    }
+
+    @Test
+    public void shouldOnlyRequireProjectionWhenViewRestrictsProperties() {
+        assertFalse(ProjectionProcessor.isProjectionRequired(null));
+        assertFalse(ProjectionProcessor.isProjectionRequired(new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build()));
+        assertTrue(ProjectionProcessor.isProjectionRequired(new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.COUNT)
+                        .build())
+                .build()));
+        assertTrue(ProjectionProcessor.isProjectionRequired(new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.COUNT)
+                        .build())
+                .build()));
+    }
+
+    @Test
+    public void shouldRemovePropertiesNotInViewProperties() throws SerialisationException {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final ProjectionProcessor processor = new ProjectionProcessor(serialisation, SCHEMA, view);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEntity(), serialisation);
+        final Cell originalCell = elementCell.getCell();
+
+        // When
+        final List<LazyElementCell> result = processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        assertEquals(1, result.size());
+        final Cell projectedCell = result.get(0).getCell();
+        assertTrue(projectedCell.getValueLength() < originalCell.getValueLength());
+        assertArrayEquals(org.apache.hadoop.hbase.CellUtil.cloneRow(originalCell), org.apache.hadoop.hbase.CellUtil.cloneRow(projectedCell));
+        assertArrayEquals(org.apache.hadoop.hbase.CellUtil.cloneQualifier(originalCell), org.apache.hadoop.hbase.CellUtil.cloneQualifier(projectedCell));
+        assertEquals(originalCell.getTimestamp(), projectedCell.getTimestamp());
+
+        final Element element = serialisation.getElement(projectedCell, false);
+        assertEquals("value1", element.getProperty(TestPropertyNames.PROP_1));
+        assertNull(element.getProperty(TestPropertyNames.PROP_2));
+        assertNull(element.getProperty(TestPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldRemoveExcludedProperties() throws SerialisationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.COUNT)
+                        .build())
+                .build();
+        final ProjectionProcessor processor = new ProjectionProcessor(serialisation, SCHEMA, view);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEdge(), serialisation);
+
+        // When
+        processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        final Element element = serialisation.getElement(elementCell.getCell(), false);
+        assertEquals("value1", element.getProperty(TestPropertyNames.PROP_1));
+        assertEquals(2L, element.getProperty(TestPropertyNames.PROP_2));
+        assertNull(element.getProperty(TestPropertyNames.COUNT));
+        assertNull(elementCell.getElement().getProperty(TestPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldKeepPropertiesRequiredByPostTransformFilter() throws SerialisationException {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.COUNT)
+                                .execute(new IsMoreThan(0L))
+                                .build())
+                        .build())
+                .build();
+        final ProjectionProcessor processor = new ProjectionProcessor(serialisation, SCHEMA, view);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEntity(), serialisation);
+
+        // When
+        processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        final Element element = serialisation.getElement(elementCell.getCell(), false);
+        assertEquals("value1", element.getProperty(TestPropertyNames.PROP_1));
+        assertNull(element.getProperty(TestPropertyNames.PROP_2));
+        assertEquals(3L, element.getProperty(TestPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldNotModifyCellsForGroupsWithAllProperties() throws SerialisationException {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.COUNT)
+                        .build())
+                .build();
+        final ProjectionProcessor processor = new ProjectionProcessor(serialisation, SCHEMA, view);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEntity(), serialisation);
+        final Cell originalCell = elementCell.getCell();
+
+        // When
+        processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        assertSame(originalCell, elementCell.getCell());
+    }
+
+    private Entity createEntity() {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.PROP_1, "value1")
+                .property(TestPropertyNames.PROP_2, 2L)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+    }
+
+    private Edge createEdge() {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.PROP_1, "value1")
+                .property(TestPropertyNames.PROP_2, 2L)
+                .property(TestPropertyNames.COUNT, 3L)
+                .build();
+    }
+}
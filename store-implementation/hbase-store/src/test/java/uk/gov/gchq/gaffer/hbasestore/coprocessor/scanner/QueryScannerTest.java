@@ -24,13 +24,16 @@ import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ProjectionProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
@@ -239,6 +242,30 @@ public class QueryScannerTest {
         assertEquals(VIEW, ((PostAggregationFilterProcessor) processors.get(i)).getView());
     }
 
+    @Test
+    public void shouldConstructProcessorsWithProjection() throws OperationException, IOException {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY_2, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.COUNT)
+                        .build())
+                .build();
+        final Scan scan = mock(Scan.class);
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(view.toCompactJson());
+        given(scan.getAttribute(HBaseStoreConstants.EXTRA_PROCESSORS)).willReturn(null);
+
+        // When
+        final List<GafferScannerProcessor> processors = QueryScanner.createProcessors(scan, SCHEMA, serialisation);
+
+        // Then
+        assertEquals(7, processors.size());
+        final int i = 6;
+        assertTrue(processors.get(i - 1) instanceof PostAggregationFilterProcessor);
+        assertTrue(processors.get(i) instanceof ProjectionProcessor);
+        assertEquals(SCHEMA, ((ProjectionProcessor) processors.get(i)).getSchema());
+        assertEquals(view, ((ProjectionProcessor) processors.get(i)).getView());
+    }
+
     @Test
     public void shouldThrowErrorWhenInvalidExtras() throws OperationException, IOException {
         // Given
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.SingleUseMiniHBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.utils.TableUtils;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HBaseRetrieverTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(HBaseRetrieverTest.class));
+    private static final HBaseProperties PROPERTIES = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(HBaseRetrieverTest.class));
+    private static final int NUM_ENTITIES = 23;
+    private static final long SPLIT_TIMEOUT_MS = 60000;
+
+    @Test
+    public void shouldRetrieveElementsInBatches() throws Exception {
+        shouldRetrieveElements(false);
+    }
+
+    @Test
+    public void shouldRetrieveElementsInBatchesWithReadAhead() throws Exception {
+        shouldRetrieveElements(true);
+    }
+
+    @Test
+    public void shouldCloseReadAheadScannerBeforeAllBatchesAreRead() throws Exception {
+        // Given
+        final HBaseRetriever<GetElements> retriever = createRetriever(true, createSeeds(NUM_ENTITIES));
+        final CloseableIterator<Element> iterator = retriever.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+
+        // When
+        retriever.close();
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        assertEquals(new HashSet<>(createEntities(NUM_ENTITIES)), new HashSet<>(results));
+        retriever.close();
+    }
+
+    @Test
+    public void shouldRetrieveAllElementsFromRegionsConcurrently() throws Exception {
+        // Given
+        final SingleUseMiniHBaseStore store = createStore(false, "4", false);
+        splitTable(store);
+        final HBaseRetriever<GetAllElements> retriever = createAllElementsRetriever(store);
+
+        // When
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        assertEquals(new HashSet<>(createEntities(NUM_ENTITIES)), new HashSet<>(results));
+        assertEquals(NUM_ENTITIES, retriever.getRowsScanned());
+        assertEquals(NUM_ENTITIES, retriever.getElementsReturned());
+        retriever.close();
+    }
+
+    @Test
+    public void shouldRetrieveAllElementsFromRegionsConcurrentlyInRowKeyOrder() throws Exception {
+        // Given
+        final SingleUseMiniHBaseStore store = createStore(false, "4", true);
+        final List<Element> expected = Lists.newArrayList(createAllElementsRetriever(store));
+        splitTable(store);
+        final HBaseRetriever<GetAllElements> retriever = createAllElementsRetriever(store);
+
+        // When
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        assertEquals(NUM_ENTITIES, results.size());
+        assertEquals(expected, results);
+        retriever.close();
+    }
+
+    @Test
+    public void shouldCloseRegionScansBeforeAllRegionsAreRead() throws Exception {
+        // Given
+        final SingleUseMiniHBaseStore store = createStore(false, "4", false);
+        splitTable(store);
+        final HBaseRetriever<GetAllElements> retriever = createAllElementsRetriever(store);
+        final CloseableIterator<Element> iterator = retriever.iterator();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+
+        // When
+        retriever.close();
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        assertEquals(new HashSet<>(createEntities(NUM_ENTITIES)), new HashSet<>(results));
+        retriever.close();
+    }
+
+    private void shouldRetrieveElements(final boolean readAhead) throws Exception {
+        // Given - more seeds than fit in one batch, including seeds with no elements
+        final List<EntityId> seeds = createSeeds(NUM_ENTITIES);
+        seeds.add(new EntitySeed("notPresent"));
+        final HBaseRetriever<GetElements> retriever = createRetriever(readAhead, seeds);
+
+        // When
+        final List<Element> results = Lists.newArrayList(retriever);
+
+        // Then
+        assertEquals(new HashSet<>(createEntities(NUM_ENTITIES)), new HashSet<>(results));
+        assertEquals(NUM_ENTITIES, retriever.getRowsScanned());
+        assertEquals(NUM_ENTITIES, retriever.getCellsScanned());
+        assertEquals(NUM_ENTITIES, retriever.getElementsReturned());
+        retriever.close();
+    }
+
+    private HBaseRetriever<GetElements> createRetriever(final boolean readAhead, final List<EntityId> seeds) throws StoreException, OperationException {
+        final SingleUseMiniHBaseStore store = createStore(readAhead, HBaseProperties.FULL_SCAN_CONCURRENCY_DEFAULT, false);
+        final GetElements operation = new GetElements.Builder()
+                .input(seeds)
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        return store.createRetriever(operation, new User(), seeds, true);
+    }
+
+    private HBaseRetriever<GetAllElements> createAllElementsRetriever(final SingleUseMiniHBaseStore store) throws StoreException {
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        return store.createRetriever(operation, new User(), null, false);
+    }
+
+    private SingleUseMiniHBaseStore createStore(final boolean readAhead,
+                                                final String fullScanConcurrency,
+                                                final boolean fullScanPreserveOrder) throws StoreException, OperationException {
+        final HBaseProperties properties = PROPERTIES.clone();
+        properties.setReadAhead(readAhead);
+        properties.setScannerCaching("2");
+        properties.setScannerMaxResultSizeInBytes("1048576");
+        properties.setFullScanConcurrency(fullScanConcurrency);
+        properties.setFullScanPreserveOrder(fullScanPreserveOrder);
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        store.initialise("graphId", SCHEMA, properties);
+        store.execute(new AddElements.Builder()
+                .input(createEntities(NUM_ENTITIES))
+                .build(), new Context());
+        return store;
+    }
+
+    private static void splitTable(final SingleUseMiniHBaseStore store) throws Exception {
+        try (Admin admin = store.getConnection().getAdmin()) {
+            admin.flush(store.getTableName());
+            admin.split(store.getTableName(), Bytes.toBytes("vertex2"));
+        }
+
+        final long timeout = System.currentTimeMillis() + SPLIT_TIMEOUT_MS;
+        while (TableUtils.getRegionBoundaries(store).size() < 2) {
+            assertFalse(System.currentTimeMillis() > timeout, "Table was not split");
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<EntityId> createSeeds(final int numSeeds) {
+        final List<EntityId> seeds = new ArrayList<>();
+        for (int i = 0; i < numSeeds; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        return seeds;
+    }
+
+    private static List<Element> createEntities(final int numEntities) {
+        final List<Element> entities = new ArrayList<>();
+        for (int i = 0; i < numEntities; i++) {
+            entities.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property("count", 1)
+                    .build());
+        }
+        return entities;
+    }
+}
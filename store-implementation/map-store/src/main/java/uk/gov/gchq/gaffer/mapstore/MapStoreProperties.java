@@ -49,6 +49,21 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the number of threads used to add elements. If the
+     * value is set to more than 1 then batches of elements are aggregated and
+     * added to the maps concurrently. Concurrent ingest requires the map
+     * factory to create {@link java.util.concurrent.ConcurrentMap}s.
+     */
+    public static final String INGEST_THREADS = "gaffer.store.mapstore.map.ingest.threads";
+    public static final int INGEST_THREADS_DEFAULT = 1;
+
+    /**
+     * The batch size used for concurrent ingest if no ingest buffer size is
+     * set.
+     */
+    public static final int CONCURRENT_INGEST_BUFFER_SIZE_DEFAULT = 10000;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -115,6 +130,23 @@ public class MapStoreProperties extends StoreProperties {
         set(INGEST_BUFFER_SIZE, String.valueOf(ingestBufferSize));
     }
 
+    public int getIngestThreads() {
+        final String threads = get(INGEST_THREADS, null);
+        if (null == threads) {
+            return INGEST_THREADS_DEFAULT;
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setIngestThreads(final int ingestThreads) {
+        set(INGEST_THREADS, String.valueOf(ingestThreads));
+    }
+
+    public boolean isConcurrentIngest() {
+        return getIngestThreads() > 1;
+    }
+
     public boolean isStaticMap() {
         return Boolean.parseBoolean(get(STATIC_MAP, STATIC_MAP_DEFAULT));
     }
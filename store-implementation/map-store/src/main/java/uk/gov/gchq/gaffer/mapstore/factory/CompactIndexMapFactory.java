@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ElementIndexMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.InternedMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.LockStripedMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link SimpleMapFactory} that holds {@link MultiMap}s, such as the
+ * vertex and edge indexes of the {@link uk.gov.gchq.gaffer.mapstore.MapStore},
+ * in compact {@link InternedMultiMap}s rather than maps of sets.
+ * <p>
+ * Keys and elements are interned to dense int ids and the index is stored in
+ * primitive adjacency lists, which can optionally be held off-heap by setting
+ * {@link #OFF_HEAP} to true. This substantially reduces the object overhead
+ * and garbage collection cost of indexing large graphs.
+ */
+public class CompactIndexMapFactory extends SimpleMapFactory {
+    public static final String OFF_HEAP = "gaffer.store.mapstore.map.factory.compact.offHeap";
+    public static final String OFF_HEAP_DEFAULT = "false";
+
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+    private boolean offHeap;
+
+    public CompactIndexMapFactory() {
+        super();
+    }
+
+    protected CompactIndexMapFactory(final ElementCloner cloner) {
+        super(cloner);
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        super.initialise(schema, properties);
+        offHeap = Boolean.parseBoolean(properties.get(OFF_HEAP, OFF_HEAP_DEFAULT));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> createMultiMap(valueClass));
+    }
+
+    /**
+     * The interned ids are shared by every key of an {@link InternedMultiMap},
+     * so concurrent updates are always guarded by a single lock.
+     */
+    @Override
+    public <K, V> MultiMap<K, V> getConcurrentMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass, final int concurrencyLevel) {
+        return new LockStripedMultiMap<>(getMultiMap(mapName, keyClass, valueClass), 1);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        multiMaps.clear();
+    }
+
+    protected boolean isOffHeap() {
+        return offHeap;
+    }
+
+    private MultiMap createMultiMap(final Class<?> valueClass) {
+        if (null != valueClass && Element.class.isAssignableFrom(valueClass)) {
+            return new ElementIndexMultiMap<>(offHeap);
+        }
+        return new InternedMultiMap<>(offHeap);
+    }
+}
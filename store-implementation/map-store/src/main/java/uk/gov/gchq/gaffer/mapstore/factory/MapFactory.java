@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.mapstore.factory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.LockStripedMultiMap;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -64,6 +65,26 @@ public interface MapFactory {
      */
     <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass);
 
+    /**
+     * Retrieve a named {@link MultiMap} that can be safely updated from multiple
+     * threads.
+     *
+     * By default the {@link MultiMap} from {@link #getMultiMap(String, Class, Class)}
+     * is guarded by a single lock. Implementations that create maps supporting
+     * concurrent updates should stripe the locks up to the requested concurrency level.
+     *
+     * @param mapName the name of the multi map to retrieve
+     * @param keyClass the class type to use for the map keys
+     * @param valueClass the class type to use for the map values
+     * @param concurrencyLevel the expected number of concurrently updating threads
+     * @param <K> the type of the map keys
+     * @param <V> the type of the map values
+     * @return the requested {@link MultiMap} object
+     */
+    default <K, V> MultiMap<K, V> getConcurrentMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass, final int concurrencyLevel) {
+        return new LockStripedMultiMap<>(getMultiMap(mapName, keyClass, valueClass), 1);
+    }
+
     /**
      * Update a value associated with a key in a specified map object.
      *
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -39,6 +40,9 @@ import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 
 /**
  * An {@link OperationHandler} for the {@link AddElements} operation on the {@link MapStore}.
@@ -53,7 +57,12 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             elements = new ValidatedElements(elements, store.getSchema(), addElements.isSkipInvalidElements());
         }
 
-        addElements(elements, (MapStore) store);
+        final MapStore mapStore = (MapStore) store;
+        if (mapStore.getMapImpl().isConcurrentIngest()) {
+            addElementsConcurrently(elements, mapStore);
+        } else {
+            addElements(elements, mapStore);
+        }
         return null;
     }
 
@@ -88,6 +97,87 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    /**
+     * Splits the elements into batches on the calling thread, then aggregates each
+     * batch and adds it to the maps on the ingest thread pool. The number of batches
+     * waiting to be added is bounded so that the elements are never all held in memory.
+     */
+    private void addElementsConcurrently(final Iterable<? extends Element> elements, final MapStore mapStore) throws OperationException {
+        final MapImpl mapImpl = mapStore.getMapImpl();
+        final Schema schema = mapStore.getSchema();
+        final int threads = mapImpl.getIngestThreads();
+        final int configuredBufferSize = mapStore.getProperties().getIngestBufferSize();
+        final int bufferSize = configuredBufferSize < 1 ? MapStoreProperties.CONCURRENT_INGEST_BUFFER_SIZE_DEFAULT : configuredBufferSize;
+        final int maxBatchesInFlight = threads * 2;
+        LOGGER.info("Adding elements concurrently using {} threads, batch size = {}", threads, bufferSize);
+
+        final CompletionService<Integer> completionService = new ExecutorCompletionService<>(mapImpl.getIngestExecutorService());
+        final long startTime = System.currentTimeMillis();
+        long totalElements = 0;
+        int batchesInFlight = 0;
+        try {
+            List<Element> batch = new ArrayList<>(bufferSize);
+            for (final Element element : elements) {
+                if (null != element) {
+                    batch.add(mapImpl.cloneElement(element, schema));
+                    if (batch.size() >= bufferSize) {
+                        if (batchesInFlight >= maxBatchesInFlight) {
+                            totalElements += awaitBatch(completionService);
+                            batchesInFlight--;
+                        }
+                        submitBatch(completionService, mapImpl, batch);
+                        batchesInFlight++;
+                        batch = new ArrayList<>(bufferSize);
+                    }
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                submitBatch(completionService, mapImpl, batch);
+                batchesInFlight++;
+            }
+
+            while (batchesInFlight > 0) {
+                totalElements += awaitBatch(completionService);
+                batchesInFlight--;
+            }
+        } finally {
+            // Ensure no batches are still being added if the input failed
+            while (batchesInFlight > 0) {
+                try {
+                    completionService.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                batchesInFlight--;
+            }
+        }
+
+        final long duration = Math.max(1, System.currentTimeMillis() - startTime);
+        LOGGER.info("Added {} elements using {} threads in {}ms ({} elements/sec)",
+                totalElements, threads, duration, totalElements * 1000 / duration);
+    }
+
+    private void submitBatch(final CompletionService<Integer> completionService, final MapImpl mapImpl, final List<Element> batch) {
+        completionService.submit(() -> {
+            final Schema ingestSchema = mapImpl.getIngestSchema();
+            addBatch(mapImpl, ingestSchema, AggregatorUtil.ingestAggregate(batch, ingestSchema));
+            return batch.size();
+        });
+    }
+
+    private int awaitBatch(final CompletionService<Integer> completionService) throws OperationException {
+        try {
+            return completionService.take().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("Failed to add elements: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
         for (final Element element : elements) {
             if (null != element) {
@@ -72,7 +72,7 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
             }
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView(), false, true);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getAllElements.getView(), element);
                 return element;
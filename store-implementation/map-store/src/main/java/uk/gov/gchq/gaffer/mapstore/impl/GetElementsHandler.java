@@ -89,7 +89,7 @@ public class GetElementsHandler
                 elements = GetElementsUtil.applyVisibilityFilter(elements, schema, user);
             }
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getElements.getView(), false, true);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
@@ -23,7 +23,6 @@ import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
-import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -44,10 +43,17 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -182,6 +188,31 @@ public final class GetElementsUtil {
                                             final Schema schema,
                                             final View view,
                                             final boolean includeMatchedVertex) {
+        return applyView(elementStream, schema, view, includeMatchedVertex, false);
+    }
+
+    /**
+     * Applies the filters, aggregation and transforms in a {@link View} to a stream of elements.
+     * <p>
+     * The view is applied lazily. Query time aggregation is only carried out for the groups that
+     * require it, by incrementally merging elements keyed on their query time group-by. Elements
+     * in all other groups are streamed straight through, so unless aggregation is required the
+     * elements are never all held in memory.
+     *
+     * @param elementStream        the elements to apply the view to
+     * @param schema               the schema
+     * @param view                 the view to apply
+     * @param includeMatchedVertex whether aggregation groups should include the Edge Matched Vertex
+     * @param ingestAggregated     true if the stream contains at most one element for each ingest
+     *                             aggregation key, in which case groups that do not override the
+     *                             schema group-by do not need aggregating again
+     * @return the elements with the view applied
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean includeMatchedVertex,
+                                            final boolean ingestAggregated) {
         final Set<String> viewGroups = view.getGroups();
         Stream<Element> stream = elementStream;
         // Check group is valid
@@ -197,8 +228,13 @@ public final class GetElementsUtil {
         });
 
         // Apply aggregation
-        final CloseableIterable<Element> iterable = AggregatorUtil.queryAggregate(stream.collect(Collectors.toList()), schema, view, includeMatchedVertex);
-        stream = StreamSupport.stream(iterable.spliterator(), false);
+        final Set<String> groupsToAggregate = getGroupsToQueryAggregate(schema, view, ingestAggregated);
+        if (!groupsToAggregate.isEmpty()) {
+            final Stream<Element> preAggregationStream = stream;
+            final Iterator<Element> aggregatedItr = new QueryAggregationIterator(preAggregationStream.iterator(), groupsToAggregate, schema, view, includeMatchedVertex);
+            stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(aggregatedItr, Spliterator.NONNULL), false)
+                    .onClose(preAggregationStream::close);
+        }
 
         // Apply post-aggregation filter
         stream = stream.filter(e -> {
@@ -224,5 +260,84 @@ public final class GetElementsUtil {
 
         return stream;
     }
-}
 
+    private static Set<String> getGroupsToQueryAggregate(final Schema schema, final View view, final boolean ingestAggregated) {
+        final Set<String> groupsToAggregate = new HashSet<>();
+        for (final String group : schema.getAggregatedGroups()) {
+            final ViewElementDefinition ved = view.getElement(group);
+            if (null != ved) {
+                if (!ingestAggregated
+                        || (null != ved.getGroupBy() && !ved.getGroupBy().equals(schema.getElement(group).getGroupBy()))) {
+                    groupsToAggregate.add(group);
+                }
+            }
+        }
+        return groupsToAggregate;
+    }
+
+    /**
+     * Applies query time aggregation to the elements in the given groups, merging
+     * them into a map keyed on their query time group-by as they are read. Elements
+     * in other groups are passed straight through and the aggregated elements are
+     * returned once the input has been exhausted.
+     */
+    private static final class QueryAggregationIterator implements Iterator<Element> {
+        private final Iterator<Element> input;
+        private final Set<String> groupsToAggregate;
+        private final Function<Element, Element> toKey;
+        private final BinaryOperator<Element> aggregator;
+        private final Map<Element, Element> aggregatedElements = new HashMap<>();
+        private Iterator<Element> aggregatedItr;
+        private Element next;
+
+        private QueryAggregationIterator(final Iterator<Element> input,
+                                         final Set<String> groupsToAggregate,
+                                         final Schema schema,
+                                         final View view,
+                                         final boolean includeMatchedVertex) {
+            this.input = input;
+            this.groupsToAggregate = groupsToAggregate;
+            this.toKey = new AggregatorUtil.ToQueryElementKey(schema, view, includeMatchedVertex);
+            this.aggregator = new AggregatorUtil.QueryElementBinaryOperator(schema, view);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+
+            while (null == aggregatedItr && input.hasNext()) {
+                final Element element = input.next();
+                if (null != element) {
+                    if (groupsToAggregate.contains(element.getGroup())) {
+                        aggregatedElements.merge(toKey.apply(element), element, aggregator);
+                    } else {
+                        next = element;
+                        return true;
+                    }
+                }
+            }
+
+            if (null == aggregatedItr) {
+                aggregatedItr = aggregatedElements.values().iterator();
+            }
+            if (aggregatedItr.hasNext()) {
+                next = aggregatedItr.next();
+                aggregatedItr.remove();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+    }
+}
@@ -36,6 +36,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -59,6 +65,7 @@ public class MapImpl {
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    private static final long INGEST_THREAD_KEEP_ALIVE_SECONDS = 60L;
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -90,21 +97,52 @@ public class MapImpl {
     private final Schema schema;
     private final boolean maintainIndex;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final int ingestThreads;
+
+    /**
+     * {@link uk.gov.gchq.gaffer.data.element.function.ElementAggregator}s are not
+     * thread safe, so when adding elements concurrently each thread aggregates
+     * using its own copy of the schema.
+     */
+    private final ThreadLocal<Schema> ingestSchema;
+    private final ThreadLocal<AggregatorUtil.IngestPropertiesBinaryOperator> ingestPropertyAggregator;
+    private ExecutorService ingestExecutorService;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        ingestThreads = mapStoreProperties.getIngestThreads();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
             nonAggElements.put(group, mapFactory.getMap(group + "|" + NON_AGG_ELEMENTS, Element.class, Long.class));
         }
 
+        if (isConcurrentIngest()) {
+            for (final Map<?, ?> map : aggElements.values()) {
+                validateConcurrentMap(map);
+            }
+            for (final Map<?, ?> map : nonAggElements.values()) {
+                validateConcurrentMap(map);
+            }
+            final byte[] schemaJson = schema.toCompactJson();
+            ingestSchema = ThreadLocal.withInitial(() -> Schema.fromJson(schemaJson));
+            ingestPropertyAggregator = ThreadLocal.withInitial(() -> new AggregatorUtil.IngestPropertiesBinaryOperator(ingestSchema.get()));
+        } else {
+            ingestSchema = null;
+            ingestPropertyAggregator = null;
+        }
+
         if (maintainIndex) {
-            entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
-            edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            if (isConcurrentIngest()) {
+                entityIdToElements = mapFactory.getConcurrentMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class, ingestThreads);
+                edgeIdToElements = mapFactory.getConcurrentMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class, ingestThreads);
+            } else {
+                entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
+                edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            }
         } else {
             entityIdToElements = null;
             edgeIdToElements = null;
@@ -122,6 +160,7 @@ public class MapImpl {
             entityIdToElements.clear();
             edgeIdToElements.clear();
         }
+        shutdownIngestExecutorService();
     }
 
     void addNonAggElement(final Element element) {
@@ -131,7 +170,7 @@ public class MapImpl {
     void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
         if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
             aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+                    .merge(elementWithGroupByProperties, properties, isConcurrentIngest() ? ingestPropertyAggregator.get() : propertyAggregator);
         }
     }
 
@@ -214,6 +253,44 @@ public class MapImpl {
         return maintainIndex;
     }
 
+    boolean isConcurrentIngest() {
+        return ingestThreads > 1;
+    }
+
+    int getIngestThreads() {
+        return ingestThreads;
+    }
+
+    /**
+     * @return the schema to use for aggregating elements on the current thread
+     */
+    Schema getIngestSchema() {
+        return isConcurrentIngest() ? ingestSchema.get() : schema;
+    }
+
+    synchronized ExecutorService getIngestExecutorService() {
+        if (null == ingestExecutorService) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(ingestThreads, ingestThreads,
+                    INGEST_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "mapstore-ingest-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            // The threads of a MapImpl that is discarded without being cleared exit once they have been idle
+            executor.allowCoreThreadTimeOut(true);
+            ingestExecutorService = executor;
+        }
+        return ingestExecutorService;
+    }
+
+    private synchronized void shutdownIngestExecutorService() {
+        if (null != ingestExecutorService) {
+            ingestExecutorService.shutdown();
+            ingestExecutorService = null;
+        }
+    }
+
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
@@ -270,6 +347,14 @@ public class MapImpl {
         return mapFactory;
     }
 
+    private void validateConcurrentMap(final Map<?, ?> map) {
+        if (!(map instanceof ConcurrentMap)) {
+            throw new IllegalArgumentException("Adding elements with " + ingestThreads
+                    + " threads requires the map factory to create ConcurrentMaps, but it created a "
+                    + map.getClass().getName());
+        }
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+/**
+ * An {@link InternedMultiMap} for indexing {@link Element}s.
+ * <p>
+ * The matched vertex of an {@link Edge} is not part of its identity, so the
+ * SOURCE and DESTINATION matched copies of an edge are interned as a single
+ * instance and the matched vertex is recorded against each index entry.
+ * The DESTINATION matched copy is only created when it is read.
+ *
+ * @param <K> the type of key
+ */
+public class ElementIndexMultiMap<K> extends InternedMultiMap<K, Element> {
+    private static final int DESTINATION_MATCHED = 1;
+
+    public ElementIndexMultiMap() {
+        super();
+    }
+
+    public ElementIndexMultiMap(final boolean offHeap) {
+        super(offHeap);
+    }
+
+    @Override
+    protected int getFlag(final Element value) {
+        if (value instanceof Edge && MatchedVertex.DESTINATION == ((Edge) value).getMatchedVertex()) {
+            return DESTINATION_MATCHED;
+        }
+        return 0;
+    }
+
+    @Override
+    protected Element materialise(final Element value, final int flag) {
+        if (value instanceof Edge) {
+            final Edge edge = (Edge) value;
+            final MatchedVertex matchedVertex = DESTINATION_MATCHED == flag ? MatchedVertex.DESTINATION : MatchedVertex.SOURCE;
+            if (matchedVertex != edge.getMatchedVertex()) {
+                return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), matchedVertex, edge.getProperties());
+            }
+        }
+        return value;
+    }
+}
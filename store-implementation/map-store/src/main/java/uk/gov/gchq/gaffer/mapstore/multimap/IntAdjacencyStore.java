@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Stores sets of ints (adjacency lists) keyed by a dense int list id.
+ * <p>
+ * Each list is a chain of blocks of doubling capacity, allocated from large
+ * fixed size pages of ints. Pages can be held on the heap or, to keep the
+ * index out of reach of the garbage collector, in direct {@link ByteBuffer}s.
+ * <p>
+ * Small lists are checked for duplicates with a linear scan. Once a list
+ * grows past {@link #SCAN_THRESHOLD} its members are also tracked in a
+ * primitive hash set so that adding to high degree lists stays constant time.
+ */
+final class IntAdjacencyStore {
+    static final int DEFAULT_PAGE_SHIFT = 20;
+    static final int SCAN_THRESHOLD = 32;
+
+    private static final int NO_BLOCK = -1;
+    private static final int HEADER_SIZE = 3;
+    private static final int NEXT = 0;
+    private static final int USED = 1;
+    private static final int CAPACITY = 2;
+    private static final int INITIAL_BLOCK_CAPACITY = 2;
+    private static final int INITIAL_LISTS = 16;
+
+    private final boolean offHeap;
+    private final int pageShift;
+    private final int pageSize;
+    private final int pageMask;
+    private final int maxBlockCapacity;
+
+    private IntBuffer[] pages;
+    private int pageCount;
+    private int pageOffset;
+
+    private int[] heads;
+    private int[] tails;
+    private int[] sizes;
+
+    private final LongOpenHashSet largeListMembers = new LongOpenHashSet();
+
+    IntAdjacencyStore(final boolean offHeap) {
+        this(offHeap, DEFAULT_PAGE_SHIFT);
+    }
+
+    IntAdjacencyStore(final boolean offHeap, final int pageShift) {
+        if (pageShift < 3 || pageShift > 28) {
+            throw new IllegalArgumentException("Page shift must be between 3 and 28, but was: " + pageShift);
+        }
+        this.offHeap = offHeap;
+        this.pageShift = pageShift;
+        this.pageSize = 1 << pageShift;
+        this.pageMask = pageSize - 1;
+        this.maxBlockCapacity = pageSize - HEADER_SIZE;
+        clear();
+    }
+
+    /**
+     * Adds a value to a list, creating the list if required.
+     *
+     * @param listId the list id
+     * @param value  the value to add
+     * @return true if the value was added, false if the list already contained it
+     */
+    boolean add(final int listId, final int value) {
+        ensureList(listId);
+        if (contains(listId, value)) {
+            return false;
+        }
+
+        int tail = tails[listId];
+        if (NO_BLOCK == tail) {
+            tail = allocate(INITIAL_BLOCK_CAPACITY);
+            heads[listId] = tail;
+            tails[listId] = tail;
+        } else if (read(tail + USED) == read(tail + CAPACITY)) {
+            final int block = allocate(Math.min(read(tail + CAPACITY) << 1, maxBlockCapacity));
+            write(tail + NEXT, block);
+            tails[listId] = block;
+            tail = block;
+        }
+
+        final int used = read(tail + USED);
+        write(tail + HEADER_SIZE + used, value);
+        write(tail + USED, used + 1);
+
+        final int size = ++sizes[listId];
+        if (size > SCAN_THRESHOLD) {
+            if (size == SCAN_THRESHOLD + 1) {
+                final PrimitiveIterator.OfInt itr = iterator(listId);
+                while (itr.hasNext()) {
+                    largeListMembers.add(toMember(listId, itr.nextInt()));
+                }
+            } else {
+                largeListMembers.add(toMember(listId, value));
+            }
+        }
+        return true;
+    }
+
+    boolean contains(final int listId, final int value) {
+        if (listId >= sizes.length) {
+            return false;
+        }
+        if (sizes[listId] > SCAN_THRESHOLD) {
+            return largeListMembers.contains(toMember(listId, value));
+        }
+
+        final PrimitiveIterator.OfInt itr = iterator(listId);
+        while (itr.hasNext()) {
+            if (value == itr.nextInt()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size(final int listId) {
+        return listId < sizes.length ? sizes[listId] : 0;
+    }
+
+    PrimitiveIterator.OfInt iterator(final int listId) {
+        return new BlockIterator(listId < heads.length ? heads[listId] : NO_BLOCK);
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    void clear() {
+        pages = new IntBuffer[INITIAL_LISTS];
+        pageCount = 0;
+        pageOffset = pageSize;
+        heads = new int[INITIAL_LISTS];
+        tails = new int[INITIAL_LISTS];
+        sizes = new int[INITIAL_LISTS];
+        Arrays.fill(heads, NO_BLOCK);
+        Arrays.fill(tails, NO_BLOCK);
+        largeListMembers.clear();
+    }
+
+    private void ensureList(final int listId) {
+        if (listId >= heads.length) {
+            final int oldLength = heads.length;
+            final int newLength = Math.max(oldLength << 1, listId + 1);
+            heads = Arrays.copyOf(heads, newLength);
+            tails = Arrays.copyOf(tails, newLength);
+            sizes = Arrays.copyOf(sizes, newLength);
+            Arrays.fill(heads, oldLength, newLength, NO_BLOCK);
+            Arrays.fill(tails, oldLength, newLength, NO_BLOCK);
+        }
+    }
+
+    private int allocate(final int capacity) {
+        final int required = capacity + HEADER_SIZE;
+        if (pageOffset + required > pageSize) {
+            addPage();
+        }
+
+        final int block = ((pageCount - 1) << pageShift) + pageOffset;
+        pageOffset += required;
+        write(block + NEXT, NO_BLOCK);
+        write(block + USED, 0);
+        write(block + CAPACITY, capacity);
+        return block;
+    }
+
+    private void addPage() {
+        if ((((long) pageCount + 1) << pageShift) - 1 > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Adjacency store is full, unable to allocate more than " + pageCount + " pages of " + pageSize + " ints");
+        }
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length << 1);
+        }
+        if (offHeap) {
+            pages[pageCount] = ByteBuffer.allocateDirect(pageSize * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        } else {
+            pages[pageCount] = IntBuffer.allocate(pageSize);
+        }
+        pageCount++;
+        pageOffset = 0;
+    }
+
+    private int read(final int address) {
+        return pages[address >>> pageShift].get(address & pageMask);
+    }
+
+    private void write(final int address, final int value) {
+        pages[address >>> pageShift].put(address & pageMask, value);
+    }
+
+    private static long toMember(final int listId, final int value) {
+        return ((long) listId << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private final class BlockIterator implements PrimitiveIterator.OfInt {
+        private int block;
+        private int index;
+
+        private BlockIterator(final int head) {
+            this.block = head;
+            skipExhaustedBlocks();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return NO_BLOCK != block;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int value = read(block + HEADER_SIZE + index);
+            index++;
+            skipExhaustedBlocks();
+            return value;
+        }
+
+        private void skipExhaustedBlocks() {
+            while (NO_BLOCK != block && index >= read(block + USED)) {
+                block = read(block + NEXT);
+                index = 0;
+            }
+        }
+    }
+
+    /**
+     * Minimal open addressing set of non-negative longs.
+     */
+    private static final class LongOpenHashSet {
+        private static final long EMPTY = -1L;
+
+        private long[] table;
+        private int size;
+
+        private LongOpenHashSet() {
+            clear();
+        }
+
+        private boolean contains(final long value) {
+            return value == table[findSlot(table, value)];
+        }
+
+        private void add(final long value) {
+            final int slot = findSlot(table, value);
+            if (EMPTY == table[slot]) {
+                table[slot] = value;
+                size++;
+                if (size << 1 > table.length) {
+                    rehash();
+                }
+            }
+        }
+
+        private void clear() {
+            table = new long[INITIAL_LISTS];
+            Arrays.fill(table, EMPTY);
+            size = 0;
+        }
+
+        private void rehash() {
+            final long[] oldTable = table;
+            table = new long[oldTable.length << 1];
+            Arrays.fill(table, EMPTY);
+            for (final long value : oldTable) {
+                if (EMPTY != value) {
+                    table[findSlot(table, value)] = value;
+                }
+            }
+        }
+
+        private static int findSlot(final long[] table, final long value) {
+            final int mask = table.length - 1;
+            long h = value * 0x9E3779B97F4A7C15L;
+            int slot = (int) (h ^ (h >>> 32)) & mask;
+            while (EMPTY != table[slot] && value != table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} that interns keys and values to dense int ids and holds
+ * the mapping between them in primitive adjacency lists.
+ * <p>
+ * Each distinct key and value object is stored exactly once, however many
+ * times it appears in the map, and no per entry {@link Set} or map node is
+ * created. The adjacency lists can optionally be held off-heap.
+ * <p>
+ * Collections returned by {@link #get(Object)} are lazy views - values are
+ * only materialised, via {@link #materialise(Object, int)}, when iterated.
+ * Subclasses can attach a single bit of per entry state to a value by
+ * overriding {@link #getFlag(Object)}, allowing several variants of a value
+ * to share one interned instance.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class InternedMultiMap<K, V> implements MultiMap<K, V> {
+    private static final int FLAG_BITS = 1;
+    private static final int FLAG_MASK = (1 << FLAG_BITS) - 1;
+    private static final int MAX_VALUES = Integer.MAX_VALUE >>> FLAG_BITS;
+
+    private final Interner<K> keys = new Interner<>();
+    private final Interner<V> values = new Interner<>();
+    private final IntAdjacencyStore adjacency;
+
+    public InternedMultiMap() {
+        this(false);
+    }
+
+    public InternedMultiMap(final boolean offHeap) {
+        this.adjacency = new IntAdjacencyStore(offHeap);
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final int valueId = values.intern(value);
+        if (valueId >= MAX_VALUES) {
+            throw new IllegalStateException("Unable to store more than " + MAX_VALUES + " distinct values");
+        }
+        return adjacency.add(keys.intern(key), (valueId << FLAG_BITS) | (getFlag(value) & FLAG_MASK));
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final int keyId = keys.getId(key);
+        if (keyId < 0) {
+            return null;
+        }
+        return new ValuesView(keyId);
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new KeySetView();
+    }
+
+    @Override
+    public void clear() {
+        keys.clear();
+        values.clear();
+        adjacency.clear();
+    }
+
+    public boolean isOffHeap() {
+        return adjacency.isOffHeap();
+    }
+
+    /**
+     * Extracts the per entry flag to store alongside a value.
+     *
+     * @param value the value being added
+     * @return the flag, either 0 or 1
+     */
+    protected int getFlag(final V value) {
+        return 0;
+    }
+
+    /**
+     * Converts an interned value and the flag it was stored with back into
+     * the value to return.
+     *
+     * @param value the interned value
+     * @param flag  the flag stored with the entry
+     * @return the value to return
+     */
+    protected V materialise(final V value, final int flag) {
+        return value;
+    }
+
+    private final class ValuesView extends AbstractCollection<V> {
+        private final int keyId;
+
+        private ValuesView(final int keyId) {
+            this.keyId = keyId;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            final PrimitiveIterator.OfInt codes = adjacency.iterator(keyId);
+            return new Iterator<V>() {
+                @Override
+                public boolean hasNext() {
+                    return codes.hasNext();
+                }
+
+                @Override
+                public V next() {
+                    final int code = codes.nextInt();
+                    return materialise(values.get(code >>> FLAG_BITS), code & FLAG_MASK);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return adjacency.size(keyId);
+        }
+    }
+
+    private final class KeySetView extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new Iterator<K>() {
+                private int id;
+
+                @Override
+                public boolean hasNext() {
+                    return id < keys.size();
+                }
+
+                @Override
+                public K next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return keys.get(id++);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return null != key && keys.getId(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+    }
+}
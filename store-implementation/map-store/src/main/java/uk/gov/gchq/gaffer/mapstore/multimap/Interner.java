@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense int ids, in insertion order, to distinct objects.
+ * <p>
+ * Objects are held once in an array indexed by id and located through an
+ * open-addressing table of ids, so no boxed keys or map entries are created
+ * per object.
+ *
+ * @param <T> the type of object to intern
+ */
+final class Interner<T> {
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] objects;
+    private int[] slots;
+    private int size;
+
+    Interner() {
+        clear();
+    }
+
+    /**
+     * Gets the id for an object, assigning the next free id if the object
+     * has not been seen before.
+     *
+     * @param object the object to intern
+     * @return the id of the object
+     */
+    int intern(final T object) {
+        final int slot = findSlot(object);
+        if (EMPTY != slots[slot]) {
+            return slots[slot];
+        }
+
+        final int id = size;
+        if (id == objects.length) {
+            objects = Arrays.copyOf(objects, objects.length << 1);
+        }
+        objects[id] = object;
+        slots[slot] = id;
+        size++;
+        if (size << 1 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return id;
+    }
+
+    /**
+     * @param object the object to lookup
+     * @return the id of the object, or -1 if the object has not been interned
+     */
+    int getId(final Object object) {
+        return slots[findSlot(object)];
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(final int id) {
+        return (T) objects[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        objects = new Object[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY << 1];
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+
+    private int findSlot(final Object object) {
+        final int mask = slots.length - 1;
+        int slot = spread(object.hashCode()) & mask;
+        while (EMPTY != slots[slot] && !object.equals(objects[slots[slot]])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        final int mask = capacity - 1;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        for (int id = 0; id < size; id++) {
+            int slot = spread(objects[id].hashCode()) & mask;
+            while (EMPTY != slots[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id;
+        }
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
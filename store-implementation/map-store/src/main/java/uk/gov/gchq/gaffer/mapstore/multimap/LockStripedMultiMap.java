@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link MultiMap} wrapper that allows the wrapped map to be updated from
+ * multiple threads.
+ * <p>
+ * Keys are spread over a number of lock stripes. Adding values to a key takes
+ * the write lock of its stripe, and reading the values of a key takes the read
+ * lock and returns a copy of the values. If there is more than one stripe then
+ * the wrapped map must support concurrent updates to different keys, for
+ * example a {@link MapOfSets} backed by a {@link java.util.concurrent.ConcurrentHashMap}.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class LockStripedMultiMap<K, V> implements MultiMap<K, V> {
+    private final MultiMap<K, V> multiMap;
+    private final ReadWriteLock[] locks;
+
+    public LockStripedMultiMap(final MultiMap<K, V> multiMap, final int stripes) {
+        if (null == multiMap) {
+            throw new IllegalArgumentException("MultiMap is required");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("The number of lock stripes must be at least 1, but was: " + stripes);
+        }
+        this.multiMap = multiMap;
+        this.locks = new ReadWriteLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final ReadWriteLock lock = getLock(key);
+        lock.writeLock().lock();
+        try {
+            return multiMap.put(key, value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        final ReadWriteLock lock = getLock(key);
+        lock.writeLock().lock();
+        try {
+            multiMap.put(key, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final ReadWriteLock lock = getLock(key);
+        lock.readLock().lock();
+        try {
+            final Collection<V> values = multiMap.get(key);
+            return null == values ? null : new ArrayList<>(values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return multiMap.keySet();
+    }
+
+    @Override
+    public void clear() {
+        for (final ReadWriteLock lock : locks) {
+            lock.writeLock().lock();
+        }
+        try {
+            multiMap.clear();
+        } finally {
+            for (final ReadWriteLock lock : locks) {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public MultiMap<K, V> getWrappedMultiMap() {
+        return multiMap;
+    }
+
+    public int getStripes() {
+        return locks.length;
+    }
+
+    private ReadWriteLock getLock(final K key) {
+        if (1 == locks.length) {
+            return locks[0];
+        }
+        final int hash = key.hashCode();
+        return locks[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % locks.length];
+    }
+}
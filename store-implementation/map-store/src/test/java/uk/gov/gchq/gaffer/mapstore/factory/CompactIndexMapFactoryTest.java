@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ElementIndexMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.InternedMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class CompactIndexMapFactoryTest {
+
+    @Test
+    public void shouldCreateElementIndexMultiMapForElementValues() {
+        // Given
+        final CompactIndexMapFactory factory = new CompactIndexMapFactory();
+
+        // When
+        final MultiMap<EntityId, Element> map = factory.getMultiMap("index", EntityId.class, Element.class);
+
+        // Then
+        assertEquals(ElementIndexMultiMap.class, map.getClass());
+        assertSame(map, factory.getMultiMap("index", EntityId.class, Element.class));
+    }
+
+    @Test
+    public void shouldCreateInternedMultiMapForOtherValues() {
+        // Given
+        final CompactIndexMapFactory factory = new CompactIndexMapFactory();
+
+        // When
+        final MultiMap<String, String> map = factory.getMultiMap("map", String.class, String.class);
+
+        // Then
+        assertEquals(InternedMultiMap.class, map.getClass());
+        assertFalse(((InternedMultiMap) map).isOffHeap());
+    }
+
+    @Test
+    public void shouldExtractOffHeapFromPropertiesWhenInitialised() {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final CompactIndexMapFactory factory = new CompactIndexMapFactory();
+
+        given(properties.get(SimpleMapFactory.MAP_CLASS, SimpleMapFactory.MAP_CLASS_DEFAULT)).willReturn(SimpleMapFactory.MAP_CLASS_DEFAULT);
+        given(properties.get(CompactIndexMapFactory.OFF_HEAP, CompactIndexMapFactory.OFF_HEAP_DEFAULT)).willReturn("true");
+
+        // When
+        factory.initialise(schema, properties);
+
+        // Then
+        assertTrue(factory.isOffHeap());
+        assertTrue(((InternedMultiMap) factory.getMultiMap("index", EntityId.class, Element.class)).isOffHeap());
+    }
+
+    @Test
+    public void shouldClearMultiMaps() {
+        // Given
+        final CompactIndexMapFactory factory = new CompactIndexMapFactory();
+        final MultiMap<String, String> map = factory.getMultiMap("map", String.class, String.class);
+
+        // When
+        factory.clear();
+
+        // Then
+        assertNotSame(map, factory.getMultiMap("map", String.class, String.class));
+    }
+}
@@ -18,17 +18,30 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import org.junit.jupiter.api.Test;
 
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +60,66 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAddElementsConcurrentlyAndAggregate() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setIngestThreads(4);
+        storeProperties.setIngestBufferSize(3);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithConcurrentIngest")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final List<Element> elements = new ArrayList<>();
+        final int numEdges = 100;
+        final int repeats = 10;
+        for (int i = 0; i < repeats; i++) {
+            for (int j = 0; j < numEdges; j++) {
+                elements.add(new Edge.Builder()
+                        .group(GetAllElementsHandlerTest.BASIC_EDGE1)
+                        .source("A")
+                        .dest("B" + j)
+                        .directed(true)
+                        .property(GetAllElementsHandlerTest.PROPERTY1, "q")
+                        .property(GetAllElementsHandlerTest.COUNT, 1)
+                        .build());
+            }
+        }
+
+        // When
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+
+        // Then
+        final List<Element> results = new ArrayList<>();
+        graph.execute(new GetAllElements(), new User()).forEach(results::add);
+        assertEquals(numEdges, results.size());
+        for (final Element result : results) {
+            assertEquals(repeats, result.getProperty(GetAllElementsHandlerTest.COUNT));
+        }
+
+        final List<Element> seededResults = new ArrayList<>();
+        graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User()).forEach(seededResults::add);
+        assertEquals(numEdges, seededResults.size());
+    }
+
+    @Test
+    public void shouldNotAllowConcurrentIngestWithoutConcurrentMaps() {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setIngestThreads(4);
+        storeProperties.set(SimpleMapFactory.MAP_CLASS, HashMap.class.getName());
+        final MapStore store = new SingleUseMapStore();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> store.initialise("graphId1", GetAllElementsHandlerTest.getSchema(), storeProperties));
+    }
 }
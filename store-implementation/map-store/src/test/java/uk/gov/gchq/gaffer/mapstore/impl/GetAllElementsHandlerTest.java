@@ -49,6 +49,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GetAllElementsHandlerTest {
     static final String BASIC_ENTITY = "BasicEntity";
@@ -136,6 +137,42 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testAddAndGetAllElementsWithQueryTimeGroupByAggregation() throws StoreException, OperationException {
+        // Given
+        final Graph graph = getGraph();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElementsForAggregation())
+                .build();
+        graph.execute(addElements, new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(BASIC_ENTITY)
+                        .edge(BASIC_EDGE2, new ViewElementDefinition.Builder()
+                                .groupBy(PROPERTY1)
+                                .build())
+                        .build())
+                .build();
+        final CloseableIterable<? extends Element> results = graph.execute(getAllElements, new User());
+
+        // Then
+        final List<Element> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertEquals(2, resultsList.size());
+        final Entity entity = new Entity(BASIC_ENTITY, "0");
+        entity.putProperty(PROPERTY1, "p");
+        entity.putProperty(COUNT, NUM_LOOPS);
+        assertTrue(resultsList.contains(entity));
+        final Element edge = resultsList.stream()
+                .filter(e -> BASIC_EDGE2.equals(e.getGroup()))
+                .findFirst()
+                .get();
+        assertEquals("r", edge.getProperty(PROPERTY1));
+        assertEquals(3 * NUM_LOOPS, edge.getProperty(COUNT));
+    }
+
     @Test
     public void testGetAllElementsWithViewRestrictedByGroup() throws OperationException {
         // Given
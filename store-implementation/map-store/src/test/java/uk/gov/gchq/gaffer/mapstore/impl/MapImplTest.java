@@ -32,7 +32,11 @@ import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -103,6 +107,31 @@ public class MapImplTest {
         verify(mockMapFactory, never()).getMultiMap(MapImpl.EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
     }
 
+    @Test
+    public void shouldShutDownIngestExecutorServiceWhenCleared() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+
+        given(schema.getGroups()).willReturn(Sets.newHashSet(TestGroups.EDGE));
+        given(properties.getMapFactory()).willReturn(TestMapFactory.class.getName());
+        given(properties.getIngestThreads()).willReturn(1);
+        given(mockMapFactory.getMap(TestGroups.EDGE + "|" + MapImpl.AGG_ELEMENTS, Element.class, GroupedProperties.class)).willReturn(mock(Map.class));
+        given(mockMapFactory.getMap(TestGroups.EDGE + "|" + MapImpl.NON_AGG_ELEMENTS, Element.class, Long.class)).willReturn(mock(Map.class));
+        final MapImpl mapImpl = new MapImpl(schema, properties);
+        final ExecutorService executorService = mapImpl.getIngestExecutorService();
+
+        // When
+        mapImpl.clear();
+
+        // Then
+        assertTrue(executorService.isShutdown());
+        final ExecutorService newExecutorService = mapImpl.getIngestExecutorService();
+        assertNotSame(executorService, newExecutorService);
+        assertFalse(newExecutorService.isShutdown());
+        mapImpl.clear();
+    }
+
     public static final class TestMapFactory implements MapFactory {
 
         @Override
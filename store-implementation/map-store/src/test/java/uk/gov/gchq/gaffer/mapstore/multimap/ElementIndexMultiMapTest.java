@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ElementIndexMultiMapTest {
+    @Test
+    public void shouldStoreSourceAndDestinationMatchedEdgesAsOneInstance() {
+        // Given
+        final ElementIndexMultiMap<EntityId> index = new ElementIndexMultiMap<>();
+        final Edge edge = new Edge.Builder()
+                .group("BasicEdge")
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .matchedVertex(MatchedVertex.SOURCE)
+                .property("count", 1)
+                .build();
+        final Edge destMatchedEdge = new Edge("BasicEdge", "A", "B", true, MatchedVertex.DESTINATION, edge.getProperties());
+
+        // When
+        index.put(new EntitySeed("A"), edge);
+        index.put(new EntitySeed("B"), destMatchedEdge);
+
+        // Then
+        final Collection<Element> sourceResults = index.get(new EntitySeed("A"));
+        assertEquals(1, sourceResults.size());
+        final Edge sourceResult = (Edge) sourceResults.iterator().next();
+        assertSame(edge, sourceResult);
+
+        final Collection<Element> destResults = index.get(new EntitySeed("B"));
+        assertEquals(1, destResults.size());
+        final Edge destResult = (Edge) destResults.iterator().next();
+        assertEquals(edge, destResult);
+        assertEquals(MatchedVertex.DESTINATION, destResult.getMatchedVertex());
+        assertEquals(edge.getProperties(), destResult.getProperties());
+    }
+}
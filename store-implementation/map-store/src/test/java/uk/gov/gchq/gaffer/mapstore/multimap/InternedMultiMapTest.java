@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InternedMultiMapTest {
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>();
+
+        // When
+        multiMap.put("key1", "value1");
+        multiMap.put("key1", "value2");
+        multiMap.put("key2", "value1");
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2"), new HashSet<>(multiMap.get("key1")));
+        assertEquals(Sets.newHashSet("value1"), new HashSet<>(multiMap.get("key2")));
+        assertEquals(Sets.newHashSet("key1", "key2"), multiMap.keySet());
+    }
+
+    @Test
+    public void shouldReturnNullForUnknownKey() {
+        // Given
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>();
+        multiMap.put("key1", "value1");
+
+        // When / Then
+        assertNull(multiMap.get("unknownKey"));
+    }
+
+    @Test
+    public void shouldNotAddDuplicateValues() {
+        // Given
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>();
+
+        // When
+        final boolean firstPut = multiMap.put("key1", "value1");
+        final boolean secondPut = multiMap.put("key1", "value1");
+
+        // Then
+        assertTrue(firstPut);
+        assertFalse(secondPut);
+        assertEquals(1, multiMap.get("key1").size());
+    }
+
+    @Test
+    public void shouldNotAddDuplicateValuesToHighDegreeKeys() {
+        // Given
+        final InternedMultiMap<Integer, Integer> multiMap = new InternedMultiMap<>();
+        final int degree = IntAdjacencyStore.SCAN_THRESHOLD * 10;
+
+        // When
+        for (int i = 0; i < degree; i++) {
+            multiMap.put(0, i);
+            multiMap.put(i, 0);
+        }
+        for (int i = 0; i < degree; i++) {
+            assertFalse(multiMap.put(0, i));
+        }
+
+        // Then
+        final Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < degree; i++) {
+            expected.add(i);
+        }
+        assertEquals(degree, multiMap.get(0).size());
+        assertEquals(expected, new HashSet<>(multiMap.get(0)));
+        assertEquals(expected, multiMap.keySet());
+    }
+
+    @Test
+    public void shouldPutCollectionOfValues() {
+        // Given
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>(true);
+
+        // When
+        multiMap.put("key1", Arrays.asList("value1", "value2", "value1"));
+
+        // Then
+        assertTrue(multiMap.isOffHeap());
+        assertEquals(Sets.newHashSet("value1", "value2"), new HashSet<>(multiMap.get("key1")));
+        assertEquals(2, multiMap.get("key1").size());
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>();
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertNull(multiMap.get("key1"));
+        assertTrue(multiMap.keySet().isEmpty());
+    }
+
+    @Test
+    public void shouldPutAllFromAnotherMultiMap() {
+        // Given
+        final InternedMultiMap<String, String> source = new InternedMultiMap<>();
+        source.put("key1", "value1");
+        source.put("key2", "value2");
+        final InternedMultiMap<String, String> multiMap = new InternedMultiMap<>();
+
+        // When
+        multiMap.putAll(source);
+
+        // Then
+        assertEquals(Sets.newHashSet("value1"), new HashSet<>(multiMap.get("key1")));
+        assertEquals(Sets.newHashSet("value2"), new HashSet<>(multiMap.get("key2")));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LockStripedMultiMapTest {
+    @Test
+    public void shouldReturnCopyOfValues() {
+        // Given
+        final MapOfSets<String, String> mapOfSets = new MapOfSets<>(new ConcurrentHashMap<>());
+        final LockStripedMultiMap<String, String> multiMap = new LockStripedMultiMap<>(mapOfSets, 4);
+        multiMap.put("key1", "value1");
+        multiMap.put("key1", "value2");
+
+        // When
+        final Collection<String> values = multiMap.get("key1");
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2"), new HashSet<>(values));
+        assertNotSame(mapOfSets.get("key1"), values);
+        assertNull(multiMap.get("unknownKey"));
+    }
+
+    @Test
+    public void shouldPutValuesFromMultipleThreads() throws Exception {
+        // Given
+        final LockStripedMultiMap<Integer, Integer> multiMap = new LockStripedMultiMap<>(new MapOfSets<>(new ConcurrentHashMap<>()), 8);
+        final int threads = 8;
+        final int keys = 100;
+        final int valuesPerThread = 1000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        // When
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < valuesPerThread; i++) {
+                        multiMap.put(i % keys, thread * valuesPerThread + i);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        assertEquals(keys, multiMap.keySet().size());
+        int total = 0;
+        for (final Integer key : multiMap.keySet()) {
+            total += multiMap.get(key).size();
+        }
+        assertEquals(threads * valuesPerThread, total);
+    }
+
+    @Test
+    public void shouldClearWrappedMap() {
+        // Given
+        final LockStripedMultiMap<String, String> multiMap = new LockStripedMultiMap<>(new MapOfSets<>(new ConcurrentHashMap<>()), 2);
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertNull(multiMap.get("key1"));
+    }
+
+    @Test
+    public void shouldNotAllowLessThanOneStripe() {
+        assertThrows(IllegalArgumentException.class, () -> new LockStripedMultiMap<>(new MapOfSets<>(new ConcurrentHashMap<>()), 0));
+    }
+}
@@ -24,14 +24,18 @@ import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndexSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAllElementsHandler;
@@ -40,6 +44,9 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.GetDataFrameOfEle
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateRowGroupIndex;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CallableResult;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CompactDeltaFiles;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -82,9 +89,18 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -108,6 +124,9 @@ public class ParquetStore extends Store {
     public static final String SNAPSHOT = "snapshot";
     public static final String REVERSED_EDGES = "reversedEdges";
     public static final String PARTITION = "partition";
+    public static final String DELTAS = "deltas";
+    public static final String DELTA = "delta";
+    public static final String ROW_GROUP_INDEX = "rowGroupIndex";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
@@ -141,10 +160,16 @@ public class ParquetStore extends Store {
 //                    STORE_VALIDATION
             ));
 
-    private GraphPartitioner graphPartitioner;
-    private long currentSnapshot;
+    private volatile SnapshotState snapshotState;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private final ReentrantLock ingestLock = new ReentrantLock();
+    private final StampedLock snapshotLock = new StampedLock();
+    private ExecutorService compactionExecutor;
+    private ExecutorService readerExecutor;
+    private Future<CallableResult> compaction;
+    private volatile Exception compactionFailure;
+    private long lastDeltaId;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -166,7 +191,7 @@ public class ParquetStore extends Store {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
             initialise();
-            loadGraphPartitioner();
+            loadSnapshot();
         } catch (final IOException e) {
             throw new StoreException("Could not connect to the file system", e);
         }
@@ -181,25 +206,25 @@ public class ParquetStore extends Store {
         final Path dataDirPath = new Path(getDataDir());
         if (!fs.exists(dataDirPath) || 0 == fs.listStatus(dataDirPath).length) {
             LOGGER.info("Data directory {} doesn't exist or is empty so initialising directory structure", dataDirPath);
-            currentSnapshot = System.currentTimeMillis();
-            LOGGER.info("Initialising snapshot id to {}", currentSnapshot);
-            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(currentSnapshot));
+            final long snapshot = System.currentTimeMillis();
+            LOGGER.info("Initialising snapshot id to {}", snapshot);
+            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(snapshot));
             LOGGER.info("Creating snapshot directory {}", snapshotPath);
             fs.mkdirs(snapshotPath);
             LOGGER.info("Creating group directories under {}", snapshotPath);
             for (final String group : getSchema().getGroups()) {
-                final Path groupDir = getGroupPath(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, false));
                 fs.mkdirs(groupDir);
                 LOGGER.info("Created directory {}", groupDir);
             }
             LOGGER.info("Creating group directories for reversed edges under {}", snapshotPath);
             for (final String group : getSchema().getEdgeGroups()) {
-                final Path groupDir = getGroupPathForReversedEdges(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, true));
                 fs.mkdirs(groupDir);
                 LOGGER.info("Created directory {}", groupDir);
             }
             LOGGER.info("Creating GraphPartitioner with 0 split points for each group");
-            graphPartitioner = new GraphPartitioner();
+            final GraphPartitioner graphPartitioner = new GraphPartitioner();
             for (final String group : getSchema().getGroups()) {
                 graphPartitioner.addGroupPartitioner(group, new GroupPartitioner(group, new ArrayList<>()));
             }
@@ -207,10 +232,11 @@ public class ParquetStore extends Store {
                 graphPartitioner.addGroupPartitionerForReversedEdges(group, new GroupPartitioner(group, new ArrayList<>()));
             }
             LOGGER.info("Writing GraphPartitioner to snapshot directory");
-            final FSDataOutputStream dataOutputStream = fs.create(getGraphPartitionerPath());
+            final Path graphPartitionerPath = new Path(snapshotPath, "graphPartitioner");
+            final FSDataOutputStream dataOutputStream = fs.create(graphPartitionerPath);
             new GraphPartitionerSerialiser().write(graphPartitioner, dataOutputStream);
             dataOutputStream.close();
-            LOGGER.info("Wrote GraphPartitioner to file {}", getGraphPartitionerPath().toString());
+            LOGGER.info("Wrote GraphPartitioner to file {}", graphPartitionerPath.toString());
         } else {
             LOGGER.info("Data directory {} exists and is non-empty, validating a snapshot directory exists", dataDirPath);
             final FileStatus[] fileStatuses = fs.listStatus(dataDirPath, f -> f.getName().startsWith(SNAPSHOT + "="));
@@ -219,62 +245,130 @@ public class ParquetStore extends Store {
                 LOGGER.error("Data directory {} should contain a snapshot directory", dataDirPath);
                 throw new StoreException("Data directory should contain a snapshot directory");
             }
-            this.currentSnapshot = getLatestSnapshot();
-            LOGGER.info("Latest snapshot directory in data directory {} is {}", dataDirPath, this.currentSnapshot);
+            final long snapshot = getLatestSnapshot();
+            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(snapshot));
+            LOGGER.info("Latest snapshot directory in data directory {} is {}", dataDirPath, snapshot);
             LOGGER.info("Verifying snapshot directory contains the correct directories");
             for (final String group : getSchema().getGroups()) {
-                final Path groupDir = getGroupPath(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, false));
                 if (!fs.exists(groupDir)) {
                     LOGGER.error("Directory {} should exist", groupDir);
-                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(this.currentSnapshot));
+                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(snapshot));
                 }
             }
             for (final String group : getSchema().getEdgeGroups()) {
-                final Path groupDir = getGroupPathForReversedEdges(group);
+                final Path groupDir = new Path(snapshotPath, getGroupSubDir(group, true));
                 if (!fs.exists(groupDir)) {
                     LOGGER.error("Directory {} should exist", groupDir);
-                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(this.currentSnapshot));
+                    throw new StoreException("Group directory " + groupDir + " should exist in snapshot directory " + getSnapshotPath(snapshot));
                 }
             }
         }
     }
 
     public Path getGraphPartitionerPath() {
-        return new Path(getProperties().getDataDir() + "/" + SNAPSHOT + "=" + currentSnapshot, "graphPartitioner");
+        return getGraphPartitionerPath(snapshotState.snapshot);
     }
 
-    private void loadGraphPartitioner() throws StoreException {
+    private Path getGraphPartitionerPath(final long snapshot) {
+        return new Path(getSnapshotDir(snapshot), "graphPartitioner");
+    }
+
+    private String getSnapshotDir(final long snapshot) {
+        return getDataDir() + "/" + getSnapshotPath(snapshot);
+    }
+
+    // Loads the graph partitioner, row group index and delta files of the latest snapshot and then makes that the
+    // current snapshot in a single step
+    private void loadSnapshot() throws StoreException {
         final String dataDir = getDataDir();
         try {
-            if (fs.exists(new Path(dataDir))) {
-                this.currentSnapshot = getLatestSnapshot(dataDir);
-                LOGGER.info("Setting currentSnapshot to {}", this.currentSnapshot);
-                final Path path = getGraphPartitionerPath();
-                if (!fs.exists(path)) {
-                    LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
-                    final GraphPartitioner partitioner =
-                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(this.currentSnapshot)), getSchema(), fs).call();
-                    LOGGER.info("Writing graph partitioner to {}", path);
-                    final FSDataOutputStream stream = fs.create(path);
-                    new GraphPartitionerSerialiser().write(partitioner, stream);
-                    stream.close();
-                }
-                LOGGER.info("Loading graph partitioner from path {}", path);
-                loadGraphPartitioner(path);
-            } else {
+            if (!fs.exists(new Path(dataDir))) {
                 throw new StoreException("Data directory " + dataDir + " does not exist - store is in an inconsistent state");
             }
         } catch (final IOException e) {
             throw new StoreException(e.getMessage(), e);
         }
+        final long snapshot = getLatestSnapshot(dataDir);
+        LOGGER.info("Setting currentSnapshot to {}", snapshot);
+        final GraphPartitioner graphPartitioner = loadGraphPartitioner(snapshot);
+        final RowGroupIndex rowGroupIndex = loadRowGroupIndex(snapshot);
+        final Map<String, List<Path>> deltaFiles = loadDeltaFiles(snapshot);
+        snapshotState = new SnapshotState(snapshot, graphPartitioner, rowGroupIndex, deltaFiles);
+    }
+
+    private GraphPartitioner loadGraphPartitioner(final long snapshot) throws StoreException {
+        try {
+            final Path path = getGraphPartitionerPath(snapshot);
+            if (!fs.exists(path)) {
+                LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
+                final GraphPartitioner partitioner =
+                        new CalculatePartitioner(new Path(getSnapshotDir(snapshot)), getSchema(), fs).call();
+                LOGGER.info("Writing graph partitioner to {}", path);
+                final FSDataOutputStream stream = fs.create(path);
+                new GraphPartitionerSerialiser().write(partitioner, stream);
+                stream.close();
+            }
+            LOGGER.info("Loading graph partitioner from path {}", path);
+            final FSDataInputStream stream = fs.open(path);
+            final GraphPartitioner graphPartitioner = new GraphPartitionerSerialiser().read(stream);
+            stream.close();
+            return graphPartitioner;
+        } catch (final IOException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    public Path getRowGroupIndexPath() {
+        return getRowGroupIndexPath(snapshotState.snapshot);
+    }
+
+    private Path getRowGroupIndexPath(final long snapshot) {
+        return new Path(getSnapshotDir(snapshot), ROW_GROUP_INDEX);
     }
 
-    private void loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
-        final FSDataInputStream stream = fs.open(graphPartitionerPath);
-        this.graphPartitioner = new GraphPartitionerSerialiser().read(stream);
+    /**
+     * Calculates the {@link RowGroupIndex} of the Parquet files in the given snapshot directory and writes it to that
+     * directory.
+     *
+     * @param snapshotDir the snapshot directory
+     * @throws IOException if the footers could not be read or the index could not be written
+     */
+    public void writeRowGroupIndex(final Path snapshotDir) throws IOException {
+        final RowGroupIndex index = new CalculateRowGroupIndex(snapshotDir, getSchema(), fs).call();
+        final Path path = new Path(snapshotDir, ROW_GROUP_INDEX);
+        LOGGER.info("Writing row group index for {} files to {}", index.getFiles().size(), path);
+        final FSDataOutputStream stream = fs.create(path, true);
+        new RowGroupIndexSerialiser().write(index, stream);
         stream.close();
     }
 
+    private RowGroupIndex loadRowGroupIndex(final long snapshot) throws StoreException {
+        final Path path = getRowGroupIndexPath(snapshot);
+        try {
+            if (!fs.exists(path)) {
+                LOGGER.info("Row group index does not exist in {} so creating it", path);
+                writeRowGroupIndex(path.getParent());
+            }
+            LOGGER.info("Loading row group index from path {}", path);
+            final FSDataInputStream stream = fs.open(path);
+            final RowGroupIndex rowGroupIndex = new RowGroupIndexSerialiser().read(stream);
+            stream.close();
+            return rowGroupIndex;
+        } catch (final IOException e) {
+            throw new StoreException("IOException loading row group index", e);
+        }
+    }
+
+    /**
+     * The statistics of the row groups of the files in the current snapshot. This is loaded once per snapshot.
+     *
+     * @return the row group index
+     */
+    public RowGroupIndex getRowGroupIndex() {
+        return snapshotState.rowGroupIndex;
+    }
+
     public FileSystem getFS() {
         return fs;
     }
@@ -301,10 +395,12 @@ public class ParquetStore extends Store {
     }
 
     public String getFile(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group
+        return getFile(snapshotState.snapshot, group, partitionId, false);
+    }
+
+    private String getFile(final long snapshot, final String group, final Integer partitionId, final boolean reversed) {
+        return getSnapshotDir(snapshot)
+                + "/" + getGroupSubDir(group, reversed)
                 + "/" + getFile(partitionId);
     }
 
@@ -325,18 +421,230 @@ public class ParquetStore extends Store {
     }
 
     public String getFileForReversedEdges(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + REVERSED_EDGES
-                + "/" + GROUP + "=" + group
-                + "/" + getFile(partitionId);
+        return getFile(snapshotState.snapshot, group, partitionId, true);
+    }
+
+    /**
+     * Returns the directory that holds the delta files for the given partition of the given group in the current
+     * snapshot.
+     *
+     * @param group       the group
+     * @param partitionId the id of the partition
+     * @param reversed    whether the deltas are for the reversed edges
+     * @return the directory containing the delta files for the partition
+     */
+    public String getDeltaDir(final String group, final Integer partitionId, final boolean reversed) {
+        return getSnapshotDir(snapshotState.snapshot)
+                + "/" + DELTAS
+                + "/" + getGroupSubDir(group, reversed)
+                + "/" + PARTITION + "-" + zeroPad("" + partitionId);
+    }
+
+    public static String getDeltaFile(final long deltaId) {
+        return DELTA + "-" + deltaId + ".parquet";
+    }
+
+    private static long getDeltaId(final Path deltaFile) {
+        final String name = deltaFile.getName();
+        return Long.parseLong(name.substring(DELTA.length() + 1, name.length() - ".parquet".length()));
+    }
+
+    /**
+     * Returns the id to use for the next delta files. Ids are based on the current time, but are always greater than
+     * the id of any delta file that has already been written to the current snapshot, so that deltas written within
+     * the same millisecond, or after the clock has gone backwards, do not overwrite earlier deltas and are still
+     * merged in the order they were written.
+     *
+     * @return the id of the next delta files
+     */
+    public synchronized long getNextDeltaId() {
+        lastDeltaId = Math.max(System.currentTimeMillis(), lastDeltaId + 1);
+        return lastDeltaId;
+    }
+
+    /**
+     * Returns the delta files, oldest first, that have been written for the partition stored in the given file.
+     *
+     * @param file the base file of the partition in the current snapshot
+     * @return the delta files for the partition, which is empty if there are none
+     */
+    public List<Path> getDeltaFiles(final Path file) {
+        final List<Path> files = snapshotState.deltaFiles.get(fs.makeQualified(file).toString());
+        return null == files ? Collections.emptyList() : files;
+    }
+
+    /**
+     * Returns the base files of the partitions of the given group that have delta files. The base files may not
+     * exist if the partition contained no data before the deltas were written.
+     *
+     * @param group the group
+     * @return the base files for the partitions with deltas
+     */
+    public List<Path> getFilesWithDeltasForGroup(final String group) {
+        final SnapshotState state = snapshotState;
+        final Path groupPath = fs.makeQualified(new Path(getSnapshotDir(state.snapshot), getGroupSubDir(group, false)));
+        return state.deltaFiles.keySet()
+                .stream()
+                .map(Path::new)
+                .filter(path -> groupPath.equals(path.getParent()))
+                .collect(Collectors.toList());
+    }
+
+    public int getMaxDeltaFilesPerPartition() {
+        return snapshotState.deltaFiles.values()
+                .stream()
+                .mapToInt(List::size)
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * Reloads the delta files of the current snapshot from the file system. This should be called whenever delta
+     * files are added.
+     *
+     * @throws StoreException if the delta directories could not be listed
+     */
+    public void loadDeltaFiles() throws StoreException {
+        final SnapshotState state = snapshotState;
+        snapshotState = new SnapshotState(state.snapshot, state.graphPartitioner, state.rowGroupIndex,
+                loadDeltaFiles(state.snapshot));
+    }
+
+    private Map<String, List<Path>> loadDeltaFiles(final long snapshot) throws StoreException {
+        final Map<String, List<Path>> files = new HashMap<>();
+        try {
+            for (final String group : getSchema().getGroups()) {
+                loadDeltaFiles(snapshot, group, false, files);
+            }
+            for (final String group : getSchema().getEdgeGroups()) {
+                loadDeltaFiles(snapshot, group, true, files);
+            }
+        } catch (final IOException e) {
+            throw new StoreException("IOException loading delta files", e);
+        }
+        LOGGER.info("Loaded delta files for {} partitions of snapshot {}", files.size(), snapshot);
+        final long maxDeltaId = files.values()
+                .stream()
+                .flatMap(List::stream)
+                .mapToLong(ParquetStore::getDeltaId)
+                .max()
+                .orElse(0L);
+        synchronized (this) {
+            lastDeltaId = Math.max(lastDeltaId, maxDeltaId);
+        }
+        return Collections.unmodifiableMap(files);
+    }
+
+    private void loadDeltaFiles(final long snapshot, final String group, final boolean reversed,
+                                final Map<String, List<Path>> files) throws IOException {
+        final Path dir = new Path(getSnapshotDir(snapshot)
+                + "/" + DELTAS
+                + "/" + getGroupSubDir(group, reversed));
+        if (!fs.exists(dir)) {
+            return;
+        }
+        for (final FileStatus partitionDir : fs.listStatus(dir, path -> path.getName().startsWith(PARTITION + "-"))) {
+            final int partitionId = Integer.parseInt(partitionDir.getPath().getName().substring(PARTITION.length() + 1));
+            final List<Path> deltas = Arrays
+                    .stream(fs.listStatus(partitionDir.getPath(), path -> path.getName().endsWith(".parquet")))
+                    .map(FileStatus::getPath)
+                    .sorted(Comparator.comparingLong(ParquetStore::getDeltaId))
+                    .collect(Collectors.toList());
+            if (!deltas.isEmpty()) {
+                files.put(fs.makeQualified(new Path(getFile(snapshot, group, partitionId, reversed))).toString(), deltas);
+            }
+        }
+    }
+
+    /**
+     * The lock that must be held whilst adding data to, or compacting, the store.
+     *
+     * @return the ingest lock
+     */
+    public ReentrantLock getIngestLock() {
+        return ingestLock;
+    }
+
+    /**
+     * The lock that queries hold in read mode whilst they read the files of the current snapshot, and that a
+     * compaction holds in write mode whilst it moves files out of the current snapshot and switches to the new one.
+     * A {@link StampedLock} is used as a query may be closed by a different thread to the one that started it.
+     *
+     * @return the snapshot lock
+     */
+    public StampedLock getSnapshotLock() {
+        return snapshotLock;
+    }
+
+    /**
+     * Starts a compaction of the delta files into a new snapshot on a background thread. If a compaction is already
+     * pending then that compaction is returned rather than starting another one. If the compaction fails then the
+     * failure is logged and recorded, and is reported by {@link #checkCompactionFailure()}.
+     *
+     * @param spark the Spark session to use to aggregate and sort the data
+     * @return a {@link Future} that completes when the compaction has finished
+     */
+    public synchronized Future<CallableResult> compactDeltaFilesInBackground(final SparkSession spark) {
+        if (null != compaction && !compaction.isDone()) {
+            LOGGER.info("Not starting a compaction of the delta files as one is already pending");
+            return compaction;
+        }
+        if (null == compactionExecutor) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "parquet-delta-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        LOGGER.info("Starting a background compaction of the delta files");
+        final CompactDeltaFiles compactDeltaFiles = new CompactDeltaFiles(this, spark);
+        compaction = compactionExecutor.submit(() -> {
+            try {
+                return compactDeltaFiles.call();
+            } catch (final OperationException | RuntimeException e) {
+                LOGGER.error("Background compaction of the delta files failed", e);
+                compactionFailure = e;
+                throw e;
+            }
+        });
+        return compaction;
+    }
+
+    /**
+     * Reports the failure of the last background compaction of the delta files, if it failed. The failure is only
+     * reported once, so that a later ingest can trigger another compaction.
+     *
+     * @throws OperationException if the last background compaction failed
+     */
+    public void checkCompactionFailure() throws OperationException {
+        final Exception failure = compactionFailure;
+        if (null != failure) {
+            compactionFailure = null;
+            throw new OperationException("The last background compaction of the delta files failed: "
+                    + failure.getMessage(), failure);
+        }
+    }
+
+    /**
+     * Returns the pool of threads used to read files when answering queries. The pool is shared by all queries against
+     * this store and contains {@link ParquetStoreProperties#getThreadsAvailable()} threads.
+     *
+     * @return the pool of threads used to read files
+     */
+    public synchronized ExecutorService getReaderExecutor() {
+        if (null == readerExecutor) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            readerExecutor = Executors.newFixedThreadPool(getProperties().getThreadsAvailable(), runnable -> {
+                final Thread thread = new Thread(runnable, "parquet-reader-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return readerExecutor;
     }
 
     public List<Path> getFilesForGroup(final String group) throws IOException {
-        final Path dir = new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group);
+        final Path dir = getGroupPath(group);
         final FileStatus[] files = fs.listStatus(dir, path -> path.getName().endsWith(".parquet"));
         return Arrays
                 .stream(files)
@@ -345,10 +653,7 @@ public class ParquetStore extends Store {
     }
 
     public Path getGroupPath(final String group) {
-        return new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GRAPH
-                + "/" + GROUP + "=" + group);
+        return new Path(getSnapshotDir(snapshotState.snapshot), getGroupSubDir(group, false));
     }
 
     public static String getGroupSubDir(final String group, final boolean reversed) {
@@ -360,15 +665,11 @@ public class ParquetStore extends Store {
         if (!getSchema().getEdgeGroups().contains(group)) {
             throw new IllegalArgumentException("Invalid group: " + group + " is not an edge group");
         }
-        return new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + REVERSED_EDGES
-                + "/" + GROUP + "=" + group);
+        return new Path(getSnapshotDir(snapshotState.snapshot), getGroupSubDir(group, true));
     }
 
     public String getGraphPath() {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
+        return getSnapshotDir(snapshotState.snapshot)
                 + "/" + GRAPH
                 + "/";
     }
@@ -448,9 +749,8 @@ public class ParquetStore extends Store {
             throw new StoreException("IOException checking Path: ", e);
         }
 
-        LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
-        this.currentSnapshot = snapshot;
-        loadGraphPartitioner();
+        LOGGER.info("Snapshot {} exists so reloading the graph partitioner, row group index and delta files of the latest snapshot", snapshot);
+        loadSnapshot();
     }
 
     private long getLatestSnapshot(final String rootDir) throws StoreException {
@@ -469,6 +769,25 @@ public class ParquetStore extends Store {
     }
 
     public GraphPartitioner getGraphPartitioner() {
-        return graphPartitioner;
+        return snapshotState.graphPartitioner;
+    }
+
+    /**
+     * The state of a snapshot. This is replaced as a whole, so that a query never sees the graph partitioner, row group
+     * index or delta files of one snapshot together with those of another.
+     */
+    private static final class SnapshotState {
+        private final long snapshot;
+        private final GraphPartitioner graphPartitioner;
+        private final RowGroupIndex rowGroupIndex;
+        private final Map<String, List<Path>> deltaFiles;
+
+        private SnapshotState(final long snapshot, final GraphPartitioner graphPartitioner,
+                              final RowGroupIndex rowGroupIndex, final Map<String, List<Path>> deltaFiles) {
+            this.snapshot = snapshot;
+            this.graphPartitioner = graphPartitioner;
+            this.rowGroupIndex = rowGroupIndex;
+            this.deltaFiles = deltaFiles;
+        }
     }
 }
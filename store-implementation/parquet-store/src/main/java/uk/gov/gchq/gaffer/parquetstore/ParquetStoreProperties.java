@@ -45,6 +45,13 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
+    public static final String PARQUET_ADD_ELEMENTS_DELTA_INGEST = "parquet.add_elements.delta_ingest";
+    public static final String PARQUET_DELTA_COMPACTION_THRESHOLD = "parquet.add_elements.delta_ingest.compaction_threshold";
+    public static final String PARQUET_DELTA_COMPACTION_LOCK_TIMEOUT_MILLIS = "parquet.add_elements.delta_ingest.compaction_lock_timeout_ms";
+    public static final String PARQUET_READER_THREADS_PER_QUERY = "parquet.reader.threads_per_query";
+    public static final String PARQUET_READER_QUEUE_SIZE = "parquet.reader.queue_size";
+    public static final String PARQUET_READER_SORTED_MERGE = "parquet.reader.sorted_merge";
+    public static final String PARQUET_READER_QUEUE_TIMEOUT_MILLIS = "parquet.reader.queue_timeout_ms";
 
     // Default values - NB No default values for DATA_DIR or TEMP_FILES_DIR to
     // avoid the inadvertent storage of data in unexpected folders.
@@ -58,6 +65,12 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
+    private static final String PARQUET_ADD_ELEMENTS_DELTA_INGEST_DEFAULT = "false";
+    private static final String PARQUET_DELTA_COMPACTION_THRESHOLD_DEFAULT = "10";
+    private static final String PARQUET_DELTA_COMPACTION_LOCK_TIMEOUT_MILLIS_DEFAULT = "60000"; //1 minute
+    private static final String PARQUET_READER_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_READER_SORTED_MERGE_DEFAULT = "false";
+    private static final String PARQUET_READER_QUEUE_TIMEOUT_MILLIS_DEFAULT = "600000"; //10 minutes
     private static final long serialVersionUID = 7695540336792378185L;
 
     public ParquetStoreProperties() {
@@ -155,6 +168,111 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_SKIP_VALIDATION, String.valueOf(skipValidation));
     }
 
+    /**
+     * If delta ingest is enabled then {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} only sorts and
+     * aggregates the new data, writing it as a delta file next to each partition that received data, rather than
+     * rewriting every partition into a new snapshot. Queries merge the deltas with the base files when reading and
+     * the deltas are folded into a new snapshot by a background compaction.
+     *
+     * @return true if delta ingest is enabled.
+     */
+    public boolean getDeltaIngest() {
+        return Boolean.parseBoolean(get(PARQUET_ADD_ELEMENTS_DELTA_INGEST, PARQUET_ADD_ELEMENTS_DELTA_INGEST_DEFAULT));
+    }
+
+    public void setDeltaIngest(final boolean deltaIngest) {
+        set(PARQUET_ADD_ELEMENTS_DELTA_INGEST, String.valueOf(deltaIngest));
+    }
+
+    /**
+     * The number of delta files that any single partition may have before a compaction of the deltas into a new
+     * snapshot is started.
+     *
+     * @return The number of delta files per partition that triggers a compaction.
+     */
+    public int getDeltaCompactionThreshold() {
+        return Integer.parseInt(get(PARQUET_DELTA_COMPACTION_THRESHOLD, PARQUET_DELTA_COMPACTION_THRESHOLD_DEFAULT));
+    }
+
+    public void setDeltaCompactionThreshold(final int compactionThreshold) {
+        set(PARQUET_DELTA_COMPACTION_THRESHOLD, String.valueOf(compactionThreshold));
+    }
+
+    /**
+     * The maximum time in milliseconds that a compaction of the delta files waits for the queries that are reading the
+     * current snapshot to finish before it moves files out of that snapshot. If queries are still open after this time,
+     * e.g. because an iterator has been abandoned without being closed, then the compaction is abandoned and the delta
+     * files are left in place to be compacted by a later add.
+     *
+     * @return The maximum time in milliseconds that a compaction waits for open queries.
+     */
+    public long getDeltaCompactionLockTimeoutMillis() {
+        return Long.parseLong(get(PARQUET_DELTA_COMPACTION_LOCK_TIMEOUT_MILLIS, PARQUET_DELTA_COMPACTION_LOCK_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setDeltaCompactionLockTimeoutMillis(final long lockTimeoutMillis) {
+        set(PARQUET_DELTA_COMPACTION_LOCK_TIMEOUT_MILLIS, String.valueOf(lockTimeoutMillis));
+    }
+
+    /**
+     * The maximum number of files that a single query may read at the same time. The files are read using a pool of
+     * {@link #getThreadsAvailable()} threads that is shared by all queries against the store, so this stops one large
+     * query from using every thread. If this is not set then a query may use all the threads.
+     *
+     * @return The maximum number of files read at the same time by a query.
+     */
+    public int getReaderThreadsPerQuery() {
+        return Integer.parseInt(get(PARQUET_READER_THREADS_PER_QUERY, String.valueOf(getThreadsAvailable())));
+    }
+
+    public void setReaderThreadsPerQuery(final int threadsPerQuery) {
+        set(PARQUET_READER_THREADS_PER_QUERY, String.valueOf(threadsPerQuery));
+    }
+
+    /**
+     * The maximum number of elements that are held in each queue of results waiting to be returned by a query. When a
+     * queue is full the threads reading the files wait for the results to be consumed.
+     *
+     * @return The maximum number of elements in each result queue.
+     */
+    public int getReaderQueueSize() {
+        return Integer.parseInt(get(PARQUET_READER_QUEUE_SIZE, PARQUET_READER_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setReaderQueueSize(final int queueSize) {
+        set(PARQUET_READER_QUEUE_SIZE, String.valueOf(queueSize));
+    }
+
+    /**
+     * The maximum time in milliseconds that a thread reading a file waits for space in a full result queue. If the
+     * results are not consumed within this time, e.g. because the iterator has been abandoned without being closed,
+     * then the thread stops reading the file so that it can be used by other queries.
+     *
+     * @return The maximum time in milliseconds to wait for space in a result queue.
+     */
+    public long getReaderQueueTimeoutMillis() {
+        return Long.parseLong(get(PARQUET_READER_QUEUE_TIMEOUT_MILLIS, PARQUET_READER_QUEUE_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setReaderQueueTimeoutMillis(final long queueTimeoutMillis) {
+        set(PARQUET_READER_QUEUE_TIMEOUT_MILLIS, String.valueOf(queueTimeoutMillis));
+    }
+
+    /**
+     * If this is true then the results of queries are returned in the order in which they are stored, i.e. sorted by
+     * vertex, by merging the sorted results of the individual files. This can be overridden for a single query by
+     * setting the operation option with the same name.
+     *
+     * @return Whether the results of queries are merged into sorted order.
+     */
+    public boolean getReaderSortedMerge() {
+        return Boolean.parseBoolean(get(PARQUET_READER_SORTED_MERGE, PARQUET_READER_SORTED_MERGE_DEFAULT));
+    }
+
+    public void setReaderSortedMerge(final boolean sortedMerge) {
+        set(PARQUET_READER_SORTED_MERGE, String.valueOf(sortedMerge));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the statistics (row count and the minimum value, maximum value and number of nulls of each column) of
+ * every row group of every file in a snapshot. It is held in memory by the
+ * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore} so that a query can find out whether a file could contain
+ * matching data without opening the file's footer.
+ * <p>
+ * Files are identified by their path relative to the snapshot directory, e.g.
+ * {@code graph/group=BasicEntity/partition-0000000.parquet}.
+ */
+public class RowGroupIndex {
+    private final Map<String, List<BlockMetaData>> fileToRowGroups = new HashMap<>();
+
+    public static String getKey(final Path file) {
+        return file.getParent().getParent().getName()
+                + "/" + file.getParent().getName()
+                + "/" + file.getName();
+    }
+
+    public void addFile(final String key, final List<BlockMetaData> rowGroups) {
+        fileToRowGroups.put(key, rowGroups);
+    }
+
+    public void addFile(final Path file, final List<BlockMetaData> rowGroups) {
+        addFile(getKey(file), rowGroups);
+    }
+
+    public Set<String> getFiles() {
+        return Collections.unmodifiableSet(fileToRowGroups.keySet());
+    }
+
+    /**
+     * @param key the path of the file relative to the snapshot directory
+     * @return the statistics of the row groups of the file, or null if the file is not in the index
+     */
+    public List<BlockMetaData> getRowGroups(final String key) {
+        return fileToRowGroups.get(key);
+    }
+
+    public List<BlockMetaData> getRowGroups(final Path file) {
+        return getRowGroups(getKey(file));
+    }
+
+    /**
+     * Returns true if the statistics show that no row group of the file can contain a row that matches the filter.
+     * Files that are not in the index can never be dropped.
+     *
+     * @param file   the file
+     * @param filter the filter, may be null
+     * @return true if the file does not need to be read
+     */
+    public boolean canDrop(final Path file, final FilterPredicate filter) {
+        if (null == filter) {
+            return false;
+        }
+        final List<BlockMetaData> rowGroups = getRowGroups(file);
+        if (null == rowGroups) {
+            return false;
+        }
+        for (final BlockMetaData rowGroup : rowGroups) {
+            if (!canDrop(rowGroup, filter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of rows in the row groups of the file that may contain a row matching the filter, i.e. the
+     * number of rows that will be read when the file is queried with the filter.
+     *
+     * @param file   the file
+     * @param filter the filter, may be null
+     * @return the number of rows that will be read, or 0 if the file is not in the index
+     */
+    public long getRowCount(final Path file, final FilterPredicate filter) {
+        final List<BlockMetaData> rowGroups = getRowGroups(file);
+        if (null == rowGroups) {
+            return 0L;
+        }
+        long rowCount = 0L;
+        for (final BlockMetaData rowGroup : rowGroups) {
+            if (null == filter || !canDrop(rowGroup, filter)) {
+                rowCount += rowGroup.getRowCount();
+            }
+        }
+        return rowCount;
+    }
+
+    private static boolean canDrop(final BlockMetaData rowGroup, final FilterPredicate filter) {
+        try {
+            return StatisticsFilter.canDrop(filter, rowGroup.getColumns());
+        } catch (final IllegalArgumentException e) {
+            // The filter refers to a column that is not in the file so the statistics cannot be used
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("files", fileToRowGroups.keySet())
+                .toString();
+    }
+}
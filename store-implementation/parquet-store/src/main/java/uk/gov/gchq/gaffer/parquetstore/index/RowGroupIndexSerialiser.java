@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Serialises a {@link RowGroupIndex}. Only the parts of the row group metadata that are needed to evaluate filters
+ * against the statistics are written.
+ */
+public class RowGroupIndexSerialiser {
+
+    public void write(final RowGroupIndex rowGroupIndex, final DataOutputStream stream) throws IOException {
+        stream.writeInt(rowGroupIndex.getFiles().size());
+        for (final String file : rowGroupIndex.getFiles()) {
+            stream.writeUTF(file);
+            final List<BlockMetaData> rowGroups = rowGroupIndex.getRowGroups(file);
+            stream.writeInt(rowGroups.size());
+            for (final BlockMetaData rowGroup : rowGroups) {
+                stream.writeLong(rowGroup.getRowCount());
+                stream.writeInt(rowGroup.getColumns().size());
+                for (final ColumnChunkMetaData column : rowGroup.getColumns()) {
+                    writeColumn(column, stream);
+                }
+            }
+        }
+    }
+
+    public RowGroupIndex read(final DataInputStream stream) throws IOException {
+        final RowGroupIndex rowGroupIndex = new RowGroupIndex();
+        final int numFiles = stream.readInt();
+        for (int i = 0; i < numFiles; i++) {
+            final String file = stream.readUTF();
+            final int numRowGroups = stream.readInt();
+            final List<BlockMetaData> rowGroups = new ArrayList<>(numRowGroups);
+            for (int j = 0; j < numRowGroups; j++) {
+                final BlockMetaData rowGroup = new BlockMetaData();
+                rowGroup.setRowCount(stream.readLong());
+                final int numColumns = stream.readInt();
+                for (int k = 0; k < numColumns; k++) {
+                    rowGroup.addColumn(readColumn(stream));
+                }
+                rowGroups.add(rowGroup);
+            }
+            rowGroupIndex.addFile(file, rowGroups);
+        }
+        return rowGroupIndex;
+    }
+
+    private void writeColumn(final ColumnChunkMetaData column, final DataOutputStream stream) throws IOException {
+        final String[] path = column.getPath().toArray();
+        stream.writeInt(path.length);
+        for (final String pathElement : path) {
+            stream.writeUTF(pathElement);
+        }
+        stream.writeUTF(column.getType().name());
+        stream.writeLong(column.getValueCount());
+        final Statistics statistics = column.getStatistics();
+        stream.writeLong(statistics.getNumNulls());
+        final boolean hasMinMax = statistics.hasNonNullValue()
+                && null != statistics.getMinBytes()
+                && null != statistics.getMaxBytes();
+        stream.writeBoolean(hasMinMax);
+        if (hasMinMax) {
+            writeBytes(statistics.getMinBytes(), stream);
+            writeBytes(statistics.getMaxBytes(), stream);
+        }
+    }
+
+    private ColumnChunkMetaData readColumn(final DataInputStream stream) throws IOException {
+        final String[] path = new String[stream.readInt()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = stream.readUTF();
+        }
+        final PrimitiveTypeName type = PrimitiveTypeName.valueOf(stream.readUTF());
+        final long valueCount = stream.readLong();
+        final Statistics statistics = Statistics.getStatsBasedOnType(type);
+        statistics.setNumNulls(stream.readLong());
+        if (stream.readBoolean()) {
+            final byte[] min = readBytes(stream);
+            final byte[] max = readBytes(stream);
+            statistics.setMinMaxFromBytes(min, max);
+        }
+        return ColumnChunkMetaData.get(ColumnPath.get(path), type, CompressionCodecName.UNCOMPRESSED,
+                Collections.<Encoding>emptySet(), statistics, 0L, 0L, valueCount, 0L, 0L);
+    }
+
+    private void writeBytes(final byte[] bytes, final DataOutputStream stream) throws IOException {
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    private byte[] readBytes(final DataInputStream stream) throws IOException {
+        final byte[] bytes = new byte[stream.readInt()];
+        stream.readFully(bytes);
+        return bytes;
+    }
+}
@@ -20,34 +20,65 @@ import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.api.RecordMaterializer;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class provides the {@link ReadSupport} required by the {@link ParquetElementReader} making use of the
- * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the Parquet types.
+ * {@link ElementRecordMaterialiser} to directly build the Gaffer Elements from the Parquet types. If a projection is
+ * provided then only the Parquet columns needed to build the identifiers and the projected Gaffer columns are requested,
+ * so the column chunks of any other columns are never read or decoded.
  */
 public class ElementReadSupport extends ReadSupport<Element> {
     private final boolean isEntity;
     private final GafferGroupObjectConverter converter;
+    private final Set<String> projection;
 
     public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter) {
+        this(isEntity, converter, null);
+    }
+
+    public ElementReadSupport(final boolean isEntity, final GafferGroupObjectConverter converter, final Set<String> projection) {
         super();
         this.isEntity = isEntity;
         this.converter = converter;
+        this.projection = projection;
     }
 
     @Override
     public RecordMaterializer<Element> prepareForRead(final Configuration configuration, final Map<String, String> map,
                                                       final MessageType parquetSchema, final ReadContext readContext) {
-        return new ElementRecordMaterialiser(parquetSchema, isEntity, converter);
+        return new ElementRecordMaterialiser(readContext.getRequestedSchema(), isEntity, converter, projection);
     }
 
     @Override
     public ReadContext init(final InitContext context) {
-        return new ReadContext(context.getFileSchema());
+        final MessageType fileSchema = context.getFileSchema();
+        if (null == projection) {
+            return new ReadContext(fileSchema);
+        }
+        final Set<String> fieldNames = new HashSet<>();
+        for (final Map.Entry<String, String[]> entry : converter.getColumnToPaths().entrySet()) {
+            if (projection.contains(entry.getKey()) || converter.getCoreProperties().contains(entry.getKey())) {
+                for (final String path : entry.getValue()) {
+                    fieldNames.add(path.split("\\.")[0]);
+                }
+            }
+        }
+        final List<Type> requestedFields = new ArrayList<>();
+        for (final Type field : fileSchema.getFields()) {
+            if (fieldNames.contains(field.getName())) {
+                requestedFields.add(field);
+            }
+        }
+        return new ReadContext(new MessageType(fileSchema.getName(), requestedFields));
     }
 }
@@ -28,10 +28,13 @@ import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used by the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.ElementRecordMaterialiser} to materialise
  * each element based on the objects added to the 'parquetColumnToObject' field by the {@link PrimitiveConverter}'s.
+ * The element is only built when it is requested, so that records rejected by a Parquet record filter are never
+ * turned into elements.
  */
 public class GafferElementConverter extends GroupConverter {
     private static final Logger LOGGER = LoggerFactory.getLogger(GafferElementConverter.class);
@@ -40,11 +43,17 @@ public class GafferElementConverter extends GroupConverter {
     private final Map<Integer, Converter> fieldToConverter;
     private final Map<String, Object[]> parquetColumnToObject;
     private final int fieldCount;
-    private Element currentRecord = null;
+    private final Set<String> projection;
 
     public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter) {
+        this(isEntity, schema, gafferGroupObjectConverter, null);
+    }
+
+    public GafferElementConverter(final boolean isEntity, final MessageType schema, final GafferGroupObjectConverter gafferGroupObjectConverter,
+                                  final Set<String> projection) {
         super();
         this.isEntity = isEntity;
+        this.projection = projection;
         this.parquetColumnToObject = new HashMap<>(schema.getFieldCount());
         this.gafferGroupObjectConverter = gafferGroupObjectConverter;
         this.fieldCount = schema.getFieldCount();
@@ -77,14 +86,15 @@ public class GafferElementConverter extends GroupConverter {
 
     @Override
     public void end() {
+        // The element is built in getCurrentRecord once the record has passed any filter
+    }
+
+    public Element getCurrentRecord() {
         try {
-            currentRecord = gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity);
+            return gafferGroupObjectConverter.buildElementFromParquetObjects(parquetColumnToObject, isEntity, projection);
         } catch (final SerialisationException e) {
             LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
+            return null;
         }
     }
-
-    public Element getCurrentRecord() {
-        return this.currentRecord;
-    }
 }
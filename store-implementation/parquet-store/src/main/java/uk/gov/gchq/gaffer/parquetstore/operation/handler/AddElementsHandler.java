@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler;
 
+import com.google.common.collect.Lists;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
@@ -46,7 +47,9 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -64,7 +67,18 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     public Void doOperation(final AddElements operation,
                             final Context context,
                             final Store store) throws OperationException {
-        addElements(operation, context, (ParquetStore) store);
+        final ParquetStore parquetStore = (ParquetStore) store;
+        parquetStore.getIngestLock().lock();
+        try {
+            parquetStore.checkCompactionFailure();
+            if (parquetStore.getProperties().getDeltaIngest()) {
+                addElementsAsDeltas(operation, context, parquetStore);
+            } else {
+                addElements(operation, context, parquetStore);
+            }
+        } finally {
+            parquetStore.getIngestLock().unlock();
+        }
         return null;
     }
 
@@ -119,6 +133,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 inputFiles.add(directoryForGroupAndPartitionId.apply(group, partition.getPartitionId()));
                 // Old data
                 inputFiles.add(store.getFile(group, partition));
+                // Delta files written by earlier delta ingests
+                store.getDeltaFiles(new Path(store.getFile(group, partition))).forEach(path -> inputFiles.add(path.toString()));
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark);
@@ -134,6 +150,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                 inputFiles.add(directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
                 // Old data
                 inputFiles.add(store.getFileForReversedEdges(group, partition));
+                // Delta files written by earlier delta ingests
+                store.getDeltaFiles(new Path(store.getFileForReversedEdges(group, partition))).forEach(path -> inputFiles.add(path.toString()));
                 final String outputDir = directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
                 final AggregateAndSortData task = new AggregateAndSortData(schemaUtils, fs, inputFiles, outputDir,
                         group, "reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark);
@@ -230,6 +248,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
             new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
             stream.close();
+            // Write out the statistics of the row groups of the new files
+            store.writeRowGroupIndex(new Path(newDataDir));
             // Move snapshot-tmp directory to snapshot
             final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
             LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
@@ -242,6 +262,118 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    private void addElementsAsDeltas(final AddElements addElementsOperation,
+                                     final Context context,
+                                     final ParquetStore store) throws OperationException {
+        // Set up
+        final FileSystem fs = store.getFS();
+        final Schema schema = store.getSchema();
+        final SchemaUtils schemaUtils = store.getSchemaUtils();
+        final SparkSession spark = SparkContextUtil.getSparkSession(context, store.getProperties());
+        final ExecutorService threadPool = createThreadPool(spark, store.getProperties());
+        final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
+        SparkParquetUtils.configureSparkForAddElements(spark, store.getProperties());
+
+        // Write data from addElementsOperation split by group and partition
+        final String tmpDirectory = store.getTempFilesDir();
+        final BiFunction<String, Integer, String> directoryForGroupAndPartitionId = (group, partitionId) ->
+                tmpDirectory
+                        + "/unsorted_unaggregated_new"
+                        + "/group=" + group
+                        + "/partition=" + partitionId;
+        final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges = (group, partitionId) ->
+                tmpDirectory
+                        + "/unsorted_unaggregated_new"
+                        + "/reversed-group=" + group
+                        + "/partition=" + partitionId;
+        LOGGER.info("Calling WriteUnsortedData to add elements as delta files");
+        new WriteUnsortedData(store, currentGraphPartitioner,
+                directoryForGroupAndPartitionId, directoryForGroupAndPartitionIdForReversedEdges)
+                .writeElements(addElementsOperation.getInput());
+
+        // Aggregate and sort the new data for only the partitions that received some of it - the old data is
+        // left untouched and is merged with the deltas when it is queried or compacted
+        final Map<String, String> sortedDirectoryToDeltaDirectory = new HashMap<>();
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        try {
+            for (final String group : schema.getGroups()) {
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                    final String inputDir = directoryForGroupAndPartitionId.apply(group, partition.getPartitionId());
+                    if (fs.exists(new Path(inputDir))) {
+                        final String outputDir = tmpDirectory + "/sorted_new/group=" + group + "/partition=" + partition.getPartitionId();
+                        tasks.add(new AggregateAndSortData(schemaUtils, fs, Lists.newArrayList(inputDir), outputDir,
+                                group, group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark));
+                        sortedDirectoryToDeltaDirectory.put(outputDir, store.getDeltaDir(group, partition.getPartitionId(), false));
+                        LOGGER.info("Created AggregateAndSortData task for delta of group {}, partition {}", group, partition.getPartitionId());
+                    }
+                }
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                    final String inputDir = directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
+                    if (fs.exists(new Path(inputDir))) {
+                        final String outputDir = tmpDirectory + "/sorted_new/REVERSED-group=" + group + "/partition=" + partition.getPartitionId();
+                        tasks.add(new AggregateAndSortData(schemaUtils, fs, Lists.newArrayList(inputDir), outputDir,
+                                group, "reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark));
+                        sortedDirectoryToDeltaDirectory.put(outputDir, store.getDeltaDir(group, partition.getPartitionId(), true));
+                        LOGGER.info("Created AggregateAndSortData task for delta of reversed edge group {}, partition {}", group, partition.getPartitionId());
+                    }
+                }
+            }
+            LOGGER.info("Invoking {} AggregateAndSortData tasks", tasks.size());
+            for (final Future<CallableResult> future : threadPool.invokeAll(tasks)) {
+                LOGGER.info("Result {} from task", future.get());
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException creating AggregateAndSortData tasks", e);
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        } finally {
+            threadPool.shutdown();
+        }
+
+        try {
+            // Move each sorted file into the delta directory of its partition in the current snapshot. Each file is
+            // moved with a single rename so a query never sees a partially written delta.
+            final long deltaId = store.getNextDeltaId();
+            for (final Map.Entry<String, String> entry : sortedDirectoryToDeltaDirectory.entrySet()) {
+                final Path outputDir = new Path(entry.getKey());
+                if (!fs.exists(outputDir)) {
+                    LOGGER.info("Not moving delta as the outputDir {} does not exist", outputDir);
+                    continue;
+                }
+                final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
+                if (1 != status.length) {
+                    LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
+                    throw new OperationException("Expected to find one Parquet file in path " + outputDir
+                            + " (found " + status.length + " files)");
+                }
+                final Path deltaDir = new Path(entry.getValue());
+                fs.mkdirs(deltaDir);
+                final Path destination = new Path(deltaDir, ParquetStore.getDeltaFile(deltaId));
+                LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
+                if (!fs.rename(status[0].getPath(), destination)) {
+                    throw new OperationException("Unable to rename " + status[0].getPath() + " to " + destination);
+                }
+            }
+
+            // Delete temporary data directory
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            fs.delete(new Path(tmpDirectory), true);
+            store.loadDeltaFiles();
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into delta directories", e);
+        }
+
+        final int maxDeltaFiles = store.getMaxDeltaFilesPerPartition();
+        if (maxDeltaFiles >= store.getProperties().getDeltaCompactionThreshold()) {
+            LOGGER.info("A partition has {} delta files, so starting a compaction", maxDeltaFiles);
+            store.compactDeltaFilesInBackground(spark);
+        }
+    }
+
     private static ExecutorService createThreadPool(final SparkSession spark, final ParquetStoreProperties storeProperties) {
         final int numberOfThreads;
         final Option<String> sparkDriverCores = spark.conf().getOption("spark.driver.cores");
@@ -73,13 +73,18 @@ public class AddElementsFromRDD {
     }
 
     void addElementsFromRDD(final JavaRDD<Element> input) throws OperationException {
-        writeInputData(input);
-        aggregateNewAndOldData();
-        sort();
-        sortEdgeGroupsByDestination();
-        calculateAndWritePartitioner();
-        createNewSnapshotDirectory();
-        deleteTempDirectory();
+        store.getIngestLock().lock();
+        try {
+            writeInputData(input);
+            aggregateNewAndOldData();
+            sort();
+            sortEdgeGroupsByDestination();
+            calculateAndWritePartitioner();
+            createNewSnapshotDirectory();
+            deleteTempDirectory();
+        } finally {
+            store.getIngestLock().unlock();
+        }
     }
 
     void addElementsFromRDD(final RDD<Element> input) throws OperationException {
@@ -146,6 +151,7 @@ public class AddElementsFromRDD {
                 throw new OperationException("IOException finding files for group " + group, e);
             }
             existingData.stream().map(Path::toString).forEach(inputFiles::add);
+            addDeltaFiles(group, inputFiles);
             final String outputDir = getDirectory(group, false, true, false);
             final AggregateDataForGroup aggregateDataForGroup;
             try {
@@ -159,6 +165,19 @@ public class AddElementsFromRDD {
         }
     }
 
+    /**
+     * Adds any delta files written by delta ingest for the group to the input files, so that they are folded into
+     * the new snapshot.
+     *
+     * @param group      the group
+     * @param inputFiles the input files
+     */
+    private void addDeltaFiles(final String group, final List<String> inputFiles) {
+        for (final Path file : store.getFilesWithDeltasForGroup(group)) {
+            store.getDeltaFiles(file).forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+        }
+    }
+
     /**
      * For each group, sorts the data. If the group requires aggregation then the aggregated data from the previous
      * call to {@link AddElementsFromRDD#aggregateNewAndOldData} is sorted. If the group does not require aggregation
@@ -184,6 +203,7 @@ public class AddElementsFromRDD {
                     Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
                     final List<Path> existingData = store.getFilesForGroup(group);
                     existingData.stream().map(p -> p.toString()).forEach(inputFiles::add);
+                    addDeltaFiles(group, inputFiles);
                 }
                 sort(group, false, inputFiles, outputDir);
             }
@@ -299,6 +319,8 @@ public class AddElementsFromRDD {
                 LOGGER.debug("Renaming {} to {}", fss[i].getPath(), destination);
                 fs.rename(fss[i].getPath(), destination);
             }
+            // Write out the statistics of the row groups of the new files
+            store.writeRowGroupIndex(new Path(newDataDir));
 
             // Move snapshot-tmp directory to snapshot
             final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+
+/**
+ * Calculates the {@link RowGroupIndex} from a snapshot directory containing all the Parquet files for a graph by
+ * reading the footer of every file.
+ */
+public class CalculateRowGroupIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CalculateRowGroupIndex.class);
+
+    private final Path path;
+    private final Schema schema;
+    private final FileSystem fs;
+
+    public CalculateRowGroupIndex(final Path path, final Schema schema, final FileSystem fs) {
+        this.path = path;
+        this.schema = schema;
+        this.fs = fs;
+    }
+
+    public RowGroupIndex call() throws IOException {
+        final RowGroupIndex rowGroupIndex = new RowGroupIndex();
+        for (final String group : schema.getGroups()) {
+            addFiles(rowGroupIndex, new Path(path, ParquetStore.getGroupSubDir(group, false)));
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            addFiles(rowGroupIndex, new Path(path, ParquetStore.getGroupSubDir(group, true)));
+        }
+        return rowGroupIndex;
+    }
+
+    private void addFiles(final RowGroupIndex rowGroupIndex, final Path groupPath) throws IOException {
+        if (!fs.exists(groupPath)) {
+            return;
+        }
+        final FileStatus[] files = fs.listStatus(groupPath, p -> p.getName().endsWith(".parquet"));
+        LOGGER.debug("Reading the footers of {} files in {}", files.length, groupPath);
+        for (final FileStatus file : files) {
+            rowGroupIndex.addFile(file.getPath(), ParquetFileReader
+                    .readFooter(fs.getConf(), file.getPath(), ParquetMetadataConverter.NO_FILTER)
+                    .getBlocks());
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Folds the delta files written by delta ingest into a new snapshot. Every partition that has delta files is
+ * aggregated and sorted together with its base file; the base files of the other partitions are renamed into the new
+ * snapshot unchanged, so the cost of a compaction depends on the amount of data in the partitions that received
+ * deltas rather than on the size of the graph. The files are only moved whilst the store's snapshot lock is held in
+ * write mode, so that no query is reading the current snapshot while its files are renamed. If queries are still open
+ * after {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getDeltaCompactionLockTimeoutMillis()} then the
+ * compaction is abandoned and the delta files are left in place.
+ */
+public class CompactDeltaFiles implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactDeltaFiles.class);
+    private static final String COMPACTED = "/compacted";
+    private static final long LOCK_POLL_MILLIS = 100L;
+
+    private final ParquetStore store;
+    private final SparkSession spark;
+
+    public CompactDeltaFiles(final ParquetStore store, final SparkSession spark) {
+        this.store = store;
+        this.spark = spark;
+    }
+
+    @Override
+    public CallableResult call() throws OperationException {
+        store.getIngestLock().lock();
+        try {
+            if (0 == store.getMaxDeltaFilesPerPartition()) {
+                LOGGER.info("There are no delta files to compact");
+                return CallableResult.SUCCESS;
+            }
+            return compact() ? CallableResult.SUCCESS : CallableResult.FAILURE;
+        } finally {
+            store.getIngestLock().unlock();
+        }
+    }
+
+    private boolean compact() throws OperationException {
+        final FileSystem fs = store.getFS();
+        final GraphPartitioner graphPartitioner = store.getGraphPartitioner();
+        final String tmpDirectory = store.getTempFilesDir();
+
+        // Aggregate and sort the base file and the delta files of every partition that has delta files
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        try {
+            for (final String group : store.getSchema().getGroups()) {
+                for (final Partition partition : graphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                    final Path file = new Path(store.getFile(group, partition));
+                    final List<Path> deltaFiles = store.getDeltaFiles(file);
+                    if (!deltaFiles.isEmpty()) {
+                        tasks.add(createTask(group, partition.getPartitionId(), false, file, deltaFiles));
+                    }
+                }
+            }
+            for (final String group : store.getSchema().getEdgeGroups()) {
+                for (final Partition partition : graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                    final Path file = new Path(store.getFileForReversedEdges(group, partition));
+                    final List<Path> deltaFiles = store.getDeltaFiles(file);
+                    if (!deltaFiles.isEmpty()) {
+                        tasks.add(createTask(group, partition.getPartitionId(), true, file, deltaFiles));
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException creating compaction tasks", e);
+        }
+        final ExecutorService threadPool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
+        try {
+            LOGGER.info("Invoking {} AggregateAndSortData tasks to compact the delta files", tasks.size());
+            for (final Future<CallableResult> future : threadPool.invokeAll(tasks)) {
+                LOGGER.info("Result {} from task", future.get());
+            }
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        } finally {
+            threadPool.shutdown();
+        }
+
+        final StampedLock snapshotLock = store.getSnapshotLock();
+        final long stamp = acquireSnapshotWriteLock(snapshotLock);
+        if (0L == stamp) {
+            LOGGER.warn("Not compacting the delta files as queries against the current snapshot were still open after {}ms",
+                    store.getProperties().getDeltaCompactionLockTimeoutMillis());
+            try {
+                fs.delete(new Path(tmpDirectory + COMPACTED), true);
+            } catch (final IOException e) {
+                throw new OperationException("IOException deleting temporary directory " + tmpDirectory + COMPACTED, e);
+            }
+            return false;
+        }
+        try {
+            moveToNewSnapshot(fs, graphPartitioner, tmpDirectory);
+        } finally {
+            snapshotLock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    // Waits for the queries reading the current snapshot to finish, returning 0 if they are still open after the
+    // timeout. The lock is polled rather than waited for so that new queries are not blocked behind the compaction.
+    private long acquireSnapshotWriteLock(final StampedLock snapshotLock) throws OperationException {
+        final long deadline = System.currentTimeMillis() + store.getProperties().getDeltaCompactionLockTimeoutMillis();
+        long stamp = snapshotLock.tryWriteLock();
+        while (0L == stamp && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Interrupted waiting for queries against the current snapshot to finish", e);
+            }
+            stamp = snapshotLock.tryWriteLock();
+        }
+        return stamp;
+    }
+
+    private void moveToNewSnapshot(final FileSystem fs, final GraphPartitioner graphPartitioner,
+                                   final String tmpDirectory) throws OperationException {
+        // The unchanged base files that have been renamed into the new snapshot, so that they can be renamed back if
+        // the compaction fails before the store switches to the new snapshot
+        final Map<Path, Path> renamedFiles = new LinkedHashMap<>();
+        try {
+            // Build the new snapshot in a -tmp directory and then rename it, so that the switch to the new snapshot
+            // is atomic.
+            final long snapshot = System.currentTimeMillis();
+            final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
+            LOGGER.info("Writing compacted data to new snapshot directory {}", newDataDir);
+            fs.mkdirs(new Path(newDataDir));
+            for (final String group : store.getSchema().getGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, false));
+                fs.mkdirs(groupDir);
+                for (final Partition partition : graphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                    moveToSnapshot(fs, new Path(store.getFile(group, partition)), group, partition.getPartitionId(),
+                            false, new Path(groupDir, ParquetStore.getFile(partition.getPartitionId())), renamedFiles);
+                }
+            }
+            for (final String group : store.getSchema().getEdgeGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.getGroupSubDir(group, true));
+                fs.mkdirs(groupDir);
+                for (final Partition partition : graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                    moveToSnapshot(fs, new Path(store.getFileForReversedEdges(group, partition)), group, partition.getPartitionId(),
+                            true, new Path(groupDir, ParquetStore.getFile(partition.getPartitionId())), renamedFiles);
+                }
+            }
+
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory + COMPACTED);
+            fs.delete(new Path(tmpDirectory + COMPACTED), true);
+            // Write out graph partitioner (unchanged from previous one)
+            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+            final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
+            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+            new GraphPartitionerSerialiser().write(graphPartitioner, stream);
+            stream.close();
+            // Write out the statistics of the row groups of the new files
+            store.writeRowGroupIndex(new Path(newDataDir));
+            // Move snapshot-tmp directory to snapshot
+            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+            rename(fs, new Path(newDataDir), new Path(directoryWithoutTmp));
+            renamedFiles.clear();
+            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+            store.setLatestSnapshot(snapshot);
+        } catch (final IOException | StoreException e) {
+            restore(fs, renamedFiles);
+            throw new OperationException("IOException moving compacted files into new snapshot directory", e);
+        } catch (final OperationException e) {
+            restore(fs, renamedFiles);
+            throw e;
+        }
+    }
+
+    private AggregateAndSortData createTask(final String group, final Integer partitionId, final boolean reversed,
+                                            final Path file, final List<Path> deltaFiles) throws IOException {
+        final List<String> inputFiles = new ArrayList<>();
+        if (store.getFS().exists(file)) {
+            inputFiles.add(file.toString());
+        }
+        deltaFiles.forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+        final String id = (reversed ? "reversed-" : "") + group + "-" + partitionId;
+        LOGGER.info("Created AggregateAndSortData task to compact {} delta files for {}", deltaFiles.size(), id);
+        return new AggregateAndSortData(store.getSchemaUtils(), store.getFS(), inputFiles,
+                getOutputDir(group, partitionId, reversed), group, "compaction-" + id, reversed,
+                store.getProperties().getCompressionCodecName(), spark);
+    }
+
+    private String getOutputDir(final String group, final Integer partitionId, final boolean reversed) {
+        return store.getTempFilesDir()
+                + COMPACTED
+                + (reversed ? "/REVERSED-group=" : "/group=") + group
+                + "/partition=" + partitionId;
+    }
+
+    private void moveToSnapshot(final FileSystem fs, final Path file, final String group, final Integer partitionId,
+                                final boolean reversed, final Path destination, final Map<Path, Path> renamedFiles)
+            throws IOException, OperationException {
+        if (store.getDeltaFiles(file).isEmpty()) {
+            if (fs.exists(file)) {
+                LOGGER.debug("Renaming unchanged file {} to {}", file, destination);
+                rename(fs, file, destination);
+                renamedFiles.put(destination, file);
+            }
+            return;
+        }
+        final Path outputDir = new Path(getOutputDir(group, partitionId, reversed));
+        if (!fs.exists(outputDir)) {
+            LOGGER.info("Not moving compacted data for group {}, partition id {} as the outputDir {} does not exist",
+                    group, partitionId, outputDir);
+            return;
+        }
+        final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
+        if (1 != status.length) {
+            LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
+            throw new OperationException("Expected to find one Parquet file in path " + outputDir
+                    + " (found " + status.length + " files)");
+        }
+        LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
+        rename(fs, status[0].getPath(), destination);
+    }
+
+    private static void restore(final FileSystem fs, final Map<Path, Path> renamedFiles) {
+        for (final Map.Entry<Path, Path> entry : renamedFiles.entrySet()) {
+            try {
+                LOGGER.info("Renaming {} back to {} as the compaction failed", entry.getKey(), entry.getValue());
+                rename(fs, entry.getKey(), entry.getValue());
+            } catch (final IOException e) {
+                LOGGER.error("Unable to rename {} back to {}", entry.getKey(), entry.getValue(), e);
+            }
+        }
+    }
+
+    private static void rename(final FileSystem fs, final Path source, final Path destination) throws IOException {
+        // FileSystem.rename reports some failures, e.g. a missing parent directory, by returning false
+        if (!fs.rename(source, destination)) {
+            throw new IOException("Unable to rename " + source + " to " + destination);
+        }
+    }
+}
@@ -16,36 +16,67 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex;
+import uk.gov.gchq.gaffer.parquetstore.query.ParquetFileQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
 
 /**
  * Converts the inputs for get element operations to a mapping of files to Parquet filters which is
- * then looped over to retrieve the filtered Elements.
+ * then looped over to retrieve the filtered Elements. The files are read using the store's shared pool of reader
+ * threads, with at most {@link ParquetStoreProperties#getReaderThreadsPerQuery()} files being read at the same time
+ * for each query, into bounded queues so that the readers wait for the results to be consumed. A reader stops if the
+ * query is closed or if its results are not consumed within {@link ParquetStoreProperties#getReaderQueueTimeoutMillis()}.
+ * If {@link ParquetStoreProperties#PARQUET_READER_SORTED_MERGE} is set then the sorted results of each directory are
+ * merged so that the elements are returned sorted by vertex. As every directory has to be read at the same time, these
+ * directories are read using threads belonging to the query rather than the shared pool.
+ * <p>
+ * Each iterator holds the store's snapshot lock in read mode from when it works out which files to read until it has
+ * returned all the results or is closed, so that a compaction cannot move the files of the snapshot it is reading.
  */
 public class ParquetElementRetriever implements CloseableIterable<Element> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ParquetElementRetriever.class);
@@ -53,6 +84,7 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     private final ParquetStore store;
     private final Operation operation;
     private final User user;
+    private ParquetIterator currentIterator;
 
     public ParquetElementRetriever(final ParquetStore store, final Operation operation, final User user) {
         if (!(operation instanceof GetElements) && !(operation instanceof GetAllElements)) {
@@ -70,18 +102,58 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
     @Override
     public CloseableIterator<Element> iterator() {
         try {
-            return new ParquetIterator(store, operation, user);
+            currentIterator = new ParquetIterator(store, operation, user);
+            return currentIterator;
         } catch (final OperationException e) {
             throw new RuntimeException("Exception in iterator()", e);
         }
     }
 
+    /**
+     * @return the number of rows in the row groups that the current iterator has to read, according to the
+     * {@link uk.gov.gchq.gaffer.parquetstore.index.RowGroupIndex} (rows in delta files are not included)
+     */
+    public long getRowsRead() {
+        return null == currentIterator ? 0L : currentIterator.rowsRead;
+    }
+
+    /**
+     * @return the number of elements returned by the current iterator
+     */
+    public long getElementsReturned() {
+        return null == currentIterator ? 0L : currentIterator.elementsReturned;
+    }
+
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
+        private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+        private final Deque<Callable<OperationException>> pendingTasks = new ArrayDeque<>();
+        private final List<Future<OperationException>> runningTasks = new ArrayList<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+        private final StampedLock snapshotLock;
+        private long snapshotStamp;
         private ExecutorService executorServicePool;
+        private ExecutorService mergeExecutorService;
+        private int maxRunningTasks;
+        private long queueTimeoutMillis;
+        private boolean closed;
+        private Element nextElement;
+        private long rowsRead;
+        private long elementsReturned;
+
+        // Used when the results are returned in the order that they are read
+        private BlockingQueue<Element> queue;
+
+        // Used when the sorted results of each directory are merged: one queue and task per directory, and a priority
+        // queue holding the next element from each directory
+        private List<BlockingQueue<Element>> mergeQueues;
+        private List<Future<OperationException>> mergeTasks;
+        private PriorityQueue<MergeHead> mergeHeads;
+        private int lastMergedQueue = -1;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
+            snapshotLock = store.getSnapshotLock();
+            snapshotStamp = snapshotLock.readLock();
             final QueryGenerator queryGenerator = new QueryGenerator(store);
             final View view;
             if (operation instanceof GetAllElements) {
@@ -93,90 +165,301 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
+                    // Use the row group index to skip the files that cannot contain any matching rows without
+                    // opening them
+                    final RowGroupIndex rowGroupIndex = store.getRowGroupIndex();
+                    final List<ParquetFileQuery> fileQueries = parquetQuery.getAllParquetFileQueries()
                             .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
-                                    store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                            .filter(entry -> null == rowGroupIndex || !entry.getDeltaFiles().isEmpty()
+                                    || !rowGroupIndex.canDrop(entry.getFile(), entry.getFilter()))
+                            .collect(Collectors.toList());
+                    LOGGER.debug("Skipping {} of {} files using the row group index",
+                            parquetQuery.getAllParquetFileQueries().size() - fileQueries.size(),
+                            parquetQuery.getAllParquetFileQueries().size());
+                    if (null != rowGroupIndex) {
+                        rowsRead = fileQueries
+                                .stream()
+                                .mapToLong(entry -> rowGroupIndex.getRowCount(entry.getFile(), entry.getFilter()))
+                                .sum();
+                    }
+                    executorServicePool = store.getReaderExecutor();
+                    maxRunningTasks = Math.max(1, store.getProperties().getReaderThreadsPerQuery());
+                    queueTimeoutMillis = store.getProperties().getReaderQueueTimeoutMillis();
+                    final int queueSize = store.getProperties().getReaderQueueSize();
+                    final boolean sortedMerge = Boolean.parseBoolean(operation.getOption(
+                            ParquetStoreProperties.PARQUET_READER_SORTED_MERGE,
+                            String.valueOf(store.getProperties().getReaderSortedMerge())));
+                    if (sortedMerge && canMerge(store, fileQueries)) {
+                        createMergeTasks(store, fileQueries, view, user, queueSize);
+                    } else {
+                        queue = new LinkedBlockingQueue<>(queueSize);
+                        for (final ParquetFileQuery entry : fileQueries) {
+                            pendingTasks.add(createTask(store, entry, queue, view, user));
+                        }
+                        LOGGER.info("Invoking {} RetrieveElementsFromFile tasks, at most {} at a time",
+                                pendingTasks.size(), maxRunningTasks);
+                        submitPendingTasks();
+                    }
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
+                    releaseSnapshot();
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
+                close();
                 throw new OperationException("Exception creating ParquetIterator", e);
-            } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
+            } catch (final RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        // Allows a compaction to move the files of the snapshot that this iterator was reading
+        private synchronized void releaseSnapshot() {
+            if (0L != snapshotStamp) {
+                snapshotLock.unlockRead(snapshotStamp);
+                snapshotStamp = 0L;
+            }
+        }
+
+        private RetrieveElementsFromFile createTask(final ParquetStore store, final ParquetFileQuery entry,
+                                                    final BlockingQueue<Element> queue, final View view,
+                                                    final User user) {
+            return new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(), store.getSchema(), queue,
+                    !entry.isFullyApplied(), store.getProperties().getSkipValidation(), view, user,
+                    entry.getDeltaFiles(), cancelled, queueTimeoutMillis);
+        }
+
+        // The files in a directory are range partitioned and sorted, so reading them in partition order gives the
+        // sorted elements of that directory. This is not true for files with delta files as any new elements from
+        // the deltas are returned after the elements of the file. Merging also requires all the vertices to be of
+        // the same comparable class.
+        private static boolean canMerge(final ParquetStore store, final List<ParquetFileQuery> fileQueries) {
+            if (fileQueries.stream().anyMatch(entry -> !entry.getDeltaFiles().isEmpty())) {
+                LOGGER.warn("Not merging the results into sorted order as some of the files have delta files");
+                return false;
+            }
+            final Set<String> groups = fileQueries
+                    .stream()
+                    .map(entry -> entry.getFile().getParent().getName().split("=")[1])
+                    .collect(Collectors.toSet());
+            final Set<Class<?>> vertexClasses = new HashSet<>();
+            for (final String group : groups) {
+                final SchemaElementDefinition elementDefinition = store.getSchema().getElement(group);
+                vertexClasses.add(store.getSchema().getEntityGroups().contains(group)
+                        ? elementDefinition.getIdentifierClass(IdentifierType.VERTEX)
+                        : elementDefinition.getIdentifierClass(IdentifierType.SOURCE));
+            }
+            if (vertexClasses.size() > 1 || vertexClasses.stream().anyMatch(clazz -> !Comparable.class.isAssignableFrom(clazz))) {
+                LOGGER.warn("Not merging the results into sorted order as the vertices are not of a single comparable class: {}",
+                        vertexClasses);
+                return false;
+            }
+            return true;
+        }
+
+        private void createMergeTasks(final ParquetStore store, final List<ParquetFileQuery> fileQueries,
+                                      final View view, final User user, final int queueSize) {
+            final Map<Path, List<ParquetFileQuery>> directoryToQueries = fileQueries
+                    .stream()
+                    .sorted(Comparator.comparing(entry -> entry.getFile().getName()))
+                    .collect(Collectors.groupingBy(entry -> entry.getFile().getParent(), LinkedHashMap::new, Collectors.toList()));
+            mergeQueues = new ArrayList<>(directoryToQueries.size());
+            mergeTasks = new ArrayList<>(directoryToQueries.size());
+            final List<Boolean> reversed = new ArrayList<>(directoryToQueries.size());
+            // Every directory has to be read at the same time to be able to merge them. The shared pool may not have
+            // that many free threads, in which case some directories would never be read, so they are read using
+            // threads that belong to this query.
+            mergeExecutorService = Executors.newFixedThreadPool(Math.max(1, directoryToQueries.size()), runnable -> {
+                final Thread thread = new Thread(runnable, "parquet-merge-reader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (final Map.Entry<Path, List<ParquetFileQuery>> entry : directoryToQueries.entrySet()) {
+                final BlockingQueue<Element> directoryQueue = new LinkedBlockingQueue<>(queueSize);
+                final List<RetrieveElementsFromFile> tasks = entry.getValue()
+                        .stream()
+                        .map(fileQuery -> createTask(store, fileQuery, directoryQueue, view, user))
+                        .collect(Collectors.toList());
+                mergeQueues.add(directoryQueue);
+                reversed.add(ParquetStore.REVERSED_EDGES.equals(entry.getKey().getParent().getName()));
+                final Future<OperationException> task = mergeExecutorService.submit(new RetrieveElementsFromFiles(tasks));
+                mergeTasks.add(task);
+                runningTasks.add(task);
+            }
+            // No more tasks are needed, so let the threads finish once the directories have been read
+            mergeExecutorService.shutdown();
+            LOGGER.info("Merging the sorted results of {} files in {} directories", fileQueries.size(), mergeQueues.size());
+            mergeHeads = new PriorityQueue<>(Math.max(1, mergeQueues.size()),
+                    (h1, h2) -> compareVertices(getSortKey(h1.element, reversed.get(h1.queueIndex)),
+                            getSortKey(h2.element, reversed.get(h2.queueIndex))));
+        }
+
+        private static Object getSortKey(final Element element, final boolean reversed) {
+            if (element instanceof Entity) {
+                return ((Entity) element).getVertex();
+            }
+            final Edge edge = (Edge) element;
+            return reversed ? edge.getDestination() : edge.getSource();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compareVertices(final Object vertex1, final Object vertex2) {
+            return ((Comparable<Object>) vertex1).compareTo(vertex2);
+        }
+
+        private void submitPendingTasks() {
+            while (runningTasks.size() < maxRunningTasks && !pendingTasks.isEmpty()) {
+                runningTasks.add(executorServicePool.submit(pendingTasks.poll()));
+            }
+        }
+
+        // Removes the completed tasks, starting pending tasks in their place, and returns whether there are any tasks
+        // left to run
+        private boolean updateTasks() throws ExecutionException, InterruptedException, OperationException {
+            final Iterator<Future<OperationException>> tasks = runningTasks.iterator();
+            while (tasks.hasNext()) {
+                final Future<OperationException> task = tasks.next();
+                if (task.isDone()) {
+                    checkResult(task);
+                    tasks.remove();
+                }
+            }
+            submitPendingTasks();
+            return !runningTasks.isEmpty();
+        }
+
+        private static void checkResult(final Future<OperationException> task)
+                throws ExecutionException, InterruptedException, OperationException {
+            final OperationException taskResult = task.get();
+            if (null != taskResult) {
+                throw taskResult;
             }
         }
 
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
-                        }
-                    }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
-                }
-            } else {
+            if (null != nextElement) {
+                return true;
+            }
+            if (closed || (null == queue && null == mergeQueues)) {
                 return false;
             }
+            try {
+                nextElement = null != queue ? takeFromQueue() : takeMerged();
+            } catch (final Exception e) {
+                LOGGER.error(e.getMessage(), e);
+                close();
+            }
+            if (null == nextElement) {
+                releaseSnapshot();
+            }
+            return null != nextElement;
         }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
+        private Element takeFromQueue() throws ExecutionException, InterruptedException, OperationException {
+            Element e = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            while (null == e && updateTasks()) {
+                e = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            // Elements may have been added by the last tasks to finish
+            return null != e ? e : queue.poll();
+        }
+
+        private Element takeMerged() throws ExecutionException, InterruptedException, OperationException {
+            if (-1 == lastMergedQueue) {
+                for (int i = 0; i < mergeQueues.size(); i++) {
+                    addMergeHead(i);
                 }
+            } else {
+                addMergeHead(lastMergedQueue);
+            }
+            final MergeHead head = mergeHeads.poll();
+            if (null == head) {
+                return null;
+            }
+            lastMergedQueue = head.queueIndex;
+            return head.element;
+        }
+
+        private void addMergeHead(final int queueIndex) throws ExecutionException, InterruptedException, OperationException {
+            final BlockingQueue<Element> mergeQueue = mergeQueues.get(queueIndex);
+            final Future<OperationException> task = mergeTasks.get(queueIndex);
+            Element e = mergeQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            while (null == e && !task.isDone()) {
+                e = mergeQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            if (null == e) {
+                checkResult(task);
+                e = mergeQueue.poll();
+            }
+            if (null != e) {
+                mergeHeads.add(new MergeHead(e, queueIndex));
             }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element e = nextElement;
+            nextElement = null;
+            elementsReturned++;
+            return e;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            if (!closed) {
+                LOGGER.debug("ParquetIterator read {} rows and returned {} elements", rowsRead, elementsReturned);
+                closed = true;
+                // The pool is shared with other queries so only this query's tasks are stopped
+                cancelled.set(true);
+                pendingTasks.clear();
+                runningTasks.forEach(task -> task.cancel(true));
+                runningTasks.clear();
+                if (null != mergeExecutorService) {
+                    mergeExecutorService.shutdownNow();
+                    mergeExecutorService = null;
+                }
+                queue = null;
+                mergeQueues = null;
+                mergeHeads = null;
+            }
+            releaseSnapshot();
+        }
+    }
+
+    private static final class MergeHead {
+        private final Element element;
+        private final int queueIndex;
+
+        private MergeHead(final Element element, final int queueIndex) {
+            this.element = element;
+            this.queueIndex = queueIndex;
+        }
+    }
+
+    /**
+     * Retrieves the elements from several files, one after another, into the same queue.
+     */
+    private static final class RetrieveElementsFromFiles implements Callable<OperationException> {
+        private final List<RetrieveElementsFromFile> tasks;
+
+        private RetrieveElementsFromFiles(final List<RetrieveElementsFromFile> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public OperationException call() throws Exception {
+            for (final RetrieveElementsFromFile task : tasks) {
+                final OperationException result = task.call();
+                if (null != result) {
+                    return result;
+                }
             }
-            queue = null;
-            runningTasks = null;
+            return null;
         }
     }
 }
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -37,25 +38,36 @@ import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * {@link java.util.concurrent.BlockingQueue}. If the queue is full then this waits until there is space in it, giving
+ * up if the query is cancelled or if no space becomes available within the queue timeout.
  */
 public class RetrieveElementsFromFile implements Callable<OperationException> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
+    private static final long QUEUE_POLL_MILLIS = 100L;
 
     private final Path filePath;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BlockingQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
@@ -65,17 +77,53 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final List<Path> deltaFilePaths;
+    private transient Set<String> projection;
+    private final AtomicBoolean cancelled;
+    private final long queueTimeoutMillis;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BlockingQueue<Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
-        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view, user,
+                Collections.emptyList());
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user,
+                                    final List<Path> deltaFilePaths) {
+        this(filePath, filter, gafferSchema, queue, needsValidatorsAndFiltersApplying, skipValidation, view, user,
+                deltaFilePaths, new AtomicBoolean(false), Long.MAX_VALUE);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final View view,
+                                    final User user,
+                                    final List<Path> deltaFilePaths,
+                                    final AtomicBoolean cancelled,
+                                    final long queueTimeoutMillis) {
+        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {} and {} delta files",
+                filePath, filter, deltaFilePaths.size());
         this.filePath = filePath;
+        this.deltaFilePaths = deltaFilePaths;
+        this.cancelled = cancelled;
+        this.queueTimeoutMillis = queueTimeoutMillis;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
         this.gafferSchema = gafferSchema;
@@ -113,63 +161,175 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
+        projection = getProjection();
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
+            if (deltaFilePaths.isEmpty()) {
+                readFile(filePath);
+            } else {
+                readFileAndDeltas();
+            }
+        } catch (final IOException ignore) {
+            LOGGER.error("IOException reading file", ignore);
+            // ignore as this file does not exist
+        } catch (final InterruptedException e) {
+            LOGGER.debug("Stopped reading file {}: {}", filePath, e.getMessage());
+            return new OperationException("Stopped reading file " + filePath + ": " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    // Waits for space in the queue, giving up if the query has been cancelled or if the results have not been
+    // consumed within the queue timeout, e.g. because the iterator has been abandoned without being closed
+    private void addToQueue(final Element e) throws InterruptedException {
+        final long startTime = System.currentTimeMillis();
+        while (!queue.offer(e, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (cancelled.get()) {
+                throw new InterruptedException("the query was cancelled");
+            }
+            if (System.currentTimeMillis() - startTime >= queueTimeoutMillis) {
+                throw new InterruptedException("the results were not consumed within " + queueTimeoutMillis + "ms");
+            }
+        }
+    }
+
+    private void readFile(final Path path) throws IOException, VisibilityParseException, InterruptedException {
+        try (final ParquetReader<Element> fileReader = openParquetReader(path)) {
             Element e = fileReader.read();
             while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
+                processElement(e);
+                e = fileReader.read();
+            }
+        }
+    }
+
+    // Reads the file together with its delta files. If the group is aggregated then the delta files, which are small,
+    // are aggregated in memory and then merged into the elements of the file as it is streamed through, so that each
+    // element is only returned once and the view is applied to the fully aggregated element.
+    private void readFileAndDeltas() throws IOException, VisibilityParseException, InterruptedException {
+        final boolean fileExists = filePath.getFileSystem(new Configuration()).exists(filePath);
+        if (!gafferSchema.getAggregatedGroups().contains(group)) {
+            if (fileExists) {
+                readFile(filePath);
+            }
+            for (final Path deltaFilePath : deltaFilePaths) {
+                readFile(deltaFilePath);
+            }
+            return;
+        }
+
+        final AggregatorUtil.ToIngestElementKey toKey = new AggregatorUtil.ToIngestElementKey(gafferSchema);
+        final AggregatorUtil.IngestElementBinaryOperator aggregator = new AggregatorUtil.IngestElementBinaryOperator(gafferSchema);
+        final Map<Element, Element> keyToDeltaElement = new HashMap<>();
+        for (final Path deltaFilePath : deltaFilePaths) {
+            try (final ParquetReader<Element> deltaReader = openParquetReader(deltaFilePath)) {
+                Element e = deltaReader.read();
+                while (null != e) {
+                    keyToDeltaElement.merge(toKey.apply(e), e, aggregator);
+                    e = deltaReader.read();
+                }
+            }
+        }
+        LOGGER.debug("Read {} aggregated elements from {} delta files of {}", keyToDeltaElement.size(), deltaFilePaths.size(), filePath);
+
+        if (fileExists) {
+            try (final ParquetReader<Element> fileReader = openParquetReader(filePath)) {
+                Element e = fileReader.read();
+                while (null != e) {
+                    final Element deltaElement = keyToDeltaElement.remove(toKey.apply(e));
+                    processElement(null == deltaElement ? e : aggregator.apply(e, deltaElement));
+                    e = fileReader.read();
+                }
+            }
+        }
+        // The remaining elements are new to the partition
+        for (final Element e : keyToDeltaElement.values()) {
+            processElement(e);
+        }
+    }
+
+    private void processElement(final Element e) throws VisibilityParseException, InterruptedException {
+        if (!visibility.isEmpty()) {
+            if (isVisible(e)) {
+                if (needsValidatorsAndFiltersApplying) {
                     final String group = e.getGroup();
                     final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
                     if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
                         if (elementFilter == null || elementFilter.test(e)) {
                             ViewUtil.removeProperties(view, e);
-                            queue.add(e);
+                            addToQueue(e);
                         }
                     }
                 } else {
                     ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                    addToQueue(e);
                 }
-                e = fileReader.read();
             }
-            fileReader.close();
-        } catch (final IOException ignore) {
-            LOGGER.error("IOException reading file", ignore);
-            // ignore as this file does not exist
+        } else if (needsValidatorsAndFiltersApplying) {
+            final String group = e.getGroup();
+            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
+            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
+                if (elementFilter == null || elementFilter.test(e)) {
+                    ViewUtil.removeProperties(view, e);
+                    addToQueue(e);
+                }
+            }
+        } else {
+            ViewUtil.removeProperties(view, e);
+            addToQueue(e);
+        }
+    }
+
+    // Works out which properties have to be read from the files: those kept by the view, those used by the
+    // pre-aggregation filter, which is also the source of any pushed down Parquet filter, those used by the validator
+    // and the visibility property. Returns null if all the properties have to be read, which is always the case when
+    // delta files are being merged into an aggregated group as the aggregator needs every property.
+    private Set<String> getProjection() {
+        final ViewElementDefinition elementDefinition = view.getElement(group);
+        if (null == elementDefinition || elementDefinition.isAllProperties()
+                || (!deltaFilePaths.isEmpty() && gafferSchema.getAggregatedGroups().contains(group))) {
+            return null;
+        }
+        final Set<String> properties = new HashSet<>(gafferSchema.getElement(group).getProperties());
+        if (null == elementDefinition.getProperties()) {
+            properties.removeAll(elementDefinition.getExcludeProperties());
+        } else {
+            properties.retainAll(elementDefinition.getProperties());
+        }
+        addSelectedProperties(elementFilter, properties);
+        if (needsValidatorsAndFiltersApplying && !skipValidation) {
+            addSelectedProperties(gafferSchema.getElement(group).getValidator(false), properties);
+        }
+        if (!visibility.isEmpty()) {
+            properties.add(visibility);
+        }
+        LOGGER.debug("Reading properties {} of group {}", properties, group);
+        return properties;
+    }
+
+    private static void addSelectedProperties(final ElementFilter filter, final Set<String> properties) {
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> predicate : filter.getComponents()) {
+                Collections.addAll(properties, predicate.getSelection());
+            }
         }
-        return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    private ParquetReader<Element> openParquetReader(final Path path) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        LOGGER.debug("Opening a new Parquet reader for file {}", path);
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withProjection(projection)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
+                    .withProjection(projection)
                     .build();
         }
     }
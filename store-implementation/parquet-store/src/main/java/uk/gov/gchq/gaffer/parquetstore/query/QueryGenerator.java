@@ -93,7 +93,14 @@ public class QueryGenerator {
         // Stage 2: Create map from group to list of files containing data for that group
         final Map<String, List<Path>> groupToPaths = new HashMap<>();
         for (final String group : allRelevantGroups) {
-            groupToPaths.put(group, store.getFilesForGroup(group));
+            final List<Path> paths = store.getFilesForGroup(group);
+            // Partitions that only contain data in delta files do not have a base file yet
+            for (final Path path : store.getFilesWithDeltasForGroup(group)) {
+                if (!paths.contains(path)) {
+                    paths.add(path);
+                }
+            }
+            groupToPaths.put(group, paths);
         }
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
@@ -118,9 +125,11 @@ public class QueryGenerator {
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
             for (final Path path : entry.getValue()) {
                 final String group = entry.getKey();
+                final FilterPredicate identifierFilter = schemaUtils.getEdgeGroups().contains(group)
+                        ? getPredicateFromDirectedType(getAllElements.getDirectedType()) : null;
                 final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
-                        new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
-                                : new ParquetFileQuery(path, null, false);
+                        getParquetFileQuery(path, group, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond(), identifierFilter)
+                                : getParquetFileQuery(path, group, null, false, identifierFilter);
                 parquetQuery.add(group, fileQuery);
             }
         }
@@ -202,12 +211,16 @@ public class QueryGenerator {
             FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
             if (null != filterPredicate) {
                 final String group = pathInfo.getGroup();
+                final FilterPredicate identifierFilter = schemaUtils.getEdgeGroups().contains(group)
+                        ? FilterPredicateUtils.and(getPredicateFromDirectedType(getElements.getDirectedType()), filterPredicate)
+                        : filterPredicate;
                 final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
                 if (null != viewFilterPredicate) {
                     // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
                     filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
                 }
-                final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
+                final ParquetFileQuery fileQuery = getParquetFileQuery(pathInfo.getPath(), group, filterPredicate,
+                        viewFilterPredicate.getSecond(), identifierFilter);
                 parquetQuery.add(group, fileQuery);
             }
         }
@@ -215,6 +228,20 @@ public class QueryGenerator {
         return parquetQuery;
     }
 
+    private ParquetFileQuery getParquetFileQuery(final Path path,
+                                                 final String group,
+                                                 final FilterPredicate filter,
+                                                 final boolean fullyApplied,
+                                                 final FilterPredicate identifierFilter) {
+        final List<Path> deltaFiles = store.getDeltaFiles(path);
+        if (!deltaFiles.isEmpty() && store.getSchema().getAggregatedGroups().contains(group)) {
+            // The file has to be aggregated with its deltas before the view can be applied, so only the filters
+            // on the identifiers can be pushed down into the Parquet readers
+            return new ParquetFileQuery(path, identifierFilter, false, deltaFiles);
+        }
+        return new ParquetFileQuery(path, filter, fullyApplied, deltaFiles);
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
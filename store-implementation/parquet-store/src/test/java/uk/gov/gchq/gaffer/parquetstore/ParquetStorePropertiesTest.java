@@ -92,6 +92,50 @@ public class ParquetStorePropertiesTest {
         assertEquals(CompressionCodecName.UNCOMPRESSED, props.getCompressionCodecName());
     }
 
+    @Test
+    public void deltaIngestTest() {
+        assertEquals(false, props.getDeltaIngest());
+        props.setDeltaIngest(true);
+        assertEquals(true, props.getDeltaIngest());
+    }
+
+    @Test
+    public void deltaCompactionThresholdTest() {
+        assertEquals(10, props.getDeltaCompactionThreshold());
+        props.setDeltaCompactionThreshold(3);
+        assertEquals(3, props.getDeltaCompactionThreshold());
+    }
+
+    @Test
+    public void readerThreadsPerQueryTest() {
+        assertEquals(3, props.getReaderThreadsPerQuery());
+        props.setThreadsAvailable(9);
+        assertEquals(9, props.getReaderThreadsPerQuery());
+        props.setReaderThreadsPerQuery(2);
+        assertEquals(2, props.getReaderThreadsPerQuery());
+    }
+
+    @Test
+    public void readerQueueSizeTest() {
+        assertEquals(10000, props.getReaderQueueSize());
+        props.setReaderQueueSize(100);
+        assertEquals(100, props.getReaderQueueSize());
+    }
+
+    @Test
+    public void readerQueueTimeoutTest() {
+        assertEquals(600000L, props.getReaderQueueTimeoutMillis());
+        props.setReaderQueueTimeoutMillis(100L);
+        assertEquals(100L, props.getReaderQueueTimeoutMillis());
+    }
+
+    @Test
+    public void readerSortedMergeTest() {
+        assertEquals(false, props.getReaderSortedMerge());
+        props.setReaderSortedMerge(true);
+        assertEquals(true, props.getReaderSortedMerge());
+    }
+
     @Test
     public void shouldMergeParquetJsonModules() {
         // Given
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowGroupIndexSerialiserTest {
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws IOException {
+        // Given
+        final RowGroupIndex index = RowGroupIndexTest.createIndex();
+        final RowGroupIndexSerialiser serialiser = new RowGroupIndexSerialiser();
+
+        // When
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+        serialiser.write(index, dataOutputStream);
+        dataOutputStream.close();
+        final DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+        final RowGroupIndex read = serialiser.read(dataInputStream);
+
+        // Then
+        assertEquals(index.getFiles(), read.getFiles());
+        final List<BlockMetaData> expectedRowGroups = index.getRowGroups(RowGroupIndexTest.FILE);
+        final List<BlockMetaData> rowGroups = read.getRowGroups(RowGroupIndexTest.FILE);
+        assertEquals(expectedRowGroups.size(), rowGroups.size());
+        for (int i = 0; i < rowGroups.size(); i++) {
+            assertEquals(expectedRowGroups.get(i).getRowCount(), rowGroups.get(i).getRowCount());
+            final ColumnChunkMetaData expectedColumn = expectedRowGroups.get(i).getColumns().get(0);
+            final ColumnChunkMetaData column = rowGroups.get(i).getColumns().get(0);
+            assertEquals(expectedColumn.getPath(), column.getPath());
+            assertEquals(expectedColumn.getType(), column.getType());
+            assertEquals(expectedColumn.getValueCount(), column.getValueCount());
+            assertArrayEquals(expectedColumn.getStatistics().getMinBytes(), column.getStatistics().getMinBytes());
+            assertArrayEquals(expectedColumn.getStatistics().getMaxBytes(), column.getStatistics().getMaxBytes());
+        }
+        assertTrue(read.canDrop(RowGroupIndexTest.FILE, eq(longColumn(ParquetStore.VERTEX), 15L)));
+        assertFalse(read.canDrop(RowGroupIndexTest.FILE, eq(longColumn(ParquetStore.VERTEX), 7L)));
+    }
+}
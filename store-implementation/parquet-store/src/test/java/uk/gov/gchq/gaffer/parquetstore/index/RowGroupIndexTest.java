@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowGroupIndexTest {
+    public static final Path FILE = new Path("/data/snapshot=1/graph/group=BasicEntity/partition-0000000.parquet");
+
+    public static RowGroupIndex createIndex() {
+        final RowGroupIndex index = new RowGroupIndex();
+        index.addFile(FILE, Arrays.asList(createRowGroup(100L, 5L, 10L), createRowGroup(50L, 20L, 30L)));
+        return index;
+    }
+
+    public static BlockMetaData createRowGroup(final long rowCount, final long min, final long max) {
+        final Statistics statistics = Statistics.getStatsBasedOnType(PrimitiveTypeName.INT64);
+        statistics.updateStats(min);
+        statistics.updateStats(max);
+        final BlockMetaData rowGroup = new BlockMetaData();
+        rowGroup.setRowCount(rowCount);
+        rowGroup.addColumn(ColumnChunkMetaData.get(ColumnPath.get(ParquetStore.VERTEX), PrimitiveTypeName.INT64,
+                CompressionCodecName.UNCOMPRESSED, Collections.<Encoding>emptySet(), statistics, 0L, 0L, rowCount, 0L, 0L));
+        return rowGroup;
+    }
+
+    @Test
+    public void shouldUseRelativePathAsKey() {
+        assertEquals("graph/group=BasicEntity/partition-0000000.parquet", RowGroupIndex.getKey(FILE));
+    }
+
+    @Test
+    public void shouldDropFileWhenNoRowGroupCanMatch() {
+        // Given
+        final RowGroupIndex index = createIndex();
+
+        // When / Then
+        assertTrue(index.canDrop(FILE, eq(longColumn(ParquetStore.VERTEX), 15L)));
+        assertTrue(index.canDrop(FILE, eq(longColumn(ParquetStore.VERTEX), 1L)));
+        assertFalse(index.canDrop(FILE, eq(longColumn(ParquetStore.VERTEX), 7L)));
+        assertFalse(index.canDrop(FILE, eq(longColumn(ParquetStore.VERTEX), 25L)));
+    }
+
+    @Test
+    public void shouldNotDropFileWithoutFilterOrNotInIndex() {
+        // Given
+        final RowGroupIndex index = createIndex();
+
+        // When / Then
+        assertFalse(index.canDrop(FILE, null));
+        assertFalse(index.canDrop(new Path("/data/snapshot=1/graph/group=BasicEntity/partition-0000001.parquet"),
+                eq(longColumn(ParquetStore.VERTEX), 15L)));
+    }
+
+    @Test
+    public void shouldCountRowsInRowGroupsThatMayMatch() {
+        // Given
+        final RowGroupIndex index = createIndex();
+
+        // When / Then
+        assertEquals(150L, index.getRowCount(FILE, null));
+        assertEquals(100L, index.getRowCount(FILE, eq(longColumn(ParquetStore.VERTEX), 7L)));
+        assertEquals(50L, index.getRowCount(FILE, eq(longColumn(ParquetStore.VERTEX), 25L)));
+        assertEquals(0L, index.getRowCount(FILE, eq(longColumn(ParquetStore.VERTEX), 15L)));
+    }
+}
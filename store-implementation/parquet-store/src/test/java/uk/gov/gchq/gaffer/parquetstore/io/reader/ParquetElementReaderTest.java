@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.io.reader;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.AggregateAndSortDataTest;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ParquetElementReaderTest {
+
+    @Test
+    public void shouldReadAllPropertiesWithoutProjection(@TempDir java.nio.file.Path tempDir) throws Exception {
+        // Given
+        final ParquetStore store = createStoreWithData(tempDir);
+
+        // When
+        final List<Element> elements = read(store, null);
+
+        // Then
+        assertEquals(40, elements.size());
+        for (final Element element : elements) {
+            assertNotNull(((Entity) element).getVertex());
+            assertNotNull(element.getProperty("date"));
+            assertNotNull(element.getProperty("freqMap"));
+            assertEquals(1, element.getProperty("count"));
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadProjectedProperties(@TempDir java.nio.file.Path tempDir) throws Exception {
+        // Given
+        final ParquetStore store = createStoreWithData(tempDir);
+
+        // When
+        final List<Element> elements = read(store, Collections.singleton("count"));
+
+        // Then
+        assertEquals(40, elements.size());
+        for (final Element element : elements) {
+            assertNotNull(((Entity) element).getVertex());
+            assertEquals(Collections.singleton("count"), element.getProperties().keySet());
+            assertEquals(1, element.getProperty("count"));
+        }
+    }
+
+    private static ParquetStore createStoreWithData(final java.nio.file.Path tempDir) throws Exception {
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(tempDir.toString() + "/data");
+        storeProperties.setTempFilesDir(tempDir.toString() + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId",
+                TestUtils.gafferSchema("schemaUsingLongVertexType"), storeProperties);
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build(), new Context(), store);
+        return store;
+    }
+
+    private static List<Element> read(final ParquetStore store, final Set<String> projection) throws IOException {
+        final List<Element> elements = new ArrayList<>();
+        final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(new Path(store.getFile(TestGroups.ENTITY, 0)))
+                .isEntity(true)
+                .usingConverter(store.getSchemaUtils().getConverter(TestGroups.ENTITY))
+                .withProjection(projection)
+                .build();
+        Element element = reader.read();
+        while (null != element) {
+            elements.add(element);
+            element = reader.read();
+        }
+        reader.close();
+        return elements;
+    }
+}
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler;
 
+import com.google.common.collect.Iterables;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,11 +31,14 @@ import scala.collection.JavaConversions$;
 import scala.collection.mutable.WrappedArray;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
@@ -53,9 +57,12 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AddElementsHandlerTest {
@@ -97,6 +104,9 @@ public class AddElementsHandlerTest {
         //   directory.
         assertTrue(fs.exists(new Path(snapshotPath, ParquetStore.getGroupSubDir(TestGroups.ENTITY, false) + "/" + ParquetStore.getFile(0))));
         assertTrue(fs.exists(new Path(snapshotPath, ParquetStore.getGroupSubDir(TestGroups.ENTITY, false) + "/." + ParquetStore.getFile(0) + ".crc")));
+        // - The row group index should have been written and should contain the file
+        assertTrue(fs.exists(new Path(snapshotPath, ParquetStore.ROW_GROUP_INDEX)));
+        assertEquals(40L, store.getRowGroupIndex().getRowCount(new Path(store.getFile(TestGroups.ENTITY, 0)), null));
         // - The files should contain the data sorted by vertex and date.
         final Row[] results = (Row[]) sparkSession
                 .read()
@@ -282,6 +292,197 @@ public class AddElementsHandlerTest {
         checkEdge(WriteUnsortedDataTest.createEdgeForEdgeGroup_2(1L, 2000L, false), results[3]);
     }
 
+    @Test
+    public void testDeltaIngestMergesOnReadAndCompacts(@TempDir java.nio.file.Path tempDir)
+            throws Exception {
+        // Given
+        final AddElements add = new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build();
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = tempDir.toString();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        new AddElementsHandler().doOperation(add, context, store);
+        final long snapshotBeforeDeltas = store.getLatestSnapshot();
+        store.getProperties().setDeltaIngest(true);
+
+        // When
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, store);
+
+        // Then
+        // - The snapshot should be unchanged and there should be two delta files for the partition
+        assertEquals(snapshotBeforeDeltas, store.getLatestSnapshot());
+        final Path file = new Path(store.getFile(TestGroups.ENTITY, 0));
+        assertEquals(2, store.getDeltaFiles(file).size());
+        for (final Path deltaFile : store.getDeltaFiles(file)) {
+            assertTrue(fs.exists(deltaFile));
+        }
+        // - Queries should merge the deltas with the base file
+        checkEntitiesHaveCount(store, context, 3);
+
+        // When
+        store.compactDeltaFilesInBackground(sparkSession).get();
+
+        // Then
+        // - A new snapshot containing the compacted data should have been created
+        assertNotEquals(snapshotBeforeDeltas, store.getLatestSnapshot());
+        assertEquals(0, store.getMaxDeltaFilesPerPartition());
+        final Row[] results = (Row[]) sparkSession
+                .read()
+                .parquet(store.getFile(TestGroups.ENTITY, 0))
+                .collect();
+        assertEquals(40, results.length);
+        for (final Row row : results) {
+            assertEquals(3, (int) row.getAs("count"));
+        }
+        checkEntitiesHaveCount(store, context, 3);
+    }
+
+    @Test
+    public void testCompactionDoesNotMoveFilesOfOpenQueries(@TempDir java.nio.file.Path tempDir)
+            throws Exception {
+        // Given
+        final List<Element> elementsToAdd = new ArrayList<>(AggregateAndSortDataTest.generateData());
+        elementsToAdd.add(WriteUnsortedDataTest.createEntityForEntityGroup_2(10000L));
+        elementsToAdd.add(WriteUnsortedDataTest.createEntityForEntityGroup_2(100L));
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = tempDir.toString();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        // Read one file at a time, and only one element ahead, so that the open query has files left to read
+        storeProperties.setReaderThreadsPerQuery(1);
+        storeProperties.setReaderQueueSize(1);
+        storeProperties.setDeltaCompactionLockTimeoutMillis(1000L);
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        new AddElementsHandler().doOperation(new AddElements.Builder().input(elementsToAdd).build(), context, store);
+        final long snapshotBeforeCompaction = store.getLatestSnapshot();
+        final Path unchangedFile = new Path(store.getFile(TestGroups.ENTITY_2, 0));
+        assertTrue(fs.exists(unchangedFile));
+        store.getProperties().setDeltaIngest(true);
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build(), context, store);
+        final CloseableIterator<? extends Element> openQuery = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder().entity(TestGroups.ENTITY).entity(TestGroups.ENTITY_2).build())
+                .build(), context).iterator();
+        assertTrue(openQuery.hasNext());
+
+        // When
+        store.compactDeltaFilesInBackground(sparkSession).get();
+
+        // Then
+        // - The compaction should have been abandoned rather than moving the files that the open query is reading
+        assertEquals(snapshotBeforeCompaction, store.getLatestSnapshot());
+        assertTrue(fs.exists(unchangedFile));
+        int count = 0;
+        while (openQuery.hasNext()) {
+            openQuery.next();
+            count++;
+        }
+        openQuery.close();
+        assertEquals(42, count);
+
+        // When
+        store.compactDeltaFilesInBackground(sparkSession).get();
+
+        // Then
+        // - Once the query has finished the partition without deltas should be renamed into the new snapshot
+        assertNotEquals(snapshotBeforeCompaction, store.getLatestSnapshot());
+        assertEquals(false, fs.exists(unchangedFile));
+        assertEquals(0, store.getMaxDeltaFilesPerPartition());
+        final Row[] results = (Row[]) sparkSession
+                .read()
+                .parquet(store.getFile(TestGroups.ENTITY_2, 0))
+                .collect();
+        assertEquals(2, results.length);
+        checkEntitiesHaveCount(store, context, 2);
+    }
+
+    @Test
+    public void testCompactionFailureIsReportedByNextAdd(@TempDir java.nio.file.Path tempDir)
+            throws Exception {
+        // Given
+        final AddElements add = new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build();
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = tempDir.toString();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        final FileSystem fs = FileSystem.get(new Configuration());
+        final SparkSession sparkSession = SparkSessionProvider.getSparkSession();
+        new AddElementsHandler().doOperation(add, context, store);
+        store.getProperties().setDeltaIngest(true);
+        new AddElementsHandler().doOperation(add, context, store);
+        for (final Path deltaFile : store.getDeltaFiles(new Path(store.getFile(TestGroups.ENTITY, 0)))) {
+            fs.delete(deltaFile, false);
+        }
+
+        // When
+        assertThrows(ExecutionException.class, () -> store.compactDeltaFilesInBackground(sparkSession).get());
+
+        // Then
+        // - The failure should be reported by the next add, and only by that add
+        assertThrows(OperationException.class, () -> new AddElementsHandler().doOperation(add, context, store));
+        new AddElementsHandler().doOperation(add, context, store);
+    }
+
+    @Test
+    public void testDeltaIdsAreUniqueAndIncreasing(@TempDir java.nio.file.Path tempDir)
+            throws Exception {
+        // Given
+        final AddElements add = new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build();
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = tempDir.toString();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        new AddElementsHandler().doOperation(add, context, store);
+        store.getProperties().setDeltaIngest(true);
+
+        // When
+        new AddElementsHandler().doOperation(add, context, store);
+        new AddElementsHandler().doOperation(add, context, store);
+        final long firstId = store.getNextDeltaId();
+        final long secondId = store.getNextDeltaId();
+
+        // Then
+        final List<Path> deltaFiles = store.getDeltaFiles(new Path(store.getFile(TestGroups.ENTITY, 0)));
+        assertEquals(2, deltaFiles.size());
+        assertNotEquals(deltaFiles.get(0).getName(), deltaFiles.get(1).getName());
+        assertTrue(firstId > Long.parseLong(deltaFiles.get(1).getName().replaceAll("[^0-9]", "")));
+        assertTrue(secondId > firstId);
+    }
+
+    private void checkEntitiesHaveCount(final ParquetStore store, final Context context, final int count) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        Iterables.addAll(results, store.execute(new GetAllElements.Builder()
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build(), context));
+        assertEquals(40, results.size());
+        for (final Element element : results) {
+            assertEquals(count, element.getProperty("count"));
+        }
+    }
+
     private void checkEdge(final Edge edge, final Row row) {
         assertEquals(edge.getSource(), row.getAs(ParquetStore.SOURCE));
         assertEquals(edge.getDestination(), row.getAs(ParquetStore.DESTINATION));
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import com.google.common.collect.Iterables;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParquetElementRetrieverTest {
+    private static final Duration TIMEOUT = Duration.ofMinutes(1);
+
+    @Test
+    public void shouldReturnAllElementsWithSmallQueuesAndOneThreadPerQuery(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setReaderThreadsPerQuery(1);
+        properties.setReaderQueueSize(5);
+        final ParquetStore store = createStoreWithData(properties);
+
+        // When
+        final List<Element> results = getAllElements(store);
+
+        // Then
+        assertEquals(getAllElementsUsingDefaults(tempDir).size(), results.size());
+    }
+
+    @Test
+    public void shouldReturnElementsSortedByVertexWhenMerging(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setReaderSortedMerge(true);
+        properties.setReaderQueueSize(5);
+        final ParquetStore store = createStoreWithData(properties);
+
+        // When
+        final List<Element> results = getAllElements(store);
+
+        // Then
+        assertEquals(getAllElementsUsingDefaults(tempDir).size(), results.size());
+        long previousVertex = Long.MIN_VALUE;
+        for (final Element element : results) {
+            final long vertex = element instanceof Entity
+                    ? (long) ((Entity) element).getVertex()
+                    : (long) ((Edge) element).getSource();
+            assertTrue(previousVertex <= vertex);
+            previousVertex = vertex;
+        }
+    }
+
+    @Test
+    public void shouldStopReadingWhenClosedEarly(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setReaderQueueSize(1);
+        final ParquetStore store = createStoreWithData(properties);
+        final ParquetElementRetriever retriever = new ParquetElementRetriever(store, new GetAllElements(), new User());
+
+        // When
+        final ParquetElementRetriever.ParquetIterator iterator = (ParquetElementRetriever.ParquetIterator) retriever.iterator();
+        iterator.next();
+        iterator.close();
+
+        // Then
+        assertEquals(1L, retriever.getElementsReturned());
+        assertEquals(false, iterator.hasNext());
+    }
+
+    @Test
+    public void shouldMergeMoreDirectoriesThanThreadsWithoutBlocking(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setThreadsAvailable(1);
+        properties.setReaderSortedMerge(true);
+        properties.setReaderQueueSize(1);
+        final ParquetStore store = createStoreWithData(properties);
+        final int expectedSize = getAllElementsUsingDefaults(tempDir).size();
+
+        // When
+        final List<Element> results = assertTimeoutPreemptively(TIMEOUT, () -> getAllElements(store));
+
+        // Then
+        // - The 4 groups are in 4 directories, which is more than the 1 thread in the shared pool
+        assertEquals(expectedSize, results.size());
+        assertEquals(expectedSize, assertTimeoutPreemptively(TIMEOUT, () -> getAllElements(store)).size());
+    }
+
+    @Test
+    public void shouldReleaseSharedThreadsWhenClosed(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setThreadsAvailable(1);
+        properties.setReaderQueueSize(1);
+        final ParquetStore store = createStoreWithData(properties);
+        final int expectedSize = getAllElementsUsingDefaults(tempDir).size();
+        final CloseableIterator<Element> iterator = new ParquetElementRetriever(store, new GetAllElements(), new User()).iterator();
+        iterator.next();
+
+        // When
+        iterator.close();
+
+        // Then
+        assertEquals(expectedSize, assertTimeoutPreemptively(TIMEOUT, () -> getAllElements(store)).size());
+    }
+
+    @Test
+    public void shouldReleaseSharedThreadsWhenAbandoned(@TempDir final Path tempDir) throws Exception {
+        // Given
+        final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(tempDir);
+        properties.setThreadsAvailable(1);
+        properties.setReaderQueueSize(1);
+        properties.setReaderQueueTimeoutMillis(100L);
+        final ParquetStore store = createStoreWithData(properties);
+        final int expectedSize = getAllElementsUsingDefaults(tempDir).size();
+
+        // When
+        final CloseableIterator<Element> abandoned = new ParquetElementRetriever(store, new GetAllElements(), new User()).iterator();
+        abandoned.next();
+
+        // Then
+        assertEquals(expectedSize, assertTimeoutPreemptively(TIMEOUT, () -> getAllElements(store)).size());
+    }
+
+    private static ParquetStore createStoreWithData(final ParquetStoreProperties properties) throws Exception {
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId",
+                TestUtils.gafferSchema("schemaUsingLongVertexType"), properties);
+        store.execute(new AddElements.Builder()
+                .input(DataGen.generate300LongElements(false))
+                .build(), new Context());
+        return store;
+    }
+
+    private static List<Element> getAllElements(final ParquetStore store) throws Exception {
+        final List<Element> results = new ArrayList<>();
+        Iterables.addAll(results, store.execute(new GetAllElements(), new Context()));
+        return results;
+    }
+
+    private static List<Element> getAllElementsUsingDefaults(final Path tempDir) throws Exception {
+        return getAllElements(createStoreWithData(TestUtils.getParquetStoreProperties(tempDir.resolve("defaults"))));
+    }
+}
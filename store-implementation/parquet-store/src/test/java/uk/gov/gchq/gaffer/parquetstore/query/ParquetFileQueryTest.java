@@ -21,6 +21,8 @@ import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.io.api.Binary;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -42,6 +44,8 @@ public class ParquetFileQueryTest {
                 eq(FilterApi.binaryColumn("B"), Binary.fromString("T")), true);
         final ParquetFileQuery q6 = new ParquetFileQuery(new Path("2"),
                 eq(FilterApi.binaryColumn("A"), Binary.fromString("T")), true);
+        final ParquetFileQuery q7 = new ParquetFileQuery(new Path("1"),
+                eq(FilterApi.binaryColumn("A"), Binary.fromString("T")), true, Collections.singletonList(new Path("1-delta")));
 
         // When / Then
         assertEquals(q1, q2);
@@ -54,5 +58,7 @@ public class ParquetFileQueryTest {
         assertNotEquals(q1.hashCode(), q5.hashCode());
         assertNotEquals(q1, q6);
         assertNotEquals(q1.hashCode(), q6.hashCode());
+        assertNotEquals(q1, q7);
+        assertNotEquals(q1.hashCode(), q7.hashCode());
     }
 }
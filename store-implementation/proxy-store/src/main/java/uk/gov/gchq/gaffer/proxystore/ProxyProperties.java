@@ -35,12 +35,14 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String STREAM_RESULTS = "gaffer.stream-results";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest/v2";
     public static final int DEFAULT_GAFFER_PORT = 8080;
     public static final int DEFAULT_CONNECT_TIMEOUT = 10000;
     public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final boolean DEFAULT_STREAM_RESULTS = false;
 
 
     public ProxyProperties() {
@@ -93,6 +95,22 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * If true, operation chains that output an iterable are executed via the
+     * streaming endpoint of the delegate REST API and the results are read
+     * lazily in the Smile binary JSON format, rather than as a single JSON
+     * string.
+     *
+     * @return true if results should be streamed
+     */
+    public boolean getStreamResults() {
+        return Boolean.parseBoolean(get(STREAM_RESULTS, String.valueOf(DEFAULT_STREAM_RESULTS)));
+    }
+
+    public void setStreamResults(final boolean streamResults) {
+        set(STREAM_RESULTS, String.valueOf(streamResults));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.proxystore;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.glassfish.jersey.client.ClientProperties;
@@ -34,6 +35,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.SmileSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationChainDAO;
@@ -67,6 +69,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.util.Collections;
@@ -183,15 +186,78 @@ public class ProxyStore extends Store {
             throw new OperationException("Unable to serialise operation chain into JSON.", e);
         }
 
-        final URL url = getProperties().getGafferUrl("graph/operations/execute");
         try {
             final ResponseDeserialiser<O> responseDeserialiser = getResponseDeserialiserFor(opChain.getOutputTypeReference());
+            if (getProperties().getStreamResults() && isStreamable(opChain.getOutputTypeReference())) {
+                final URL url = getProperties().getGafferUrl("graph/operations/execute/stream");
+                return doPostStream(url, opChainJson, opChain.getOutputTypeReference(), responseDeserialiser, context);
+            }
+
+            final URL url = getProperties().getGafferUrl("graph/operations/execute");
             return doPost(url, opChainJson, responseDeserialiser, context);
         } catch (final StoreException e) {
             throw new OperationException(e.getMessage(), e);
         }
     }
 
+    /**
+     * Results can only be streamed if they are iterable and a lazy
+     * {@link CloseableIterable} can be returned in their place.
+     *
+     * @param outputType the output type of the operation chain
+     * @return true if the results can be streamed
+     */
+    protected boolean isStreamable(final TypeReference<?> outputType) {
+        if (null == outputType) {
+            return false;
+        }
+        final JavaType javaType = JSONSerialiser.getMapper().getTypeFactory().constructType(outputType);
+        final Class<?> rawClass = javaType.getRawClass();
+        return Iterable.class.isAssignableFrom(rawClass) && rawClass.isAssignableFrom(CloseableIterable.class);
+    }
+
+    /**
+     * Posts the operation chain to the streaming endpoint and lazily reads the
+     * iterable result from the Smile response body. The connection is held
+     * open until the returned iterable has been read or closed.
+     *
+     * @param url                  the url of the streaming endpoint
+     * @param jsonBody             the operation chain json
+     * @param outputType           the output type of the operation chain
+     * @param responseDeserialiser used to handle error responses
+     * @param context              the context
+     * @param <O>                  the output type
+     * @return a lazy iterable of the results
+     * @throws StoreException if the request fails
+     */
+    @SuppressWarnings("unchecked")
+    protected <O> O doPostStream(final URL url, final String jsonBody,
+                                 final TypeReference<O> outputType,
+                                 final ResponseDeserialiser<O> responseDeserialiser,
+                                 final Context context) throws StoreException {
+        final Invocation.Builder request = createRequest(jsonBody, url, context);
+        request.accept(SmileSerialiser.SMILE_MEDIA_TYPE);
+        final Response response;
+        try {
+            response = request.post(Entity.json(jsonBody));
+        } catch (final Exception e) {
+            throw new StoreException("Failed to execute post via " +
+                    "the Gaffer URL " + url.toExternalForm(), e);
+        }
+
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily() || !response.hasEntity()) {
+            return handleResponse(response, responseDeserialiser);
+        }
+
+        final InputStream stream = response.readEntity(InputStream.class);
+        try {
+            return (O) SmileSerialiser.deserialiseIterable(stream, outputType);
+        } catch (final SerialisationException e) {
+            response.close();
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
     protected <O> O doPost(final URL url, final Object body,
                            final ResponseDeserialiser<O> responseDeserialiser,
                            final Context context) throws StoreException {
@@ -377,6 +443,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder streamResults(final boolean streamResults) {
+            properties.setStreamResults(streamResults);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;